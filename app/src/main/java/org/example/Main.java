@@ -4,9 +4,12 @@ import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
+import org.example.view.MainController;
 
 public class Main extends Application {
 
+    private MainController controller;
+
     @Override
     public void start(Stage primaryStage) throws Exception {
         // Load the FXML file for the GUI
@@ -14,10 +17,19 @@ public class Main extends Application {
 
         // Set up the Scene and Stage
         primaryStage.setScene(new Scene(loader.load()));
+        controller = loader.getController();
         primaryStage.setTitle("MediaLab Assistant"); // Set the title of the application
         primaryStage.show(); // Display the window
     }
 
+    @Override
+    public void stop() {
+        // Write any pending changes before the JVM exits
+        if (controller != null) {
+            controller.shutdown();
+        }
+    }
+
     public static void main(String[] args) {
         launch(args); // Launch the JavaFX application
     }
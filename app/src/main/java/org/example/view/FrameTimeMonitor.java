@@ -0,0 +1,75 @@
+package org.example.view;
+
+import javafx.animation.AnimationTimer;
+
+import java.util.Arrays;
+
+/**
+ * Measures the time between JavaFX pulses and prints a summary at a fixed interval.
+ * Intended for checking that scrolling large lists stays smooth; enable it with
+ * {@code -Dmedialab.frameMonitor=true}.
+ */
+public class FrameTimeMonitor extends AnimationTimer {
+    public static final String ENABLED_PROPERTY = "medialab.frameMonitor";
+
+    private static final long REPORT_INTERVAL_NANOS = 5_000_000_000L;
+    private static final double FRAME_BUDGET_MILLIS = 1000.0 / 60;
+
+    private final long[] frameTimes = new long[4096];
+    private int frameCount;
+    private long lastFrame;
+    private long windowStart;
+
+    /**
+     * Starts a monitor if the system property is set.
+     * @return The running monitor, or null if monitoring is disabled.
+     */
+    public static FrameTimeMonitor startIfEnabled() {
+        if (!Boolean.getBoolean(ENABLED_PROPERTY)) {
+            return null;
+        }
+        FrameTimeMonitor monitor = new FrameTimeMonitor();
+        monitor.start();
+        return monitor;
+    }
+
+    @Override
+    public void handle(long now) {
+        if (lastFrame == 0) {
+            lastFrame = now;
+            windowStart = now;
+            return;
+        }
+        if (frameCount < frameTimes.length) {
+            frameTimes[frameCount++] = now - lastFrame;
+        }
+        lastFrame = now;
+        if (now - windowStart >= REPORT_INTERVAL_NANOS) {
+            report();
+            frameCount = 0;
+            windowStart = now;
+        }
+    }
+
+    private void report() {
+        if (frameCount == 0) {
+            return;
+        }
+        long[] sorted = Arrays.copyOf(frameTimes, frameCount);
+        Arrays.sort(sorted);
+        long total = 0;
+        int slow = 0;
+        for (long frameTime : sorted) {
+            total += frameTime;
+            if (frameTime / 1e6 > FRAME_BUDGET_MILLIS * 1.5) {
+                slow++; // Frames that missed a 60 Hz vsync
+            }
+        }
+        System.out.printf("Frames: %d, avg %.2f ms, p99 %.2f ms, max %.2f ms, slow %d%n",
+                frameCount,
+                total / 1e6 / frameCount,
+                sorted[Math.min(frameCount - 1, (int) (frameCount * 0.99))] / 1e6,
+                sorted[frameCount - 1] / 1e6,
+                slow);
+    }
+}
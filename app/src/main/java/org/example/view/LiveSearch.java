@@ -0,0 +1,100 @@
+package org.example.view;
+
+import javafx.application.Platform;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Runs search-as-you-type queries off the JavaFX application thread.
+ * A query starts once no newer one has been submitted for the debounce delay, so a burst
+ * of keystrokes costs one query. Submitting a query makes every earlier one stale: a stale
+ * query that has not started is cancelled, one that is running is interrupted, and the
+ * result of a stale query is never published. Results are handed to the publisher on the
+ * JavaFX application thread.
+ *
+ * @param <R> The result type.
+ */
+public class LiveSearch<R> {
+    public static final long DEFAULT_DELAY_MILLIS = 150;
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "live-search");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicLong generation = new AtomicLong();
+    private final Consumer<R> publisher;
+    private ScheduledFuture<?> pending;
+
+    /**
+     * Constructs a live search.
+     * @param publisher Receives the result of the latest query on the JavaFX application thread.
+     */
+    public LiveSearch(Consumer<R> publisher) {
+        this.publisher = publisher;
+    }
+
+    /**
+     * Submits a query, replacing any earlier one.
+     * @param query The query; it runs on a background thread.
+     * @param delayMillis How long to wait for a newer query before running this one.
+     */
+    public synchronized void submit(Callable<R> query, long delayMillis) {
+        long current = generation.incrementAndGet();
+        cancelPending();
+        pending = executor.schedule(() -> run(current, query), delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Makes all submitted queries stale.
+     */
+    public synchronized void cancel() {
+        generation.incrementAndGet();
+        cancelPending();
+    }
+
+    /**
+     * Stops the background thread.
+     */
+    public synchronized void shutdown() {
+        cancel();
+        executor.shutdownNow();
+    }
+
+    private void cancelPending() {
+        if (pending != null) {
+            pending.cancel(true);
+            pending = null;
+        }
+    }
+
+    private void run(long current, Callable<R> query) {
+        if (current != generation.get()) {
+            return;
+        }
+        R result;
+        try {
+            result = query.call();
+        } catch (InterruptedException e) {
+            return; // Replaced by a newer query
+        } catch (Exception e) {
+            System.err.println("Error running search: " + e.getMessage());
+            return;
+        }
+        if (current != generation.get()) {
+            return;
+        }
+        Platform.runLater(() -> {
+            // A newer query may have been submitted while this result was waiting for the FX thread
+            if (current == generation.get()) {
+                publisher.accept(result);
+            }
+        });
+    }
+}
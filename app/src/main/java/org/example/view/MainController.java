@@ -1,6 +1,8 @@
 package org.example.view;
 
 import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
@@ -12,8 +14,15 @@ import javafx.stage.Modality;
 import javafx.stage.Stage;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
+import org.example.controller.OverdueScheduler;
+import org.example.controller.ReminderService;
+import org.example.controller.TaskChangeEvent;
 import org.example.controller.TaskManager;
+import org.example.controller.TaskQuery;
+import org.example.controller.TaskSnapshot;
+import org.example.controller.TaskStatistics;
 import org.example.model.Reminder;
+import org.example.model.Status;
 import org.example.model.Task;
 import javafx.scene.control.DatePicker;
 import javafx.scene.control.Dialog;
@@ -21,11 +30,16 @@ import javafx.scene.control.Dialog;
 import java.net.URL;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class MainController {
 
     private final TaskManager taskManager = new TaskManager();
+    private final OverdueScheduler overdueScheduler = new OverdueScheduler(taskManager);
+    private final ReminderService reminderService = new ReminderService(taskManager);
 
 
     @FXML
@@ -57,6 +71,25 @@ public class MainController {
     @FXML
     private Button searchButton;
 
+    @FXML
+    private TextField searchField;
+
+    private FrameTimeMonitor frameTimeMonitor;
+
+    // All tasks in TaskManager order, kept in sync by applying TaskManager change events.
+    // The task list shows them unless a search or filter is active; then it shows the search results.
+    private final ObservableList<Task> masterTasks = FXCollections.observableArrayList();
+    // Task ID -> insertion number (TaskSnapshot.orderOf) of the tasks in masterTasks, which is sorted by it
+    private final Map<Integer, Integer> shownOrder = new HashMap<>();
+    private final ObservableList<Task> searchResults = FXCollections.observableArrayList();
+    private final LiveSearch<List<Task>> liveSearch = new LiveSearch<>(this::showSearchResults);
+    private String priorityFilter; // Set from the search dialog; null for all priorities
+    // A text search shows at most this many of the best matches
+    private static final int SEARCH_LIMIT = 1000;
+    private static final int LARGE_CHANGE = 256; // Changes to more tasks than this rebuild the lists
+    // The reminder list holds copies in Reminder.BY_DATE order; this maps task IDs to the copies shown for them.
+    private final Map<Integer, List<Reminder>> shownReminders = new HashMap<>();
+
 
     /**
      * Initialize the UI and load data.
@@ -65,7 +98,8 @@ public class MainController {
         // Load all data from JSON
         taskManager.loadData();
 
-        checkAndMarkOverdueTasks();
+        // Mark tasks that became overdue while the application was closed
+        overdueScheduler.checkNow();
 
         // Populate UI components
         categoryListView.getItems().setAll(taskManager.getCategories());
@@ -77,132 +111,23 @@ public class MainController {
 
         customizeCategoryListView();
 
-        taskListView.setCellFactory(listView -> new ListCell<>() {
-            @Override
-            protected void updateItem(Task task, boolean empty) {
-                super.updateItem(task, empty);
-                if (empty || task == null) {
-                    setText(null);
-                    setGraphic(null);
-                } else {
-                    // Main HBox to hold the task details and the status icon
-                    HBox mainBox = new HBox(); // Default spacing
-                    mainBox.setAlignment(Pos.CENTER_LEFT); // Align items to the left
-                    mainBox.setStyle("-fx-background-color: #f0f8ff; -fx-padding: 10; -fx-border-radius: 5; -fx-border-color: #cce7ff;");
-
-                    // VBox for task details
-                    VBox taskBox = new VBox(5); // 5px spacing between elements
-
-                    // Title
-                    HBox titleBox = new HBox(5); // 5px spacing
-                    Label titleLabel = new Label("Title: ");
-                    titleLabel.setStyle("-fx-font-weight: bold; -fx-font-size: 14px; -fx-text-fill: #003d99;"); // Bold blue
-                    Label titleValue = new Label(task.getTitle());
-                    titleValue.setStyle("-fx-font-size: 14px; -fx-text-fill: #6D7ED5FF;"); // Light blue
-                    titleBox.getChildren().addAll(titleLabel, titleValue);
-
-                    // Description
-                    HBox descriptionBox = new HBox(5);
-                    Label descriptionLabel = new Label("Description: ");
-                    descriptionLabel.setStyle("-fx-font-weight: bold; -fx-font-size: 14px; -fx-text-fill: #003d99;"); // Bold blue
-                    Label descriptionValue = new Label(task.getDescription());
-                    descriptionValue.setStyle("-fx-font-size: 14px; -fx-text-fill: #6D7ED5FF;"); // Light blue
-                    descriptionBox.getChildren().addAll(descriptionLabel, descriptionValue);
-
-                    // Category
-                    HBox categoryBox = new HBox(5);
-                    Label categoryLabel = new Label("Category: ");
-                    categoryLabel.setStyle("-fx-font-weight: bold; -fx-font-size: 14px; -fx-text-fill: #003d99;"); // Bold blue
-                    Label categoryValue = new Label(task.getCategory());
-                    categoryValue.setStyle("-fx-font-size: 14px; -fx-text-fill: #6D7ED5FF;"); // Light blue
-                    categoryBox.getChildren().addAll(categoryLabel, categoryValue);
-
-                    // Priority
-                    HBox priorityBox = new HBox(5);
-                    Label priorityLabel = new Label("Priority: ");
-                    priorityLabel.setStyle("-fx-font-weight: bold; -fx-font-size: 14px; -fx-text-fill: #003d99;"); // Bold blue
-                    Label priorityValue = new Label(task.getPriority());
-                    priorityValue.setStyle("-fx-font-size: 14px; -fx-text-fill: #6D7ED5FF;"); // Light blue
-                    priorityBox.getChildren().addAll(priorityLabel, priorityValue);
-
-                    // Status
-                    HBox statusBox = new HBox(5);
-                    Label statusStaticLabel = new Label("Status: ");
-                    statusStaticLabel.setStyle("-fx-font-weight: bold; -fx-font-size: 14px; -fx-text-fill: #003d99;"); // Bold blue
-                    Label statusValueLabel = new Label(task.getStatus());
-                    if ("Completed".equalsIgnoreCase(task.getStatus())) {
-                        statusValueLabel.setStyle("-fx-text-fill: green; -fx-font-size: 14px;"); // Green for "Completed"
-                    } else if ("Delayed".equalsIgnoreCase(task.getStatus())) {
-                        statusValueLabel.setStyle("-fx-text-fill: red; -fx-font-size: 14px;"); // Red for "Delayed"
-                    } else if ("Postponed".equalsIgnoreCase(task.getStatus())) {
-                        statusValueLabel.setStyle("-fx-text-fill: #ff9100; -fx-font-size: 14px;"); // Orange for "Postponed"
-                    }
-                        else{
-                            statusValueLabel.setStyle("-fx-text-fill: #6D7ED5FF; -fx-font-size: 14px;"); // Default light blue
-                        }
-
-                    statusBox.getChildren().addAll(statusStaticLabel, statusValueLabel);
-
-                    // Deadline
-                    HBox deadlineBox = new HBox(5);
-                    Label deadlineLabel = new Label("Deadline: ");
-                    deadlineLabel.setStyle("-fx-font-weight: bold; -fx-font-size: 14px; -fx-text-fill: #003d99;"); // Bold blue
-                    Label deadlineValue = new Label(task.getDeadline().toString());
-                    deadlineValue.setStyle("-fx-font-size: 14px; -fx-text-fill: #6D7ED5FF;"); // Light blue
-                    deadlineBox.getChildren().addAll(deadlineLabel, deadlineValue);
-
-                    // Add all details to the VBox
-                    taskBox.getChildren().addAll(titleBox, descriptionBox, categoryBox, priorityBox, statusBox, deadlineBox);
-
-                    // Spacer for controlled spacing
-                    Region spacer = new Region();
-                    HBox.setHgrow(spacer, Priority.ALWAYS);
-                    spacer.setMaxWidth(240); // Adjust this value to control left movement of icons
-
-                    // Label for status icon
-                    Label statusIcon = new Label();
-                    statusIcon.setStyle("-fx-font-size: 30px; -fx-padding: 0;"); // Larger font size
-                    switch (task.getStatus().toLowerCase()) {
-                        case "completed":
-                            statusIcon.setText("✅");
-                            statusIcon.setStyle("-fx-text-fill: green; -fx-font-size: 24px;"); // Green icon
-                            break;
-                        case "in progress":
-                            statusIcon.setText("⏳");
-                            statusIcon.setStyle("-fx-text-fill: #6D7ED5FF; -fx-font-size: 38px;"); // Blue icon
-                            break;
-                        case "delayed":
-                            statusIcon.setText("❗");
-                            statusIcon.setStyle("-fx-text-fill: red; -fx-font-size: 28px;"); // Red icon
-                            break;
-                        case "postponed":
-                            statusIcon.setText("⏱");
-                            statusIcon.setStyle("-fx-text-fill: #ff9100; -fx-font-size: 28px;"); // Red icon
-                            break;
-                        default:
-                            statusIcon.setText("ℹ️");
-                            statusIcon.setStyle("-fx-text-fill: gray; -fx-font-size: 36px;"); // Gray icon
-                            break;
-                    }
-
-                    // Add the task box, spacer, and icon to the main HBox
-                    mainBox.getChildren().addAll(taskBox, spacer, statusIcon);
-
-                    // Set the HBox as the graphic for this cell
-                    setGraphic(mainBox);
-                }
+        // Cells build their nodes once and are recycled while scrolling
+        taskListView.setCellFactory(listView -> new TaskCell());
+        frameTimeMonitor = FrameTimeMonitor.startIfEnabled();
+
+        // Populate the ListView with tasks and follow later changes
+        showAllTasks(taskManager.getSnapshot());
+        taskListView.setItems(masterTasks);
+        taskListView.setPlaceholder(new Label("No tasks match the search."));
+        taskManager.addChangeListener(event -> {
+            if (Platform.isFxApplicationThread()) {
+                applyTaskChange(event);
+            } else {
+                Platform.runLater(() -> applyTaskChange(event));
             }
         });
 
 
-
-
-
-
-        // Populate the ListView with tasks
-        taskListView.getItems().setAll(taskManager.getAllTasks());
-
-
         // Populate filter ComboBox: add "All" plus all categories
         List<String> filterOptions = new ArrayList<>();
         filterOptions.add("All");
@@ -210,16 +135,9 @@ public class MainController {
         categoryFilterComboBox.getItems().setAll(filterOptions);
         categoryFilterComboBox.setValue("All");
 
-// Add listener to filter tasks based on selected category
-        categoryFilterComboBox.valueProperty().addListener((obs, oldVal, newVal) -> {
-            if(newVal == null || newVal.equalsIgnoreCase("All")) {
-                taskListView.getItems().setAll(taskManager.getAllTasks());
-            } else {
-                taskListView.getItems().setAll(taskManager.getAllTasks().stream()
-                        .filter(task -> task.getCategory().equalsIgnoreCase(newVal))
-                        .toList());
-            }
-        });
+        // The category filter and the search field both run through the live search
+        categoryFilterComboBox.valueProperty().addListener((obs, oldVal, newVal) -> requestSearch(0));
+        searchField.textProperty().addListener((obs, oldVal, newVal) -> requestSearch(LiveSearch.DEFAULT_DELAY_MILLIS));
 
 
 
@@ -240,9 +158,7 @@ public class MainController {
                             "-fx-border-color: #003d99; -fx-border-radius: 5; -fx-background-radius: 5;");
 
                     VBox details = new VBox(5);
-                    Task associatedTask = taskManager.getAllTasks().stream()
-                            .filter(task -> task.getId() == reminder.getTaskId())
-                            .findFirst().orElse(null);
+                    Task associatedTask = taskManager.findTask(reminder.getTaskId());
                     String taskTitle = (associatedTask != null) ? associatedTask.getTitle() : "Unknown";
                     // Task ID row
                     HBox taskRow = new HBox(5);
@@ -288,34 +204,36 @@ public class MainController {
         updateTaskCounts();
 
         searchButton.setOnAction(e -> showSearchPopup());
+
+        // Keep marking overdue tasks at every midnight; the marked tasks arrive as change events
+        overdueScheduler.setDayChangeListener(day -> Platform.runLater(this::updateTaskCounts));
+        overdueScheduler.start();
+
+        // Deliver reminders as they come due, including the ones missed while the application was closed
+        reminderService.addSink(new ReminderPopupSink());
+        reminderService.start();
         // Schedule the popup to show after the application is loaded
         Platform.runLater(this::showDelayedTasksPopup);
     }
 
 
-    private void checkAndMarkOverdueTasks() {
-        LocalDate today = LocalDate.now();
-        boolean taskUpdated = false;
-
-        for (Task task : taskManager.getAllTasks()) {
-            // If deadline is before today and status is not already "Delayed", "Completed", or "Postponed"
-            if (task.getDeadline().isBefore(today) &&
-                    !task.getStatus().equalsIgnoreCase("Delayed") &&
-                    !task.getStatus().equalsIgnoreCase("Completed")) {
-
-                task.setStatus("Delayed"); // Mark as delayed
-                taskUpdated = true;
-            }
-        }
-
-        // Save updates if any task status changed
-        if (taskUpdated) {
-            taskManager.saveData(); // Ensure this method exists in TaskManager
+    /**
+     * Flushes pending changes to disk. Called when the application stops.
+     */
+    public void shutdown() {
+        if (frameTimeMonitor != null) {
+            frameTimeMonitor.stop();
         }
+        overdueScheduler.stop();
+        reminderService.stop();
+        liveSearch.shutdown();
+        taskManager.close();
     }
 
 
 
+
+
     private void populatePriorities() {
         priorityListView.getItems().setAll(taskManager.getPriorityLevels());
 
@@ -430,26 +348,21 @@ public class MainController {
      * Update task-related labels with counts.
      */
     private void updateTaskCounts() {
-        totalTasksLabel.setText("Total Tasks: " + taskManager.getAllTasks().size());
+        TaskStatistics statistics = taskManager.getStatistics();
+        totalTasksLabel.setText("Total Tasks: " + statistics.getTotal());
         totalTasksLabel.setWrapText(false);
-        completedTasksLabel.setText("Completed: " +
-                taskManager.getAllTasks().stream().filter(task -> "Completed".equals(task.getStatus())).count());
-        delayedTasksLabel.setText("Delayed: " +
-                taskManager.getAllTasks().stream().filter(task -> "Delayed".equals(task.getStatus())).count());
-        upcomingTasksLabel.setText("Upcoming: " +
-                taskManager.getAllTasks().stream().filter(task ->
-                        task.getDeadline().isAfter(LocalDate.now()) &&
-                                task.getDeadline().isBefore(LocalDate.now().plusDays(7)) &&
-                                !"Completed".equals(task.getStatus())).count());
+        completedTasksLabel.setText("Completed: " + statistics.getCompleted());
+        delayedTasksLabel.setText("Delayed: " + statistics.getDelayed());
+        // Upcoming: deadline after today and within the next week
+        upcomingTasksLabel.setText("Upcoming: " + statistics.getUpcoming(LocalDate.now()));
     }
 
     /**
      * Show a popup for delayed tasks, if any.
      */
     private void showDelayedTasksPopup() {
-        List<Task> delayedTasks = taskManager.getAllTasks().stream()
-                .filter(task -> "Delayed".equals(task.getStatus()))
-                .toList(); // Collect delayed tasks
+        List<Task> delayedTasks = taskManager.findTasks(TaskQuery.builder() // Collect delayed tasks, soonest first
+                .status(Status.DELAYED).sortBy(TaskQuery.Sort.DEADLINE).build());
 
         if (!delayedTasks.isEmpty()) {
             // Create a new popup Stage
@@ -597,11 +510,7 @@ public class MainController {
 
         // Create and add the task.
         Task newTask = new Task(taskManager.generateTaskId(), title, description, category, priority, deadline);
-        taskManager.addTask(newTask);
-
-        // Update UI.
-        taskListView.getItems().setAll(taskManager.getAllTasks());
-        updateTaskCounts();
+        taskManager.addTask(newTask); // The change listener updates the UI
     }
 
 
@@ -619,11 +528,7 @@ public class MainController {
 
         taskManager.deleteTask(selectedTask.getId());
 
-        // Update the UI
-        taskListView.getItems().setAll(taskManager.getAllTasks());
-        updateTaskCounts();
         showInformation("Task Deleted", "The selected task has been deleted successfully.");
-        refreshRemindersList();
     }
 
     /**
@@ -667,10 +572,8 @@ public class MainController {
             showInformation("Success", "The category '" + selectedCategory + "' has been deleted successfully.");
         }
 
-        // Update the UI
+        // Update the UI; the removed tasks were already taken out by the change listener
         categoryListView.getItems().setAll(taskManager.getCategories());
-        taskListView.getItems().setAll(taskManager.getAllTasks());
-        updateTaskCounts();
 
         // Refresh the filter ComboBox with an "All" option
         List<String> filterOptions = new ArrayList<>();
@@ -678,7 +581,6 @@ public class MainController {
         filterOptions.addAll(taskManager.getCategories());
         categoryFilterComboBox.getItems().setAll(filterOptions);
         categoryFilterComboBox.setValue("All");
-        refreshRemindersList();
     }
 
 
@@ -732,10 +634,6 @@ public class MainController {
 
         // Update the Priority ListView
         priorityListView.getItems().setAll(taskManager.getPriorityLevels());
-
-        // Optionally, update tasks and related UI components
-        taskListView.getItems().setAll(taskManager.getAllTasks());
-        updateTaskCounts();
     }
 
 
@@ -788,8 +686,8 @@ public class MainController {
 
         Label statusLabel = new Label("Status:");
         statusLabel.setStyle("-fx-font-weight: bold; -fx-text-fill: #003d99; -fx-font-size: 14px;");
-        ChoiceBox<String> statusField = new ChoiceBox<>();
-        statusField.getItems().addAll("Open", "In Progress", "Postponed", "Completed");
+        ChoiceBox<Status> statusField = new ChoiceBox<>();
+        statusField.getItems().addAll(Status.OPEN, Status.IN_PROGRESS, Status.POSTPONED, Status.COMPLETED);
         statusField.setValue(selectedTask.getStatus());
         statusField.setStyle("-fx-background-color: #ffffff; -fx-border-color: #cce7ff; -fx-border-radius: 5;");
 
@@ -829,39 +727,35 @@ public class MainController {
         // Handle Save button action
         dialog.setResultConverter(buttonType -> {
             if (buttonType == saveButtonType) {
-                // Update the task with the new values
-                selectedTask.setTitle(titleField.getText());
-                selectedTask.setDescription(descriptionField.getText());
-                selectedTask.setCategory(categoryField.getValue());
-                selectedTask.setPriority(priorityField.getValue());
-                selectedTask.setDeadline(deadlineField.getValue());
+                // Collect the new values in a copy; the TaskManager applies them to the stored task
+                Task editedTask = new Task(selectedTask);
+                editedTask.setTitle(titleField.getText());
+                editedTask.setDescription(descriptionField.getText());
+                editedTask.setCategory(categoryField.getValue());
+                editedTask.setPriority(priorityField.getValue());
+                editedTask.setDeadline(deadlineField.getValue());
 
                 // Check if the deadline is before today
                 LocalDate selectedDeadline = deadlineField.getValue();
                 if (selectedDeadline.isBefore(LocalDate.now())) {
                     // Only set status to "Delayed" if it's not "Completed" or "Postponed"
-                    String currentStatus = statusField.getValue();
-                    if (!"Completed".equalsIgnoreCase(currentStatus) && !"Postponed".equalsIgnoreCase(currentStatus)) {
-                        selectedTask.setStatus("Delayed");
+                    Status currentStatus = statusField.getValue();
+                    if (currentStatus != Status.COMPLETED && currentStatus != Status.POSTPONED) {
+                        editedTask.setStatus(Status.DELAYED);
                     } else {
-                        selectedTask.setStatus(currentStatus);
+                        editedTask.setStatus(currentStatus);
                     }
                 } else {
-                    selectedTask.setStatus(statusField.getValue());
+                    editedTask.setStatus(statusField.getValue());
                 }
-                return selectedTask;
+                return editedTask;
             }
             return null;
         });
 
         // Show the dialog and wait for user input
         dialog.showAndWait().ifPresent(editedTask -> {
-            if ("Completed".equalsIgnoreCase(editedTask.getStatus())) {
-                // Remove all reminders from this task.
-                if (editedTask.getReminders() != null) {
-                    editedTask.getReminders().clear();
-                }
-            }
+            // Completing a task also removes its reminders
             taskManager.updateTask(
                     editedTask.getId(),
                     editedTask.getTitle(),
@@ -872,10 +766,6 @@ public class MainController {
                     editedTask.getStatus()
             );
 
-            // Refresh UI
-            taskListView.refresh();
-            updateTaskCounts();
-            refreshRemindersList();
             showInformation("Task Updated", "The task has been successfully updated.");
         });
     }
@@ -900,7 +790,6 @@ public class MainController {
             if (newCategoryName != null && !newCategoryName.isBlank()) {
                 taskManager.renameCategory(selectedCategory, newCategoryName);
                 categoryListView.getItems().setAll(taskManager.getCategories());
-                taskListView.getItems().setAll(taskManager.getAllTasks());
                 showInformation("Category Updated", "The category has been successfully renamed.");
             }
         }
@@ -931,8 +820,6 @@ public class MainController {
             showInformation("Priority Updated", "The priority has been successfully renamed.");
             // Refresh the UI: update the Priority ListView and task list.
             priorityListView.getItems().setAll(taskManager.getPriorityLevels());
-            taskListView.getItems().setAll(taskManager.getAllTasks());
-            updateTaskCounts();
         } else {
             showWarning("Rename Failed", "The new priority name may already exist or is invalid.");
         }
@@ -941,16 +828,180 @@ public class MainController {
 
 
     /**
-     * Refresh reminders from all tasks.
+     * Refresh reminders from the reminder index, ordered by date.
      */
     private void refreshRemindersList() {
-        reminderListView.getItems().clear();
-        // Only add reminders from tasks that are still present.
-        taskManager.getAllTasks().forEach(task -> {
-            if (task.getReminders() != null && !task.getReminders().isEmpty()) {
-                reminderListView.getItems().addAll(task.getReminders());
+        List<Reminder> copies = new ArrayList<>();
+        shownReminders.clear();
+        for (Reminder reminder : taskManager.getAllReminders()) {
+            Reminder copy = new Reminder(reminder);
+            copies.add(copy);
+            shownReminders.computeIfAbsent(copy.getTaskId(), k -> new ArrayList<>()).add(copy);
+        }
+        reminderListView.getItems().setAll(copies);
+    }
+
+    /**
+     * Applies a TaskManager change to the task and reminder lists.
+     * Only the affected rows are added, replaced or removed, so the list views
+     * re-render just those cells instead of rebuilding everything. Each row is found by
+     * binary search on the tasks' insertion numbers, O(log n) to find the row; removing a
+     * row still shifts the rows after it. A large change, such as a committed transaction,
+     * rebuilds the lists once.
+     * <p>While search results are shown, the search is run again, since changed tasks may
+     * now match it or no longer match it. That query runs on the live search thread, is
+     * bounded by {@link #SEARCH_LIMIT} or answered from the indexes, and is debounced like
+     * typing, so a burst of changes costs one query rather than one per event.</p>
+     */
+    private void applyTaskChange(TaskChangeEvent event) {
+        TaskSnapshot snapshot = taskManager.getSnapshot();
+        if (event.getType() == TaskChangeEvent.Type.RELOADED || event.getTaskIds().length > LARGE_CHANGE) {
+            showAllTasks(snapshot);
+            refreshRemindersList();
+        } else {
+            for (int id : event.getTaskIds()) {
+                Task task = snapshot.find(id);
+                int order = snapshot.orderOf(id);
+                Integer shown = shownOrder.get(id);
+                int position = shown == null ? -1 : positionOf(shown);
+                if (position >= 0 && (task == null || order != shown)) {
+                    // Removed, or removed and added again, which moves it to the end
+                    masterTasks.remove(position);
+                    shownOrder.remove(id);
+                    position = -1;
+                }
+                if (task != null && position >= 0) {
+                    masterTasks.set(position, task); // Fires a replace, so the filter and the cell re-evaluate
+                } else if (task != null) {
+                    shownOrder.put(id, order);
+                    masterTasks.add(-positionOf(order) - 1, task); // Normally the end
+                }
+                replaceReminders(id, task);
             }
-        });
+        }
+        if (taskListView.getItems() == searchResults) {
+            requestSearch(LiveSearch.DEFAULT_DELAY_MILLIS);
+        }
+        updateTaskCounts();
+    }
+
+    /**
+     * Runs the search described by the search field, the category filter and the priority
+     * chosen in the search dialog on the live search thread. Without any criteria, the task
+     * list goes back to showing all tasks.
+     * @param delayMillis The debounce delay; typing and task changes wait for a pause, other changes use 0.
+     */
+    private void requestSearch(long delayMillis) {
+        String text = searchField.getText() == null ? "" : searchField.getText().trim();
+        String category = categoryFilterComboBox.getValue();
+        String categoryFilter = category == null || "All".equalsIgnoreCase(category) ? null : category;
+        String priority = priorityFilter;
+        searchButton.setText(priority == null ? "🔎" : "🔎 " + priority);
+        if (text.isEmpty() && categoryFilter == null && priority == null) {
+            liveSearch.cancel();
+            taskListView.setItems(masterTasks);
+            return;
+        }
+        liveSearch.submit(() -> findTasks(text, categoryFilter, priority), delayMillis);
+    }
+
+    /**
+     * Finds the tasks for the search criteria. Runs on the live search thread.
+     */
+    private List<Task> findTasks(String text, String category, String priority) {
+        if (!text.isEmpty()) {
+            // Words are looked up in the full-text index, best matches first
+            return taskManager.searchTasks(text, category, priority, SEARCH_LIMIT);
+        }
+        // The planner starts from whichever of the category and priority indexes is smaller
+        return taskManager.findTasks(TaskQuery.builder().category(category).priority(priority).build());
+    }
+
+    /**
+     * Shows the result of the latest search, keeping the selected task selected.
+     */
+    private void showSearchResults(List<Task> results) {
+        Task selected = taskListView.getSelectionModel().getSelectedItem();
+        searchResults.setAll(results);
+        if (taskListView.getItems() != searchResults) {
+            taskListView.setItems(searchResults);
+        }
+        if (selected != null) {
+            for (int i = 0; i < results.size(); i++) {
+                if (results.get(i).getId() == selected.getId()) {
+                    taskListView.getSelectionModel().select(i);
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Shows all tasks of a snapshot in the master list.
+     */
+    private void showAllTasks(TaskSnapshot snapshot) {
+        List<Task> tasks = snapshot.getTasks();
+        shownOrder.clear();
+        for (Task task : tasks) {
+            shownOrder.put(task.getId(), snapshot.orderOf(task.getId()));
+        }
+        masterTasks.setAll(tasks);
+    }
+
+    /**
+     * Finds a task in the master list by binary search on the insertion numbers.
+     * @param order The insertion number.
+     * @return The position, or (-(insertion point) - 1) as in {@link Collections#binarySearch}.
+     */
+    private int positionOf(int order) {
+        int low = 0;
+        int high = masterTasks.size() - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int middleOrder = shownOrder.get(masterTasks.get(middle).getId());
+            if (middleOrder < order) {
+                low = middle + 1;
+            } else if (middleOrder > order) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+
+    /**
+     * Replaces the reminders shown for one task.
+     * The list is sorted, so each old copy is found and each new copy is placed by binary search.
+     * @param taskId The task ID.
+     * @param task The task, or null if it was removed.
+     */
+    private void replaceReminders(int taskId, Task task) {
+        ObservableList<Reminder> items = reminderListView.getItems();
+        List<Reminder> previous = shownReminders.remove(taskId);
+        if (previous != null) {
+            for (Reminder copy : previous) {
+                int position = Collections.binarySearch(items, copy, Reminder.BY_DATE);
+                if (position >= 0) {
+                    items.remove(position);
+                }
+            }
+        }
+        if (task == null) {
+            return;
+        }
+        List<Reminder> current = taskManager.getReminders(taskId);
+        if (current.isEmpty()) {
+            return;
+        }
+        List<Reminder> copies = new ArrayList<>(current.size());
+        for (Reminder reminder : current) {
+            Reminder copy = new Reminder(reminder);
+            int position = Collections.binarySearch(items, copy, Reminder.BY_DATE);
+            items.add(position >= 0 ? position : -position - 1, copy);
+            copies.add(copy);
+        }
+        shownReminders.put(taskId, copies);
     }
 
 
@@ -965,7 +1016,7 @@ public class MainController {
             showWarning("No Task Selected", "Please select a task to set a reminder.");
             return;
         }
-        if ("Completed".equalsIgnoreCase(selectedTask.getStatus())) {
+        if (selectedTask.getStatus() == Status.COMPLETED) {
             showWarning("Invalid Task", "Cannot add a reminder for a completed task.");
             return;
         }
@@ -1048,29 +1099,15 @@ public class MainController {
         }
 
         // Check for duplicate reminders (same date for same task)
-        if (selectedTask.getReminders() != null) {
-            for (Reminder existingReminder : selectedTask.getReminders()) {
-                if (existingReminder.getReminderDate().equals(reminderDate)) {
-                    showWarning("Duplicate Reminder", "A reminder for this date already exists for the selected task.");
-                    return;
-                }
-            }
-        }
-
-        // Ensure the task has a reminders list before adding.
-        if (selectedTask.getReminders() == null) {
-            selectedTask.setReminders(new ArrayList<>());
+        if (taskManager.hasReminderOn(selectedTask.getId(), reminderDate)) {
+            showWarning("Duplicate Reminder", "A reminder for this date already exists for the selected task.");
+            return;
         }
 
-        // Create and add reminder with the computed date.
+        // Create and add reminder with the computed date (this also saves the task).
         Reminder newReminder = new Reminder(taskManager.generateReminderId(), selectedTask.getId(), reminderType, reminderDate);
-        selectedTask.getReminders().add(newReminder);
+        taskManager.addReminder(selectedTask.getId(), newReminder);
 
-        // Save updated task with reminders.
-        taskManager.saveData();
-
-        // Update UI.
-        refreshRemindersList();
         showInformation("Reminder Set", "Reminder added for task: " + selectedTask.getTitle() + " on " + reminderDate);
     }
 
@@ -1091,9 +1128,7 @@ public class MainController {
         }
 
         // Get associated task
-        Task associatedTask = taskManager.getAllTasks().stream()
-                .filter(task -> task.getId() == selectedReminder.getTaskId())
-                .findFirst().orElse(null);
+        Task associatedTask = taskManager.findTask(selectedReminder.getTaskId());
 
         if (associatedTask == null) {
             showWarning("Error", "Associated task not found.");
@@ -1200,12 +1235,8 @@ public class MainController {
 
 
         // Update reminder
-        selectedReminder.setType(newType);
-        selectedReminder.setReminderDate(newDate);
-        taskManager.saveData(); // Save changes
+        taskManager.updateReminder(associatedTask.getId(), selectedReminder.getId(), newType, newDate); // Save changes
 
-        // Refresh UI
-        refreshRemindersList();
         showInformation("Reminder Updated", "The reminder has been updated successfully.");
     }
 
@@ -1222,18 +1253,9 @@ public class MainController {
             return;
         }
 
-        // Find the associated task and remove the reminder
-        Task associatedTask = taskManager.getAllTasks().stream()
-                .filter(task -> task.getId() == selectedReminder.getTaskId())
-                .findFirst().orElse(null);
-
-        if (associatedTask != null) {
-            associatedTask.getReminders().removeIf(r -> r.getId() == selectedReminder.getId());
-            taskManager.saveData(); // Save changes
-        }
+        // Remove the reminder from its associated task
+        taskManager.deleteReminder(selectedReminder.getTaskId(), selectedReminder.getId()); // Save changes
 
-        // Refresh UI
-        refreshRemindersList();
         showInformation("Reminder Deleted", "The reminder has been deleted successfully.");
     }
 
@@ -1435,14 +1457,15 @@ public class MainController {
 
         // Create controls for the search criteria.
         TextField titleField = new TextField();
-        titleField.setPromptText("Title keyword...");
+        titleField.setPromptText("Words in title or description...");
+        titleField.setText(searchField.getText());
 
         ComboBox<String> categoryCombo = new ComboBox<>();
         List<String> catOptions = new ArrayList<>();
         catOptions.add("All");
         catOptions.addAll(taskManager.getCategories());
         categoryCombo.getItems().setAll(catOptions);
-        categoryCombo.setValue("All");
+        categoryCombo.setValue(categoryFilterComboBox.getValue() == null ? "All" : categoryFilterComboBox.getValue());
         // Ensure it uses the "combo-box" style (from tabstyles.css)
         if (!categoryCombo.getStyleClass().contains("combo-box")) {
             categoryCombo.getStyleClass().add("combo-box");
@@ -1453,7 +1476,7 @@ public class MainController {
         priOptions.add("All");
         priOptions.addAll(taskManager.getPriorityLevels());
         priorityCombo.getItems().setAll(priOptions);
-        priorityCombo.setValue("All");
+        priorityCombo.setValue(priorityFilter == null ? "All" : priorityFilter);
         if (!priorityCombo.getStyleClass().contains("combo-box")) {
             priorityCombo.getStyleClass().add("combo-box");
         }
@@ -1464,7 +1487,7 @@ public class MainController {
         grid.setVgap(10);
         grid.setPadding(new Insets(20, 150, 10, 10));
 
-        Label titleLabel = new Label("Title:");
+        Label titleLabel = new Label("Text:");
         titleLabel.setStyle("-fx-text-fill: #003d99; -fx-font-size: 14px; -fx-font-weight: bold;");
         grid.add(titleLabel, 0, 0);
         grid.add(titleField, 1, 0);
@@ -1492,20 +1515,11 @@ public class MainController {
 
         // Process the search criteria.
         dialog.showAndWait().ifPresent(criteria -> {
-            List<Task> filteredTasks = taskManager.getAllTasks().stream().filter(task -> {
-                boolean matchesTitle = criteria.title == null || criteria.title.isBlank() ||
-                        task.getTitle().toLowerCase().contains(criteria.title.toLowerCase());
-                boolean matchesCategory = "All".equalsIgnoreCase(criteria.category) ||
-                        task.getCategory().equalsIgnoreCase(criteria.category);
-                boolean matchesPriority = "All".equalsIgnoreCase(criteria.priority) ||
-                        task.getPriority().equalsIgnoreCase(criteria.priority);
-                return matchesTitle && matchesCategory && matchesPriority;
-            }).toList();
-
-            taskListView.getItems().setAll(filteredTasks);
-            if (filteredTasks.isEmpty()) {
-                showInformation("No Results", "No tasks match your search criteria.");
-            }
+            // The dialog only fills in the inline search controls; the live search does the rest
+            priorityFilter = "All".equalsIgnoreCase(criteria.priority) ? null : criteria.priority;
+            searchField.setText(criteria.title == null ? "" : criteria.title);
+            categoryFilterComboBox.setValue(criteria.category);
+            requestSearch(0);
         });
     }
 
@@ -0,0 +1,30 @@
+package org.example.view;
+
+import javafx.application.Platform;
+import javafx.scene.control.Alert;
+import org.example.controller.ReminderSink;
+import org.example.model.Reminder;
+import org.example.model.Task;
+
+import java.net.URL;
+
+/**
+ * Shows due reminders as non-blocking popups on the JavaFX application thread.
+ */
+public class ReminderPopupSink implements ReminderSink {
+
+    @Override
+    public void reminderDue(Task task, Reminder reminder) {
+        Platform.runLater(() -> {
+            Alert alert = new Alert(Alert.AlertType.INFORMATION);
+            alert.setTitle("Reminder");
+            alert.setHeaderText("⏰ " + task.getTitle());
+            alert.setContentText(reminder.getType() + " reminder: the task is due on " + task.getDeadline() + ".");
+            URL cssURL = getClass().getResource("/styles/dialogstyles.css");
+            if (cssURL != null) {
+                alert.getDialogPane().getStylesheets().add(cssURL.toExternalForm());
+            }
+            alert.show();
+        });
+    }
+}
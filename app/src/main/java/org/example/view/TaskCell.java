@@ -0,0 +1,118 @@
+package org.example.view;
+
+import javafx.css.PseudoClass;
+import javafx.geometry.Pos;
+import javafx.scene.control.ContentDisplay;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.VBox;
+import org.example.model.Status;
+import org.example.model.Task;
+
+/**
+ * List cell that shows the details of a task.
+ * The node graph is built once per cell; {@link #updateItem} only changes label texts
+ * and the status pseudo-class, so recycling a cell while scrolling allocates no nodes
+ * and causes no inline style parsing. The styles live in taskcell.css.
+ */
+public class TaskCell extends ListCell<Task> {
+    private static final PseudoClass COMPLETED = PseudoClass.getPseudoClass("completed");
+    private static final PseudoClass IN_PROGRESS = PseudoClass.getPseudoClass("in-progress");
+    private static final PseudoClass DELAYED = PseudoClass.getPseudoClass("delayed");
+    private static final PseudoClass POSTPONED = PseudoClass.getPseudoClass("postponed");
+
+    private final HBox mainBox = new HBox();
+    private final Label titleValue = new Label();
+    private final Label descriptionValue = new Label();
+    private final Label categoryValue = new Label();
+    private final Label priorityValue = new Label();
+    private final Label statusValue = new Label();
+    private final Label deadlineValue = new Label();
+    private final Label statusIcon = new Label();
+
+    /**
+     * Constructs an empty cell and builds its node graph.
+     */
+    public TaskCell() {
+        getStyleClass().add("task-cell");
+        mainBox.getStyleClass().add("task-box");
+        mainBox.setAlignment(Pos.CENTER_LEFT);
+
+        VBox taskBox = new VBox(5);
+        taskBox.getChildren().addAll(
+                row("Title: ", titleValue),
+                row("Description: ", descriptionValue),
+                row("Category: ", categoryValue),
+                row("Priority: ", priorityValue),
+                row("Status: ", statusValue),
+                row("Deadline: ", deadlineValue));
+        statusValue.getStyleClass().add("task-status");
+
+        // Spacer for controlled spacing
+        Region spacer = new Region();
+        HBox.setHgrow(spacer, Priority.ALWAYS);
+        spacer.setMaxWidth(240); // Controls how far left the icon moves
+
+        statusIcon.getStyleClass().add("task-status-icon");
+        mainBox.getChildren().addAll(taskBox, spacer, statusIcon);
+
+        setText(null);
+        setContentDisplay(ContentDisplay.GRAPHIC_ONLY);
+    }
+
+    @Override
+    protected void updateItem(Task task, boolean empty) {
+        super.updateItem(task, empty);
+        if (empty || task == null) {
+            setGraphic(null);
+            setStatus(null);
+            return;
+        }
+        titleValue.setText(task.getTitle());
+        descriptionValue.setText(task.getDescription());
+        categoryValue.setText(task.getCategory());
+        priorityValue.setText(task.getPriority());
+        statusValue.setText(task.getStatus() == null ? "" : task.getStatus().getLabel());
+        deadlineValue.setText(task.getDeadline() == null ? "" : task.getDeadline().toString());
+        setStatus(task.getStatus());
+        setGraphic(mainBox);
+    }
+
+    private void setStatus(Status status) {
+        pseudoClassStateChanged(COMPLETED, status == Status.COMPLETED);
+        pseudoClassStateChanged(IN_PROGRESS, status == Status.IN_PROGRESS);
+        pseudoClassStateChanged(DELAYED, status == Status.DELAYED);
+        pseudoClassStateChanged(POSTPONED, status == Status.POSTPONED);
+        if (status == null) {
+            statusIcon.setText("");
+            return;
+        }
+        switch (status) {
+            case COMPLETED:
+                statusIcon.setText("✅");
+                break;
+            case IN_PROGRESS:
+                statusIcon.setText("⏳");
+                break;
+            case DELAYED:
+                statusIcon.setText("❗");
+                break;
+            case POSTPONED:
+                statusIcon.setText("⏱");
+                break;
+            default:
+                statusIcon.setText("ℹ️");
+                break;
+        }
+    }
+
+    private static HBox row(String name, Label value) {
+        Label label = new Label(name);
+        label.getStyleClass().add("task-field-name");
+        value.getStyleClass().add("task-field-value");
+        return new HBox(5, label, value);
+    }
+}
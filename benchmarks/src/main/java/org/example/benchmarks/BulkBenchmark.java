@@ -0,0 +1,58 @@
+package org.example.benchmarks;
+
+import org.example.controller.TaskQuery;
+import org.example.model.Status;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * applyToMatching with bulk pools of different sizes, to show how bulk changes scale with cores.
+ * Each call changes the status of every task in one category, an eighth of the store.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Thread)
+public class BulkBenchmark {
+    private static final TaskQuery QUERY = TaskQuery.builder().category("Home").build();
+
+    @Param({"1", "2", "4"})
+    public int parallelism;
+
+    private ForkJoinPool pool;
+    private boolean postponed;
+
+    @Setup(Level.Trial)
+    public void setPool(StoreState store) {
+        pool = new ForkJoinPool(parallelism);
+        store.taskManager.setBulkPool(pool);
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdownPool() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public int applyToMatching(StoreState store) {
+        postponed = !postponed;
+        Status status = postponed ? Status.POSTPONED : Status.IN_PROGRESS;
+        return store.taskManager.applyToMatching(QUERY, task -> task.setStatus(status));
+    }
+}
@@ -0,0 +1,69 @@
+package org.example.benchmarks;
+
+import org.example.controller.TaskQuery;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Changes that touch every task of a category or priority level: renameCategory and
+ * deletePriorityLevel. With eight categories, each call changes an eighth of the store.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Thread)
+public class CategoryBenchmark {
+    private static final String CATEGORY = "Work";
+    private static final String RENAMED = "Work (renamed)";
+    private static final String PRIORITY = "Urgent";
+
+    private boolean renamed;
+
+    /**
+     * Gives the tasks of one category their own priority level before each deletion of it.
+     */
+    @State(Scope.Thread)
+    public static class PriorityLevel {
+        @Setup(Level.Invocation)
+        public void assign(StoreState store) {
+            store.taskManager.addPriorityLevel(PRIORITY);
+            store.taskManager.applyToMatching(TaskQuery.builder().category("Study").build(),
+                    task -> task.setPriority(PRIORITY));
+        }
+    }
+
+    /**
+     * Renames a category, back and forth between two names.
+     */
+    @Benchmark
+    public boolean renameCategory(StoreState store) {
+        renamed = !renamed;
+        return renamed
+                ? store.taskManager.renameCategory(CATEGORY, RENAMED)
+                : store.taskManager.renameCategory(RENAMED, CATEGORY);
+    }
+
+    /**
+     * Deletes a priority level, moving its tasks to "Default".
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    public void deletePriorityLevel(StoreState store, PriorityLevel level) {
+        store.taskManager.deletePriorityLevel(PRIORITY);
+    }
+}
@@ -0,0 +1,80 @@
+package org.example.benchmarks;
+
+import org.example.controller.TaskQuery;
+import org.example.model.Status;
+import org.example.model.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Several threads using one TaskManager at once, as the HTTP server does.
+ *
+ * <p>"reads" and "queries" only read, so their throughput should grow with the number of
+ * threads up to the number of cores. "mixed" adds a thread that keeps updating tasks, to
+ * show how much a writer holds up the readers. The thread counts can be changed with -tg,
+ * for example {@code -tg 8} for "reads" or {@code -tg 6,2} for "mixed"; compare the
+ * results for one and several reader threads to see the scaling.</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Thread)
+public class ContentionBenchmark {
+    private final Random random = new Random(Thread.currentThread().getId());
+    private final LocalDate today = LocalDate.now();
+
+    private int randomId(StoreState store) {
+        return 1 + random.nextInt(store.storeSize); // The synthetic store numbers its tasks from 1
+    }
+
+    @Benchmark
+    @Group("reads")
+    @GroupThreads(4)
+    public Task findTask(StoreState store) {
+        return store.taskManager.findTask(randomId(store));
+    }
+
+    @Benchmark
+    @Group("queries")
+    @GroupThreads(4)
+    public List<Task> findTasks(StoreState store) {
+        return store.taskManager.findTasks(TaskQuery.builder()
+                .category(TaskData.CATEGORIES.get(random.nextInt(TaskData.CATEGORIES.size())))
+                .status(Status.OPEN).limit(50).build());
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(3)
+    public Task mixedRead(StoreState store) {
+        return store.taskManager.findTask(randomId(store));
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public void mixedWrite(StoreState store) {
+        int id = randomId(store);
+        Task task = store.taskManager.findTask(id);
+        if (task != null) {
+            store.taskManager.updateTask(id, task.getTitle(), task.getDescription(), task.getCategory(),
+                    task.getPriority(), today.plusDays(random.nextInt(60)), task.getStatus());
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package org.example.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Scratch data directories, one per benchmark trial, so benchmarks never see each other's
+ * data or the application's.
+ */
+final class DataDirectory {
+    private DataDirectory() {
+    }
+
+    static Path create() throws IOException {
+        return Files.createTempDirectory("task-benchmark");
+    }
+
+    /**
+     * Deletes a scratch directory. A failure is only reported, since it does not affect the results.
+     */
+    static void delete(Path directory) {
+        try (Stream<Path> files = Files.walk(directory)) {
+            List<Path> paths = files.sorted(Comparator.reverseOrder()).collect(Collectors.toList());
+            for (Path path : paths) {
+                Files.deleteIfExists(path);
+            }
+        } catch (IOException e) {
+            System.err.println("Could not delete " + directory + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package org.example.benchmarks;
+
+import org.example.utils.JSONHandler;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Writes a synthetic store of the given size to a data directory, for trying the application
+ * on a large store, for example to measure frame times while scrolling.
+ *
+ * <p>Usage: GenerateStore directory [tasks]. The store has 100,000 tasks unless a size is given.</p>
+ */
+public final class GenerateStore {
+    private GenerateStore() {
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 1 || args.length > 2) {
+            System.err.println("Usage: GenerateStore directory [tasks]");
+            System.exit(2);
+        }
+        Path directory = Paths.get(args[0]);
+        int size = args.length > 1 ? Integer.parseInt(args[1]) : 100_000;
+        new JSONHandler(directory).saveData(TaskData.store(size));
+        System.out.printf("Wrote %,d task(s) to %s%n", size, directory.toAbsolutePath());
+    }
+}
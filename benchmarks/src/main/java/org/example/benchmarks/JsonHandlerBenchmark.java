@@ -0,0 +1,106 @@
+package org.example.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.example.utils.JSONHandler;
+import org.example.utils.StreamingTaskLoader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSONHandler.loadData and saveData on snapshots of each format, including the capped and
+ * filtered streaming loads used to open part of a large store. {@link #loadDataTreeBinding()}
+ * is the load as it was before the streaming loader, for comparison; run with
+ * {@code -prof gc} to compare the allocation as well as the time.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class JsonHandlerBenchmark {
+    @Param({"10000", "100000", "1000000"})
+    public int storeSize;
+
+    @Param({"JSON", "BINARY"})
+    public JSONHandler.SnapshotFormat format;
+
+    private Path directory;
+    private JSONHandler storage;
+    private JSONHandler.DataWrapper data;
+    private ObjectMapper mapper;
+    private Path baselineFile;  // The same data as a JSON file, for the baseline load
+
+    @Setup(Level.Trial)
+    public void writeSnapshot() throws IOException {
+        directory = DataDirectory.create();
+        storage = new JSONHandler(directory);
+        storage.setSnapshotFormat(format);
+        data = TaskData.store(storeSize);
+        storage.saveData(data);
+        mapper = new ObjectMapper();
+        mapper.registerModule(new JavaTimeModule());
+        baselineFile = directory.resolve("baseline.json");
+        mapper.writeValue(baselineFile.toFile(), data);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteSnapshot() {
+        DataDirectory.delete(directory);
+    }
+
+    @Benchmark
+    public JSONHandler.DataWrapper loadData() {
+        return storage.loadData();
+    }
+
+    /**
+     * The baseline: binds the whole JSON file to a DataWrapper with the mapper in one call,
+     * as JSONHandler did before tasks were streamed. It reads JSON for either format.
+     */
+    @Benchmark
+    public JSONHandler.DataWrapper loadDataTreeBinding() throws IOException {
+        return mapper.readValue(baselineFile.toFile(), JSONHandler.DataWrapper.class);
+    }
+
+    /**
+     * Loads the first thousand tasks only.
+     */
+    @Benchmark
+    public JSONHandler.DataWrapper loadDataCapped() {
+        StreamingTaskLoader.Options options = new StreamingTaskLoader.Options();
+        options.setMaxTasks(1000);
+        return storage.loadData(options);
+    }
+
+    /**
+     * Loads the tasks of one category, an eighth of the store.
+     */
+    @Benchmark
+    public JSONHandler.DataWrapper loadDataFiltered() {
+        StreamingTaskLoader.Options options = new StreamingTaskLoader.Options();
+        options.setFilter(task -> "Work".equals(task.getCategory()));
+        return storage.loadData(options);
+    }
+
+    @Benchmark
+    public void saveData() {
+        storage.saveData(data);
+    }
+}
@@ -0,0 +1,63 @@
+package org.example.benchmarks;
+
+import org.example.controller.TaskQuery;
+import org.example.model.Status;
+import org.example.model.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The searches and filters behind the task list: text search as typed in the search box,
+ * the category and priority filters, and the delayed-task query shown at startup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Thread)
+public class SearchBenchmark {
+    private static final int LIMIT = 100;
+    private static final String[] QUERIES = {"report", "inv", "flight hotel", "quarterly budget", "mig", "dentist"};
+
+    private int next;
+
+    private String nextQuery() {
+        next = (next + 1) % QUERIES.length;
+        return QUERIES[next];
+    }
+
+    @Benchmark
+    public List<Task> searchText(StoreState store) {
+        return store.taskManager.searchTasks(nextQuery(), LIMIT);
+    }
+
+    @Benchmark
+    public List<Task> searchTextWithFilters(StoreState store) {
+        return store.taskManager.searchTasks(nextQuery(), "Work", "High", LIMIT);
+    }
+
+    /**
+     * Category and priority filters without search text; the whole matching list is returned.
+     */
+    @Benchmark
+    public List<Task> filterByCategoryAndPriority(StoreState store) {
+        return store.taskManager.findTasks(TaskQuery.builder().category("Work").priority("High").build());
+    }
+
+    @Benchmark
+    public List<Task> delayedByDeadline(StoreState store) {
+        return store.taskManager.findTasks(TaskQuery.builder()
+                .status(Status.DELAYED).sortBy(TaskQuery.Sort.DEADLINE).build());
+    }
+}
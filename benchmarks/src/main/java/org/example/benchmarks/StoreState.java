@@ -0,0 +1,45 @@
+package org.example.benchmarks;
+
+import org.example.controller.TaskManager;
+import org.example.utils.JSONHandler;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * A TaskManager loaded with a synthetic store of {@link #storeSize} tasks, in a scratch data directory.
+ * The store is written as a binary snapshot, which keeps the setup of the large sizes short;
+ * changes made by the benchmarks are persisted as in the application (journal, batched writes).
+ */
+@State(Scope.Benchmark)
+public class StoreState {
+    @Param({"10000", "100000", "1000000"})
+    public int storeSize;
+
+    public TaskManager taskManager;
+    private Path directory;
+
+    @Setup(Level.Trial)
+    public void open() throws IOException {
+        directory = DataDirectory.create();
+        JSONHandler storage = new JSONHandler(directory);
+        storage.setSnapshotFormat(JSONHandler.SnapshotFormat.BINARY);
+        storage.saveData(TaskData.store(storeSize));
+        taskManager = new TaskManager(storage);
+        if (taskManager.getTaskCount() != storeSize) {
+            throw new IllegalStateException("Loaded " + taskManager.getTaskCount() + " tasks instead of " + storeSize);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void close() {
+        taskManager.close();
+        DataDirectory.delete(directory);
+    }
+}
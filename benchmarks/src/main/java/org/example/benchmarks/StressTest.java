@@ -0,0 +1,282 @@
+package org.example.benchmarks;
+
+import org.example.controller.TaskManager;
+import org.example.controller.TaskQuery;
+import org.example.controller.TaskSnapshot;
+import org.example.controller.TaskTransaction;
+import org.example.model.Reminder;
+import org.example.model.Status;
+import org.example.model.Task;
+import org.example.utils.JSONHandler;
+import org.example.utils.SaveScheduler;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Hammers one TaskManager from several threads with a mix of reads, single-task changes,
+ * reminder changes, transactions and bulk updates, then checks that nothing was lost or
+ * corrupted: every snapshot read during the run is consistent, every generated ID is unique,
+ * the indexes and counters agree with a scan of the tasks, and a TaskManager loaded from the
+ * written files holds the same tasks as memory.
+ *
+ * <p>Usage: StressTest [--threads 8] [--seconds 10] [--tasks 10000] [--mode SYNC|ASYNC|BATCHED].
+ * Exits with status 1 if a worker failed or a check did not hold.</p>
+ */
+public final class StressTest {
+    private static final int WORKLOAD = 100; // The shares of the operations in step() are percentages
+
+    private StressTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int threads = 8;
+        int seconds = 10;
+        int size = 10_000;
+        SaveScheduler.DurabilityMode mode = SaveScheduler.DurabilityMode.BATCHED;
+        for (int i = 0; i < args.length; i++) {
+            String value = i + 1 < args.length ? args[i + 1] : null;
+            if (value == null) {
+                usage();
+            }
+            switch (args[i]) {
+                case "--threads": threads = Integer.parseInt(value); break;
+                case "--seconds": seconds = Integer.parseInt(value); break;
+                case "--tasks": size = Integer.parseInt(value); break;
+                case "--mode": mode = SaveScheduler.DurabilityMode.valueOf(value.toUpperCase()); break;
+                default: usage();
+            }
+            i++;
+        }
+
+        Path directory = DataDirectory.create();
+        try {
+            JSONHandler storage = new JSONHandler(directory);
+            storage.saveData(TaskData.store(size));
+            TaskManager taskManager = new TaskManager(storage, mode, SaveScheduler.DEFAULT_BATCH_WINDOW_MILLIS);
+            System.out.printf("Running %d thread(s) for %d s on %d task(s), %s writes%n", threads, seconds, size, mode);
+
+            Set<Integer> taskIds = ConcurrentHashMap.newKeySet();
+            Set<Integer> reminderIds = ConcurrentHashMap.newKeySet();
+            AtomicLong operations = new AtomicLong();
+            AtomicReference<Throwable> failure = new AtomicReference<>();
+            long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+            CountDownLatch done = new CountDownLatch(threads);
+            for (int t = 0; t < threads; t++) {
+                long seed = t;
+                int storeSize = size;
+                Thread worker = new Thread(() -> {
+                    try {
+                        Random random = new Random(seed);
+                        while (System.nanoTime() < deadline && failure.get() == null) {
+                            step(taskManager, random, storeSize, taskIds, reminderIds);
+                            operations.incrementAndGet();
+                        }
+                    } catch (Throwable e) {
+                        failure.compareAndSet(null, e);
+                    } finally {
+                        done.countDown();
+                    }
+                }, "stress-" + t);
+                worker.start();
+            }
+            done.await();
+            if (failure.get() != null) {
+                System.err.println("A worker failed:");
+                failure.get().printStackTrace();
+                System.exit(1);
+            }
+            System.out.printf("%,d operations (%,d per second)%n", operations.get(), operations.get() / Math.max(1, seconds));
+
+            List<String> problems = new ArrayList<>();
+            checkIndexes(taskManager, problems);
+            taskManager.close(); // Writes everything and waits for a compaction, so the files are complete
+            checkReload(taskManager, directory, mode, problems);
+            if (!problems.isEmpty()) {
+                problems.forEach(problem -> System.err.println("FAILED: " + problem));
+                System.exit(1);
+            }
+            System.out.printf("OK: %d task(s), %d reminder(s), %d task ID(s) and %d reminder ID(s) generated%n",
+                    taskManager.getTaskCount(), taskManager.getReminderCount(), taskIds.size(), reminderIds.size());
+        } finally {
+            DataDirectory.delete(directory);
+        }
+    }
+
+    /**
+     * Runs one random operation. Generated IDs are recorded, and a duplicate fails the run at once.
+     */
+    private static void step(TaskManager taskManager, Random random, int storeSize,
+                             Set<Integer> taskIds, Set<Integer> reminderIds) {
+        LocalDate today = LocalDate.now();
+        int id = 1 + random.nextInt(storeSize + storeSize / 10); // Mostly existing tasks, some added ones
+        int roll = random.nextInt(WORKLOAD);
+        if (roll < 2) {
+            checkSnapshot(taskManager.getSnapshot());
+        } else if (roll < 40) {
+            taskManager.findTask(id);
+        } else if (roll < 55) {
+            taskManager.findTasks(TaskQuery.builder()
+                    .category(TaskData.CATEGORIES.get(random.nextInt(TaskData.CATEGORIES.size())))
+                    .status(Status.OPEN).limit(20).build());
+        } else if (roll < 60) {
+            taskManager.searchTasks(TaskData.WORDS[random.nextInt(TaskData.WORDS.length)], 20);
+        } else if (roll < 70) {
+            int newId = unique(taskIds, taskManager.generateTaskId(), "task");
+            taskManager.addTask(TaskData.task(newId, random, today));
+        } else if (roll < 82) {
+            Task task = taskManager.findTask(id);
+            if (task != null) {
+                Status status = Status.values()[random.nextInt(Status.values().length)];
+                taskManager.updateTask(id, task.getTitle(), TaskData.WORDS[random.nextInt(TaskData.WORDS.length)],
+                        task.getCategory(), task.getPriority(), today.plusDays(random.nextInt(90)), status);
+            }
+        } else if (roll < 88) {
+            taskManager.deleteTask(id);
+        } else if (roll < 94) {
+            int reminderId = unique(reminderIds, taskManager.generateReminderId(), "reminder");
+            taskManager.addReminder(id, new Reminder(reminderId, id, "Custom", today.plusDays(1 + random.nextInt(30))));
+        } else if (roll < 97) {
+            List<Reminder> reminders = taskManager.getReminders(id);
+            if (!reminders.isEmpty()) {
+                taskManager.deleteReminder(id, reminders.get(0).getId());
+            }
+        } else if (roll < 99) {
+            try (TaskTransaction transaction = taskManager.beginTransaction()) {
+                for (int i = 0; i < 10; i++) {
+                    int newId = unique(taskIds, transaction.generateTaskId(), "task");
+                    transaction.addTask(TaskData.task(newId, random, today));
+                }
+                transaction.deleteTask(id);
+                transaction.commit();
+            }
+        } else {
+            String priority = TaskData.PRIORITIES.get(random.nextInt(TaskData.PRIORITIES.size()));
+            taskManager.applyToMatching(TaskQuery.builder().priority(priority).limit(50).build(),
+                    task -> task.setStatus(Status.IN_PROGRESS));
+        }
+    }
+
+    private static int unique(Set<Integer> generated, int id, String kind) {
+        if (!generated.add(id)) {
+            throw new IllegalStateException("The " + kind + " ID " + id + " was handed out twice");
+        }
+        return id;
+    }
+
+    /**
+     * Checks that a snapshot taken while writers are busy agrees with itself: its size, its
+     * list, its iteration and its lookups by ID all see the same tasks.
+     */
+    private static void checkSnapshot(TaskSnapshot snapshot) {
+        List<Task> tasks = snapshot.getTasks();
+        int iterated = 0;
+        for (Task task : snapshot) {
+            if (task != tasks.get(iterated++) || snapshot.find(task.getId()) != task) {
+                throw new IllegalStateException("Snapshot " + snapshot.getVersion() + " is inconsistent at task " + task.getId());
+            }
+        }
+        if (iterated != snapshot.size() || tasks.size() != snapshot.size()) {
+            throw new IllegalStateException("Snapshot " + snapshot.getVersion() + " holds " + snapshot.size()
+                    + " task(s) but iterates " + iterated);
+        }
+    }
+
+    /**
+     * Compares the counts answered by the indexes with a scan of all tasks.
+     */
+    private static void checkIndexes(TaskManager taskManager, List<String> problems) {
+        List<Task> tasks = taskManager.getAllTasks();
+        Map<Status, Integer> byStatus = new EnumMap<>(Status.class);
+        int reminders = 0;
+        for (Task task : tasks) {
+            byStatus.merge(task.getStatus(), 1, Integer::sum);
+            reminders += task.getReminders().size();
+        }
+        for (Status status : Status.values()) {
+            int scanned = byStatus.getOrDefault(status, 0);
+            int indexed = taskManager.countTasksByStatus(status);
+            if (scanned != indexed) {
+                problems.add(status + ": " + indexed + " task(s) in the index, " + scanned + " in the store");
+            }
+        }
+        for (String category : TaskData.CATEGORIES) {
+            long scanned = tasks.stream().filter(task -> category.equalsIgnoreCase(task.getCategory())).count();
+            int indexed = taskManager.getTasksByCategory(category).size();
+            if (scanned != indexed) {
+                problems.add(category + ": " + indexed + " task(s) in the index, " + scanned + " in the store");
+            }
+        }
+        if (taskManager.getStatistics().getTotal() != tasks.size()) {
+            problems.add("Statistics count " + taskManager.getStatistics().getTotal() + " task(s), the store " + tasks.size());
+        }
+        if (taskManager.getStatistics().getCompleted() != byStatus.getOrDefault(Status.COMPLETED, 0)) {
+            problems.add("Statistics count " + taskManager.getStatistics().getCompleted() + " completed task(s)");
+        }
+        if (taskManager.getReminderCount() != reminders) {
+            problems.add(taskManager.getReminderCount() + " reminder(s) in the index, " + reminders + " in the store");
+        }
+    }
+
+    /**
+     * Loads the written files into a second TaskManager and compares every task with memory.
+     */
+    private static void checkReload(TaskManager taskManager, Path directory,
+                                    SaveScheduler.DurabilityMode mode, List<String> problems) throws IOException {
+        TaskManager reloaded = new TaskManager(new JSONHandler(directory), mode, SaveScheduler.DEFAULT_BATCH_WINDOW_MILLIS);
+        try {
+            List<Task> expected = taskManager.getAllTasks();
+            if (reloaded.getTaskCount() != expected.size()) {
+                problems.add("Reloaded " + reloaded.getTaskCount() + " task(s) instead of " + expected.size());
+            }
+            int different = 0;
+            for (Task task : expected) {
+                Task other = reloaded.findTask(task.getId());
+                if (other == null || !sameTask(task, other)) {
+                    if (different++ < 5) {
+                        problems.add("Task " + task.getId() + " differs after reloading: " + other + " instead of " + task);
+                    }
+                }
+            }
+            if (different > 5) {
+                problems.add((different - 5) + " more task(s) differ after reloading");
+            }
+        } finally {
+            reloaded.close();
+        }
+    }
+
+    private static boolean sameTask(Task a, Task b) {
+        if (!Objects.equals(a.getTitle(), b.getTitle()) || !Objects.equals(a.getDescription(), b.getDescription())
+                || !Objects.equals(a.getCategory(), b.getCategory()) || !Objects.equals(a.getPriority(), b.getPriority())
+                || !Objects.equals(a.getDeadline(), b.getDeadline()) || a.getStatus() != b.getStatus()
+                || a.getReminders().size() != b.getReminders().size()) {
+            return false;
+        }
+        for (int i = 0; i < a.getReminders().size(); i++) {
+            Reminder x = a.getReminders().get(i);
+            Reminder y = b.getReminders().get(i);
+            if (x.getId() != y.getId() || !Objects.equals(x.getReminderDate(), y.getReminderDate())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void usage() {
+        System.err.println("Usage: StressTest [--threads 8] [--seconds 10] [--tasks 10000] [--mode SYNC|ASYNC|BATCHED]");
+        System.exit(2);
+    }
+}
@@ -0,0 +1,83 @@
+package org.example.benchmarks;
+
+import org.example.controller.TaskStatistics;
+import org.example.model.Status;
+import org.example.model.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The dashboard counters read by MainController.updateTaskCounts after every change:
+ * total, completed, delayed and upcoming tasks.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Thread)
+public class TaskCountsBenchmark {
+    private final LocalDate today = LocalDate.now();
+    private boolean nextDay;
+
+    /**
+     * The counts as updateTaskCounts reads them, on the same day.
+     */
+    @Benchmark
+    public void taskCounts(StoreState store, Blackhole blackhole) {
+        TaskStatistics statistics = store.taskManager.getStatistics();
+        blackhole.consume(statistics.getTotal());
+        blackhole.consume(statistics.getCompleted());
+        blackhole.consume(statistics.getDelayed());
+        blackhole.consume(statistics.getUpcoming(today));
+    }
+
+    /**
+     * The upcoming count when the day has changed since the last read, so the window moves.
+     */
+    @Benchmark
+    public int upcomingAfterDayChange(StoreState store) {
+        nextDay = !nextDay;
+        return store.taskManager.getStatistics().getUpcoming(nextDay ? today.plusDays(1) : today);
+    }
+
+    /**
+     * The same counts computed by scanning every task, as updateTaskCounts did before
+     * TaskStatistics; kept as a reference point for the counters.
+     */
+    @Benchmark
+    public void taskCountsByScan(StoreState store, Blackhole blackhole) {
+        int total = 0;
+        int completed = 0;
+        int delayed = 0;
+        int upcoming = 0;
+        LocalDate weekAhead = today.plusDays(7);
+        for (Task task : store.taskManager.getAllTasks()) {
+            total++;
+            if (task.getStatus() == Status.COMPLETED) {
+                completed++;
+            } else if (task.getDeadline() != null && task.getDeadline().isAfter(today)
+                    && task.getDeadline().isBefore(weekAhead)) {
+                upcoming++;
+            }
+            if (task.getStatus() == Status.DELAYED) {
+                delayed++;
+            }
+        }
+        blackhole.consume(total);
+        blackhole.consume(completed);
+        blackhole.consume(delayed);
+        blackhole.consume(upcoming);
+    }
+}
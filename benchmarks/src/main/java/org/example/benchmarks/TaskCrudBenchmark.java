@@ -0,0 +1,122 @@
+package org.example.benchmarks;
+
+import org.example.model.Status;
+import org.example.model.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-task changes: addTask, updateTask, deleteTask and generateTaskId.
+ *
+ * <p>Adds and deletes are timed in batches of {@link #BATCH}, so the store can be put back
+ * to its original size between iterations; their scores are the time per batch.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Thread)
+public class TaskCrudBenchmark {
+    static final int BATCH = 1000;
+
+    private final Random random = new Random(7);
+    private final LocalDate today = LocalDate.now();
+
+    /**
+     * Tasks to add in one iteration; they are deleted again after it.
+     */
+    @State(Scope.Thread)
+    public static class Additions {
+        Task[] tasks = new Task[BATCH];
+        int count;
+
+        @Setup(Level.Iteration)
+        public void generate() {
+            Random random = new Random(1);
+            for (int i = 0; i < BATCH; i++) {
+                tasks[i] = TaskData.task(0, random, LocalDate.now());
+            }
+            count = 0;
+        }
+
+        @TearDown(Level.Iteration)
+        public void deleteAdded(StoreState store) {
+            for (int i = 0; i < count; i++) {
+                store.taskManager.deleteTask(tasks[i].getId());
+            }
+        }
+    }
+
+    /**
+     * Tasks added before an iteration, for it to delete.
+     */
+    @State(Scope.Thread)
+    public static class Deletions {
+        int[] ids = new int[BATCH];
+        int next;
+
+        @Setup(Level.Iteration)
+        public void addTasks(StoreState store) {
+            Random random = new Random(2);
+            for (int i = 0; i < BATCH; i++) {
+                Task task = TaskData.task(store.taskManager.generateTaskId(), random, LocalDate.now());
+                store.taskManager.addTask(task);
+                ids[i] = task.getId();
+            }
+            next = 0;
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 5, batchSize = BATCH)
+    @Measurement(iterations = 10, batchSize = BATCH)
+    public void addTask(StoreState store, Additions additions) {
+        Task task = additions.tasks[additions.count++];
+        task.setId(store.taskManager.generateTaskId());
+        store.taskManager.addTask(task);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 5, batchSize = BATCH)
+    @Measurement(iterations = 10, batchSize = BATCH)
+    public void deleteTask(StoreState store, Deletions deletions) {
+        store.taskManager.deleteTask(deletions.ids[deletions.next++]);
+    }
+
+    /**
+     * Updates a random task, moving it to another category, priority, deadline and status,
+     * as the edit dialog does.
+     */
+    @Benchmark
+    public void updateTask(StoreState store) {
+        int id = 1 + random.nextInt(store.storeSize);
+        Task task = store.taskManager.findTask(id);
+        Status status = task.getStatus() == Status.IN_PROGRESS ? Status.OPEN : Status.IN_PROGRESS;
+        store.taskManager.updateTask(id, task.getTitle(), task.getDescription(),
+                TaskData.CATEGORIES.get(random.nextInt(TaskData.CATEGORIES.size())),
+                TaskData.PRIORITIES.get(random.nextInt(TaskData.PRIORITIES.size())),
+                today.plusDays(random.nextInt(365)), status);
+    }
+
+    @Benchmark
+    public int generateTaskId(StoreState store) {
+        return store.taskManager.generateTaskId();
+    }
+}
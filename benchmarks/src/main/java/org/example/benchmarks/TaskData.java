@@ -0,0 +1,95 @@
+package org.example.benchmarks;
+
+import org.example.model.Reminder;
+import org.example.model.Status;
+import org.example.model.Task;
+import org.example.utils.JSONHandler;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates synthetic task stores for the benchmarks.
+ *
+ * <p>A store of a given size is always the same: task IDs run from 1 to the size, and titles,
+ * descriptions, categories, priorities, deadlines and statuses are drawn from a fixed seed.
+ * Deadlines fall between a month ago and eleven months ahead, a quarter of the tasks have a
+ * reminder, and one task in ten is completed, so every index and counter has work to do.</p>
+ */
+public final class TaskData {
+    public static final List<String> CATEGORIES = List.of(
+            "Work", "Personal", "Study", "Health", "Finance", "Home", "Travel", "Other");
+    public static final List<String> PRIORITIES = List.of("Default", "Low", "Medium", "High");
+
+    /**
+     * Words used for titles and descriptions; the benchmarks search for some of them.
+     */
+    public static final String[] WORDS = {
+            "report", "meeting", "invoice", "review", "draft", "budget", "design", "release",
+            "groceries", "dentist", "flight", "hotel", "exam", "lecture", "thesis", "garden",
+            "insurance", "taxes", "backup", "server", "client", "contract", "presentation", "workout",
+            "birthday", "renovation", "payment", "schedule", "interview", "migration", "newsletter", "quarterly"
+    };
+
+    private static final long SEED = 42;
+    private static final String[] REMINDER_TYPES = {"1 day", "1 week", "1 month", "Custom"};
+
+    private TaskData() {
+    }
+
+    /**
+     * Generates a store with the default categories and priority levels.
+     * @param size The number of tasks.
+     * @return The store, ready for {@link JSONHandler#saveData}.
+     */
+    public static JSONHandler.DataWrapper store(int size) {
+        Random random = new Random(SEED);
+        LocalDate today = LocalDate.now();
+        List<Task> tasks = new ArrayList<>(size);
+        int reminderId = 1;
+        for (int id = 1; id <= size; id++) {
+            Task task = task(id, random, today);
+            if (random.nextInt(4) == 0 && task.getStatus() != Status.COMPLETED) {
+                task.getReminders().add(new Reminder(reminderId++, id,
+                        REMINDER_TYPES[random.nextInt(REMINDER_TYPES.length)], task.getDeadline().minusDays(1)));
+            }
+            tasks.add(task);
+        }
+        return new JSONHandler.DataWrapper(tasks, new ArrayList<>(CATEGORIES), new ArrayList<>(PRIORITIES), new ArrayList<>());
+    }
+
+    /**
+     * Generates one task without reminders.
+     * @param id The task ID.
+     * @param random The source of the task's fields.
+     * @param today The day from which deadlines are drawn.
+     */
+    public static Task task(int id, Random random, LocalDate today) {
+        String title = words(random, 2 + random.nextInt(3));
+        String description = words(random, 5 + random.nextInt(10));
+        String category = CATEGORIES.get(random.nextInt(CATEGORIES.size()));
+        String priority = PRIORITIES.get(random.nextInt(PRIORITIES.size()));
+        LocalDate deadline = today.plusDays(random.nextInt(365) - 30);
+        Task task = new Task(id, title, description, category, priority, deadline);
+        int roll = random.nextInt(10);
+        if (roll == 0) {
+            task.setStatus(Status.COMPLETED);
+        } else if (roll == 1 && task.getStatus() == Status.OPEN) {
+            task.setStatus(Status.IN_PROGRESS);
+        }
+        return task;
+    }
+
+    private static String words(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+}
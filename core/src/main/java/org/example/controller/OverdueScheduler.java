@@ -0,0 +1,101 @@
+package org.example.controller;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Marks tasks as "Delayed" when their deadline passes, also during a long-running session.
+ * A check runs at every local midnight on a background thread and calls
+ * {@link TaskManager#markOverdueTasks(LocalDate)}, which only looks at the deadlines
+ * that passed since the previous check. The changes are persisted in one batch and
+ * reported through the TaskManager's change events.
+ */
+public class OverdueScheduler {
+    private final TaskManager taskManager;
+    private final Clock clock;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "overdue-scheduler");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile Consumer<LocalDate> dayChangeListener;
+
+    /**
+     * Constructs a scheduler that uses the system clock and time zone.
+     * @param taskManager The tasks to check.
+     */
+    public OverdueScheduler(TaskManager taskManager) {
+        this(taskManager, Clock.systemDefaultZone());
+    }
+
+    /**
+     * Constructs a scheduler with a specific clock.
+     * @param taskManager The tasks to check.
+     * @param clock The clock that defines the current day and when midnight is.
+     */
+    public OverdueScheduler(TaskManager taskManager, Clock clock) {
+        this.taskManager = taskManager;
+        this.clock = clock;
+    }
+
+    /**
+     * Sets a callback that runs on the scheduler thread after each midnight check,
+     * e.g. to move day-based counters forward.
+     * @param listener Receives the new day, or null to remove the callback.
+     */
+    public void setDayChangeListener(Consumer<LocalDate> listener) {
+        this.dayChangeListener = listener;
+    }
+
+    /**
+     * Marks the tasks that are overdue today on the calling thread.
+     * @return The number of tasks that were marked.
+     */
+    public int checkNow() {
+        return taskManager.markOverdueTasks(LocalDate.now(clock));
+    }
+
+    /**
+     * Schedules the check for the next midnight. Each run schedules the following one,
+     * so days of different lengths (DST changes) are handled.
+     */
+    public void start() {
+        scheduleNext();
+    }
+
+    /**
+     * Stops the scheduler. Pending checks are cancelled.
+     */
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    private void scheduleNext() {
+        ZonedDateTime now = ZonedDateTime.now(clock);
+        ZonedDateTime midnight = now.toLocalDate().plusDays(1).atStartOfDay(now.getZone());
+        long delay = Math.max(0, Duration.between(now, midnight).toMillis());
+        executor.schedule(this::runCheck, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void runCheck() {
+        try {
+            checkNow();
+            Consumer<LocalDate> listener = dayChangeListener;
+            if (listener != null) {
+                listener.accept(LocalDate.now(clock));
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Error checking overdue tasks: " + e.getMessage());
+        } finally {
+            if (!executor.isShutdown()) {
+                scheduleNext();
+            }
+        }
+    }
+}
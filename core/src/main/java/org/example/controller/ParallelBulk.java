@@ -0,0 +1,84 @@
+package org.example.controller;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntConsumer;
+
+/**
+ * Runs the per-task work of bulk operations on a {@link ForkJoinPool}.
+ * The work is split into slices of consecutive indexes, so the caller can collect results
+ * into arrays without locking. Small operations run on the calling thread, where handing
+ * the work to the pool would cost more than it saves.
+ */
+final class ParallelBulk {
+    static final int SLICE = 2048; // Smallest number of tasks handed to a worker
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructs a bulk runner.
+     * @param pool The pool to split large operations across.
+     */
+    ParallelBulk(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Calls an action for every index in [0, size) and waits until all calls are done.
+     * Calls may run concurrently, in any order.
+     * @param size The number of indexes.
+     * @param action The action. If a call throws, the remaining slices are skipped and
+     *               the first exception is rethrown here as it was thrown.
+     */
+    void forEach(int size, IntConsumer action) {
+        if (size <= SLICE || pool.getParallelism() <= 1) {
+            for (int i = 0; i < size; i++) {
+                action.accept(i);
+            }
+            return;
+        }
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        pool.invoke(new Slice(0, size, action, failure));
+        RuntimeException thrown = failure.get();
+        if (thrown != null) {
+            throw thrown;
+        }
+    }
+
+    /**
+     * A range of indexes that halves itself until it is small enough to run.
+     */
+    private static final class Slice extends RecursiveAction {
+        private final int from;
+        private final int to;
+        private final IntConsumer action;
+        private final AtomicReference<RuntimeException> failure;
+
+        Slice(int from, int to, IntConsumer action, AtomicReference<RuntimeException> failure) {
+            this.from = from;
+            this.to = to;
+            this.action = action;
+            this.failure = failure;
+        }
+
+        @Override
+        protected void compute() {
+            if (failure.get() != null) {
+                return;
+            }
+            if (to - from <= SLICE) {
+                try {
+                    for (int i = from; i < to; i++) {
+                        action.accept(i);
+                    }
+                } catch (RuntimeException e) {
+                    failure.compareAndSet(null, e);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new Slice(from, middle, action, failure), new Slice(middle, to, action, failure));
+        }
+    }
+}
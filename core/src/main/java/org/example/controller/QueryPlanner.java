@@ -0,0 +1,348 @@
+package org.example.controller;
+
+import org.example.model.Symbol;
+import org.example.model.SymbolTable;
+import org.example.model.Task;
+import org.example.utils.IntObjectMap;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Runs {@link TaskQuery}s against the indexes of a {@link TaskManager}.
+ *
+ * <p>Every condition of a query can be answered by an index: category, priority, status and
+ * deadline by {@link TaskIndex}, text by {@link TextIndex}. Their sizes are known without
+ * reading any task, so the planner estimates the cost of starting from each of them: the
+ * tasks read from that index, plus sorting if the index does not produce the requested order.
+ * For deadline order the deadline index is also considered without a deadline condition.
+ * Conditions are assumed to be independent, so with a limit and an index in the right order
+ * only about limit / (selectivity of the other conditions) tasks have to be read. The
+ * cheapest index drives the query. Its tasks are checked against the other conditions, which
+ * is the intersection with the other indexes done by comparing fields (and, for text, by the
+ * task's terms), and reading stops as soon as the limit is reached in the requested order.</p>
+ *
+ * <p>A planner must only be used while holding the TaskManager's read or write lock.</p>
+ */
+class QueryPlanner {
+    private static final double TEXT_CHECK_COST = 4; // Checking a task's terms, relative to comparing fields
+
+    /**
+     * Where a plan starts reading tasks.
+     */
+    private enum Kind { ALL, DEADLINE_ORDER, CATEGORY, PRIORITY, STATUS, DEADLINE, TEXT }
+
+    private final TaskSnapshot tasks;
+    private final TaskIndex index;
+    private final TextIndex textIndex;
+    private final SymbolTable categorySymbols;
+    private final SymbolTable prioritySymbols;
+
+    QueryPlanner(TaskSnapshot tasks, TaskIndex index, TextIndex textIndex,
+                 SymbolTable categorySymbols, SymbolTable prioritySymbols) {
+        this.tasks = tasks;
+        this.index = index;
+        this.textIndex = textIndex;
+        this.categorySymbols = categorySymbols;
+        this.prioritySymbols = prioritySymbols;
+    }
+
+    /**
+     * Returns the tasks that match a query, in the query's order and up to its limit.
+     */
+    List<Task> find(TaskQuery query) {
+        return plan(query).execute();
+    }
+
+    /**
+     * Returns the number of tasks that match a query, up to its limit.
+     * A query with one condition other than text is answered from the index size alone.
+     */
+    int count(TaskQuery query) {
+        Plan plan = plan(query);
+        if (plan.empty) {
+            return 0;
+        }
+        if (plan.sources.size() == 1 && plan.sources.get(0).kind != Kind.TEXT) {
+            return (int) Math.min(query.getLimit(), plan.sources.get(0).size);
+        }
+        return plan.execute().size();
+    }
+
+    /**
+     * Describes how a query would be run, e.g. for logging slow queries.
+     */
+    String explain(TaskQuery query) {
+        return plan(query).toString();
+    }
+
+    private Plan plan(TaskQuery query) {
+        Plan plan = new Plan(query);
+        List<Source> sources = plan.sources;
+        if (query.getCategory() != null) {
+            plan.categories = categorySymbols.findIgnoreCase(query.getCategory());
+            List<IntObjectMap<Task>> buckets = index.categoryBuckets(plan.categories);
+            sources.add(new Source(Kind.CATEGORY, buckets, count(buckets)));
+        }
+        if (query.getPriority() != null) {
+            plan.priorities = prioritySymbols.findIgnoreCase(query.getPriority());
+            List<IntObjectMap<Task>> buckets = index.priorityBuckets(plan.priorities);
+            sources.add(new Source(Kind.PRIORITY, buckets, count(buckets)));
+        }
+        if (query.getStatuses() != null) {
+            List<IntObjectMap<Task>> buckets = index.statusBuckets(query.getStatuses());
+            sources.add(new Source(Kind.STATUS, buckets, count(buckets)));
+        }
+        if (query.hasDeadlineRange()) {
+            Collection<IntObjectMap<Task>> buckets = index.deadlineBuckets(query.getDueFrom(), query.getDueTo());
+            sources.add(new Source(Kind.DEADLINE, buckets, count(buckets)));
+        }
+        if (query.getText() != null) {
+            TextIndex.Matcher matcher = textIndex.matcher(query.getText());
+            if (matcher.hasWords()) {
+                plan.matcher = matcher;
+                sources.add(new Source(Kind.TEXT, null, matcher.estimate()));
+            }
+        }
+        plan.empty = query.getLimit() == 0;
+        for (Source source : sources) {
+            plan.empty |= source.size == 0;
+        }
+
+        // Pick the cheapest place to start
+        double n = Math.max(1, tasks.size());
+        Source all = new Source(Kind.ALL, Collections.singletonList(tasks), tasks.size());
+        plan.driver = all;
+        plan.cost = cost(plan, all, n);
+        List<Source> candidates = new ArrayList<>(sources);
+        if (query.getSort() == TaskQuery.Sort.DEADLINE && !query.hasDeadlineRange()) {
+            // All tasks in deadline order: the deadline index, then the tasks without a deadline
+            candidates.add(new Source(Kind.DEADLINE_ORDER, index.deadlineBuckets(null, null), tasks.size()));
+        }
+        for (Source source : candidates) {
+            double cost = cost(plan, source, n);
+            if (cost < plan.cost) {
+                plan.driver = source;
+                plan.cost = cost;
+            }
+        }
+        return plan;
+    }
+
+    /**
+     * Estimates the work of running a plan from a source, in tasks read.
+     */
+    private static double cost(Plan plan, Source driver, double n) {
+        double otherSelectivity = 1;
+        for (Source source : plan.sources) {
+            if (source != driver) {
+                otherSelectivity *= Math.min(1, source.size / n);
+            }
+        }
+        double matches = driver.size * otherSelectivity;
+        boolean ordered = plan.isOrderedBy(driver);
+        double read = driver.size;
+        if (ordered && plan.query.getLimit() < matches) {
+            read = Math.min(read, plan.query.getLimit() / Math.max(otherSelectivity, 1 / n));
+        }
+        boolean checksText = plan.matcher != null;
+        double cost = read * (checksText ? TEXT_CHECK_COST : 1);
+        if (!ordered) {
+            cost += matches * Math.log(matches + 1) / Math.log(2);
+        }
+        return cost;
+    }
+
+    private static long count(Collection<IntObjectMap<Task>> buckets) {
+        long count = 0;
+        for (IntObjectMap<Task> bucket : buckets) {
+            count += bucket.size();
+        }
+        return count;
+    }
+
+    /**
+     * An index that can produce the candidates of a query condition.
+     */
+    private static final class Source {
+        private final Kind kind;
+        private final Collection<? extends Iterable<Task>> buckets; // Null for text
+        private final long size;
+
+        Source(Kind kind, Collection<? extends Iterable<Task>> buckets, long size) {
+            this.kind = kind;
+            this.buckets = buckets;
+            this.size = size;
+        }
+    }
+
+    /**
+     * A query with its conditions resolved against the indexes and the source chosen to drive it.
+     */
+    private final class Plan {
+        private final TaskQuery query;
+        private final List<Source> sources = new ArrayList<>();
+        private List<Symbol> categories;
+        private List<Symbol> priorities;
+        private TextIndex.Matcher matcher;
+        private boolean empty;
+        private Source driver;
+        private double cost;
+
+        Plan(TaskQuery query) {
+            this.query = query;
+        }
+
+        /**
+         * Returns whether reading a source yields the requested order, so reading can stop at the limit.
+         */
+        boolean isOrderedBy(Source source) {
+            switch (query.getSort()) {
+                case NONE:
+                    return true;
+                case DEADLINE:
+                    return source.kind == Kind.DEADLINE || source.kind == Kind.DEADLINE_ORDER;
+                case RELEVANCE:
+                    return source.kind == Kind.TEXT;
+                default:
+                    return false;
+            }
+        }
+
+        /**
+         * Checks the conditions that can be decided from the task's fields.
+         */
+        boolean matchesFields(Task task) {
+            if (categories != null && !categories.contains(task.getCategorySymbol())) {
+                return false;
+            }
+            if (priorities != null && !priorities.contains(task.getPrioritySymbol())) {
+                return false;
+            }
+            if (query.getStatuses() != null && !query.getStatuses().contains(task.getStatus())) {
+                return false;
+            }
+            if (query.hasDeadlineRange()) {
+                if (task.getDeadline() == null
+                        || (query.getDueFrom() != null && task.getDeadline().isBefore(query.getDueFrom()))
+                        || (query.getDueTo() != null && !task.getDeadline().isBefore(query.getDueTo()))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        List<Task> execute() {
+            if (empty) {
+                return new ArrayList<>();
+            }
+            int limit = query.getLimit();
+            Predicate<Task> fields = this::matchesFields;
+            if (driver.kind == Kind.TEXT) {
+                if (isOrderedBy(driver)) {
+                    return textIndex.search(matcher, fields, limit);
+                }
+                return sortAndLimit(textIndex.search(matcher, fields, Integer.MAX_VALUE), null);
+            }
+
+            boolean ordered = isOrderedBy(driver);
+            List<Task> result = new ArrayList<>();
+            List<Double> scores = matcher != null && query.getSort() == TaskQuery.Sort.RELEVANCE ? new ArrayList<>() : null;
+            for (Iterable<Task> bucket : driver.buckets) {
+                int bucketStart = result.size();
+                for (Task task : bucket) {
+                    if (!matchesFields(task)) {
+                        continue;
+                    }
+                    if (matcher != null) {
+                        double score = matcher.score(task.getId());
+                        if (score < 0) {
+                            continue;
+                        }
+                        if (scores != null) {
+                            scores.add(score);
+                        }
+                    }
+                    result.add(task);
+                }
+                if (ordered && (driver.kind == Kind.DEADLINE || driver.kind == Kind.DEADLINE_ORDER)) {
+                    // Tasks due on the same day are ordered by ID
+                    result.subList(bucketStart, result.size()).sort(Comparator.comparingInt(Task::getId));
+                }
+                if (ordered && result.size() >= limit) {
+                    return new ArrayList<>(result.subList(0, limit));
+                }
+            }
+            if (driver.kind == Kind.DEADLINE_ORDER) {
+                // The limit was not reached; the tasks without a deadline come last
+                int start = result.size();
+                for (Task task : tasks) {
+                    if (task.getDeadline() == null && matchesFields(task)
+                            && (matcher == null || matcher.score(task.getId()) >= 0)) {
+                        result.add(task);
+                    }
+                }
+                result.subList(start, result.size()).sort(Comparator.comparingInt(Task::getId));
+                return limit(result);
+            }
+            return ordered ? result : sortAndLimit(result, scores);
+        }
+
+        /**
+         * Sorts the matches in the requested order and applies the limit.
+         * @param scores The text scores of the matches for relevance order, or null.
+         */
+        private List<Task> sortAndLimit(List<Task> matches, List<Double> scores) {
+            Comparator<Task> order;
+            switch (query.getSort()) {
+                case DEADLINE:
+                    order = Comparator.comparing(Task::getDeadline, Comparator.nullsLast(Comparator.naturalOrder()));
+                    break;
+                case TITLE:
+                    order = Comparator.comparing(Task::getTitle, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER));
+                    break;
+                case RELEVANCE:
+                    if (scores != null) {
+                        IntObjectMap<Double> byId = new IntObjectMap<>(matches.size());
+                        for (int i = 0; i < matches.size(); i++) {
+                            byId.put(matches.get(i).getId(), scores.get(i));
+                        }
+                        order = Comparator.comparingDouble((Task task) -> byId.get(task.getId())).reversed();
+                    } else {
+                        order = (a, b) -> 0;
+                    }
+                    break;
+                default:
+                    return limit(matches);
+            }
+            matches.sort(order.thenComparingInt(Task::getId));
+            return limit(matches);
+        }
+
+        private List<Task> limit(List<Task> matches) {
+            return matches.size() <= query.getLimit() ? matches : new ArrayList<>(matches.subList(0, query.getLimit()));
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder result = new StringBuilder(query.toString()).append(": ");
+            if (empty) {
+                return result.append("empty result").toString();
+            }
+            result.append("read ").append(driver.kind).append(" (").append(driver.size).append(" tasks)");
+            for (Source source : sources) {
+                if (source != driver) {
+                    result.append(", check ").append(source.kind).append(" (").append(source.size).append(')');
+                }
+            }
+            if (!isOrderedBy(driver)) {
+                result.append(", sort");
+            }
+            return result.append(String.format(", estimated cost %.0f", cost)).toString();
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package org.example.controller;
+
+import org.example.model.Reminder;
+import org.example.model.Task;
+import org.example.utils.IntObjectMap;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Indexes the reminders of all tasks of a {@link TaskManager}: by reminder ID, by task,
+ * by (task, date) for duplicate checks, and by date for ordered listing.
+ * Like {@link TaskIndex}, it reads the reminder fields, so a reminder must be removed before
+ * its date changes and added back afterwards. TaskManager takes care of this.
+ */
+class ReminderIndex {
+    private final IntObjectMap<Reminder> byId = new IntObjectMap<>();
+    private final IntObjectMap<IntObjectMap<Reminder>> byTask = new IntObjectMap<>();
+    private final NavigableMap<LocalDate, IntObjectMap<Reminder>> byDate = new TreeMap<>();
+    private final IntObjectMap<Reminder> undated = new IntObjectMap<>();
+    private final Map<Long, Integer> taskDates = new HashMap<>(); // (task ID, epoch day) -> number of reminders
+
+    /**
+     * Adds all reminders of a task.
+     */
+    void addAll(Task task) {
+        for (Reminder reminder : task.getReminders()) {
+            add(task.getId(), reminder);
+        }
+    }
+
+    /**
+     * Removes all indexed reminders of a task.
+     */
+    void removeAll(int taskId) {
+        IntObjectMap<Reminder> reminders = byTask.get(taskId);
+        if (reminders != null) {
+            for (Reminder reminder : reminders.values()) {
+                remove(taskId, reminder);
+            }
+        }
+    }
+
+    /**
+     * Adds a reminder of a task.
+     */
+    void add(int taskId, Reminder reminder) {
+        byId.put(reminder.getId(), reminder);
+        IntObjectMap<Reminder> forTask = byTask.get(taskId);
+        if (forTask == null) {
+            forTask = new IntObjectMap<>();
+            byTask.put(taskId, forTask);
+        }
+        forTask.put(reminder.getId(), reminder);
+        LocalDate date = reminder.getReminderDate();
+        if (date == null) {
+            undated.put(reminder.getId(), reminder);
+        } else {
+            byDate.computeIfAbsent(date, k -> new IntObjectMap<>()).put(reminder.getId(), reminder);
+            taskDates.merge(taskDateKey(taskId, date), 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Removes a reminder of a task. Must be called before the reminder's date changes.
+     */
+    void remove(int taskId, Reminder reminder) {
+        byId.remove(reminder.getId());
+        IntObjectMap<Reminder> forTask = byTask.get(taskId);
+        if (forTask != null) {
+            forTask.remove(reminder.getId());
+            if (forTask.isEmpty()) {
+                byTask.remove(taskId);
+            }
+        }
+        LocalDate date = reminder.getReminderDate();
+        if (date == null) {
+            undated.remove(reminder.getId());
+        } else {
+            IntObjectMap<Reminder> bucket = byDate.get(date);
+            if (bucket != null) {
+                bucket.remove(reminder.getId());
+                if (bucket.isEmpty()) {
+                    byDate.remove(date);
+                }
+            }
+            taskDates.computeIfPresent(taskDateKey(taskId, date), (k, count) -> count == 1 ? null : count - 1);
+        }
+    }
+
+    /**
+     * Removes all entries.
+     */
+    void clear() {
+        byId.clear();
+        byTask.clear();
+        byDate.clear();
+        undated.clear();
+        taskDates.clear();
+    }
+
+    Reminder get(int reminderId) {
+        return byId.get(reminderId);
+    }
+
+    int size() {
+        return byId.size();
+    }
+
+    /**
+     * Returns the reminders of a task in the order they were added.
+     */
+    List<Reminder> forTask(int taskId) {
+        IntObjectMap<Reminder> reminders = byTask.get(taskId);
+        return reminders == null ? new ArrayList<>() : reminders.values();
+    }
+
+    /**
+     * Returns whether a task has a reminder on this date.
+     */
+    boolean hasReminderOn(int taskId, LocalDate date) {
+        return taskDates.containsKey(taskDateKey(taskId, date));
+    }
+
+    /**
+     * Returns all reminders in {@link Reminder#BY_DATE} order.
+     */
+    List<Reminder> inDateOrder() {
+        List<Reminder> result = new ArrayList<>(byId.size());
+        for (IntObjectMap<Reminder> bucket : byDate.values()) {
+            addSorted(result, bucket);
+        }
+        addSorted(result, undated);
+        return result;
+    }
+
+    /**
+     * Returns the reminders dated in [from, to), in {@link Reminder#BY_DATE} order.
+     */
+    List<Reminder> between(LocalDate from, LocalDate to) {
+        List<Reminder> result = new ArrayList<>();
+        if (from.isBefore(to)) {
+            for (IntObjectMap<Reminder> bucket : byDate.subMap(from, true, to, false).values()) {
+                addSorted(result, bucket);
+            }
+        }
+        return result;
+    }
+
+    private static void addSorted(List<Reminder> result, IntObjectMap<Reminder> bucket) {
+        List<Reminder> reminders = bucket.values();
+        reminders.sort(Comparator.comparingInt(Reminder::getId)); // Buckets hold one day, so they are small
+        result.addAll(reminders);
+    }
+
+    private static long taskDateKey(int taskId, LocalDate date) {
+        return ((long) taskId << 32) | (date.toEpochDay() & 0xFFFFFFFFL);
+    }
+}
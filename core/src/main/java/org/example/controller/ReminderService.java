@@ -0,0 +1,347 @@
+package org.example.controller;
+
+import org.example.model.Reminder;
+import org.example.model.Status;
+import org.example.model.Task;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Delivers reminders to the registered {@link ReminderSink}s when their date arrives.
+ *
+ * <p>Pending reminders are kept in one bucket per day, in a sorted map that a dedicated
+ * thread drains: when a day starts, all of its reminders are delivered. The service follows
+ * the TaskManager's change events: when a task changes, reminders whose date changed move to
+ * their new day, removed ones are unlinked from theirs, and unchanged ones stay where they
+ * are. Both are O(1) hash operations plus O(log d) for the d scheduled days, and nothing is
+ * left behind, so the schedule holds exactly the pending reminders however often tasks change.</p>
+ *
+ * <p>The last day whose reminders were all delivered is persisted. On start, reminders
+ * dated after that day and up to today are delivered right away, so reminders that came
+ * due while the application was closed are not lost. On the very first start only
+ * today's reminders are caught up.</p>
+ *
+ * <p>Locks are always taken in the order TaskManager, then service, matching the order in
+ * which change events arrive: events are published while the TaskManager keeps the changed
+ * tasks locked, and {@link #start()} keeps every task locked while it schedules.</p>
+ */
+public class ReminderService implements TaskChangeListener {
+    private final TaskManager taskManager;
+    private final Clock clock;
+    private final List<ReminderSink> sinks = new CopyOnWriteArrayList<>();
+
+    // Guarded by this
+    private final TreeMap<LocalDate, Map<Integer, Scheduled>> byDate = new TreeMap<>(); // Day -> its reminders by ID
+    private final Map<Integer, Scheduled> scheduled = new HashMap<>();     // Reminder ID -> schedule entry
+    private final Map<Integer, int[]> reminderIdsByTask = new HashMap<>(); // Task ID -> scheduled reminder IDs
+    private final TreeMap<LocalDate, Set<Integer>> delivered = new TreeMap<>(); // Day -> reminder IDs delivered in this run
+    private LocalDate watermark;                                          // Last day fully delivered
+
+    private Thread dispatchThread;
+
+    /**
+     * Constructs a service that uses the system clock and time zone.
+     * @param taskManager The tasks whose reminders are delivered.
+     */
+    public ReminderService(TaskManager taskManager) {
+        this(taskManager, Clock.systemDefaultZone());
+    }
+
+    /**
+     * Constructs a service with a specific clock.
+     * @param taskManager The tasks whose reminders are delivered.
+     * @param clock The clock that defines when a reminder date starts.
+     */
+    public ReminderService(TaskManager taskManager, Clock clock) {
+        this.taskManager = taskManager;
+        this.clock = clock;
+    }
+
+    /**
+     * Adds a sink that receives due reminders.
+     * @param sink The sink.
+     */
+    public void addSink(ReminderSink sink) {
+        sinks.add(sink);
+    }
+
+    /**
+     * Removes a sink.
+     * @param sink The sink.
+     */
+    public void removeSink(ReminderSink sink) {
+        sinks.remove(sink);
+    }
+
+    /**
+     * Schedules the reminders of all tasks, delivers the ones missed since the last run
+     * and starts the dispatch thread.
+     */
+    public void start() {
+        // No task can change between registering the listener and scheduling the current reminders
+        taskManager.runExclusively(() -> {
+            synchronized (this) {
+                if (dispatchThread != null) {
+                    return;
+                }
+                watermark = taskManager.getStorage().loadReminderWatermark();
+                if (watermark == null) {
+                    watermark = LocalDate.now(clock).minusDays(1);
+                }
+                taskManager.addChangeListener(this);
+                scheduleAll();
+                dispatchThread = new Thread(this::dispatchLoop, "reminder-dispatch");
+                dispatchThread.setDaemon(true);
+                dispatchThread.start();
+            }
+        });
+    }
+
+    /**
+     * Stops the dispatch thread and stops following task changes.
+     */
+    public synchronized void stop() {
+        taskManager.removeChangeListener(this);
+        if (dispatchThread != null) {
+            dispatchThread.interrupt();
+            dispatchThread = null;
+        }
+        byDate.clear();
+        scheduled.clear();
+        reminderIdsByTask.clear();
+        delivered.clear();
+    }
+
+    /**
+     * Returns the number of reminders waiting to be delivered.
+     */
+    public synchronized int getPendingCount() {
+        return scheduled.size();
+    }
+
+    @Override
+    public void tasksChanged(TaskChangeEvent event) {
+        if (event.getType() == TaskChangeEvent.Type.RELOADED) {
+            synchronized (this) {
+                byDate.clear();
+                scheduled.clear();
+                reminderIdsByTask.clear();
+                scheduleAll();
+            }
+            return;
+        }
+        // Called while the TaskManager keeps these tasks locked, so they can be read directly
+        for (int taskId : event.getTaskIds()) {
+            schedule(taskId, taskManager.findTask(taskId), false);
+        }
+    }
+
+    private synchronized void scheduleAll() {
+        for (Task task : taskManager.getAllTasks()) {
+            schedule(task.getId(), task, true);
+        }
+    }
+
+    /**
+     * Brings the scheduled reminders of one task up to date. Reminders whose date did not
+     * change keep their entry, so a change that does not touch the reminders costs no
+     * rescheduling; the others are unlinked from their day at once.
+     * @param task The task, or null if it was removed.
+     * @param initial True when scheduling at start, where everything up to the watermark was delivered before.
+     */
+    private synchronized void schedule(int taskId, Task task, boolean initial) {
+        int[] previous = reminderIdsByTask.remove(taskId);
+        int[] ids = new int[task == null ? 0 : task.getReminders().size()];
+        int count = 0;
+        if (task != null && task.getStatus() != Status.COMPLETED) {
+            LocalDate today = LocalDate.now(clock);
+            for (Reminder reminder : task.getReminders()) {
+                LocalDate date = reminder.getReminderDate();
+                if (date == null || wasDelivered(reminder.getId(), date)) {
+                    continue;
+                }
+                // Days up to the watermark were delivered in an earlier run. A reminder added today
+                // for today is still delivered, even if today's other reminders have already been.
+                boolean pastWatermark = !date.isAfter(watermark);
+                if (pastWatermark && (initial || date.isBefore(today))) {
+                    continue;
+                }
+                Scheduled existing = scheduled.get(reminder.getId());
+                if (existing == null || existing.taskId != taskId || !existing.date.equals(date)) {
+                    if (existing != null) {
+                        unlink(existing);
+                    }
+                    link(new Scheduled(reminder.getId(), taskId, date));
+                }
+                ids[count++] = reminder.getId();
+            }
+        }
+        if (previous != null) {
+            for (int reminderId : previous) {
+                Scheduled old = scheduled.get(reminderId);
+                if (old != null && old.taskId == taskId && !contains(ids, count, reminderId)) {
+                    unlink(old);
+                }
+            }
+        }
+        if (count > 0) {
+            reminderIdsByTask.put(taskId, count == ids.length ? ids : Arrays.copyOf(ids, count));
+        }
+    }
+
+    private static boolean contains(int[] ids, int count, int id) {
+        for (int i = 0; i < count; i++) {
+            if (ids[i] == id) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean wasDelivered(int reminderId, LocalDate date) {
+        Set<Integer> ids = delivered.get(date);
+        return ids != null && ids.contains(reminderId);
+    }
+
+    private void link(Scheduled entry) {
+        scheduled.put(entry.reminderId, entry);
+        byDate.computeIfAbsent(entry.date, date -> new LinkedHashMap<>()).put(entry.reminderId, entry);
+        if (byDate.firstKey().equals(entry.date)) {
+            notifyAll(); // The dispatch thread may be waiting for a later day
+        }
+    }
+
+    private void unlink(Scheduled entry) {
+        scheduled.remove(entry.reminderId);
+        Map<Integer, Scheduled> day = byDate.get(entry.date);
+        day.remove(entry.reminderId);
+        if (day.isEmpty()) {
+            byDate.remove(entry.date);
+        }
+    }
+
+    private void dispatchLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            DueDay due;
+            try {
+                due = takeDue();
+            } catch (InterruptedException e) {
+                return;
+            }
+            for (Scheduled reminder : due.reminders) {
+                deliver(reminder);
+            }
+            advanceWatermark(due.date);
+        }
+    }
+
+    /**
+     * Waits until the earliest scheduled day starts, then takes all of its reminders off the schedule.
+     */
+    private synchronized DueDay takeDue() throws InterruptedException {
+        while (true) {
+            if (byDate.isEmpty()) {
+                wait();
+                continue;
+            }
+            LocalDate date = byDate.firstKey();
+            long delay = date.atStartOfDay(clock.getZone()).toInstant().toEpochMilli() - clock.millis();
+            if (delay > 0) {
+                wait(delay);
+                continue;
+            }
+            Collection<Scheduled> reminders = byDate.pollFirstEntry().getValue().values();
+            Set<Integer> deliveredIds = delivered.computeIfAbsent(date, day -> new HashSet<>());
+            for (Scheduled reminder : reminders) {
+                scheduled.remove(reminder.reminderId);
+                deliveredIds.add(reminder.reminderId);
+            }
+            return new DueDay(date, new ArrayList<>(reminders));
+        }
+    }
+
+    private void deliver(Scheduled due) {
+        // Look the reminder up again; it may have changed since it was scheduled.
+        List<Task> copies = taskManager.copyTasks(new int[]{due.taskId}, 0, 1);
+        if (copies.isEmpty() || copies.get(0).getStatus() == Status.COMPLETED) {
+            return;
+        }
+        Task copy = copies.get(0);
+        Reminder reminder = null;
+        for (Reminder candidate : copy.getReminders()) {
+            if (candidate.getId() == due.reminderId) {
+                reminder = candidate;
+            }
+        }
+        if (reminder == null) {
+            return;
+        }
+        for (ReminderSink sink : sinks) {
+            try {
+                sink.reminderDue(copy, reminder);
+            } catch (RuntimeException e) {
+                System.err.println("Error delivering reminder: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Moves the persisted watermark to the given day once no reminder of that day or earlier is
+     * scheduled, and forgets the deliveries the watermark now covers.
+     */
+    private void advanceWatermark(LocalDate date) {
+        synchronized (this) {
+            if (!byDate.isEmpty() && !byDate.firstKey().isAfter(date)) {
+                return; // Reminders of this day (or earlier) were added while it was being delivered
+            }
+            if (!date.isAfter(watermark)) {
+                return;
+            }
+            watermark = date;
+            // Reminders up to the watermark and before today are never scheduled again, see schedule()
+            LocalDate today = LocalDate.now(clock);
+            delivered.headMap(watermark.isBefore(today) ? watermark : today.minusDays(1), true).clear();
+        }
+        taskManager.getStorage().saveReminderWatermark(date);
+    }
+
+    /**
+     * A scheduled reminder. Only the IDs are kept; the reminder is looked up again when it fires.
+     */
+    private static final class Scheduled {
+        private final int reminderId;
+        private final int taskId;
+        private final LocalDate date;
+
+        Scheduled(int reminderId, int taskId, LocalDate date) {
+            this.reminderId = reminderId;
+            this.taskId = taskId;
+            this.date = date;
+        }
+    }
+
+    /**
+     * The reminders of one day, taken off the schedule together when the day starts.
+     */
+    private static final class DueDay {
+        private final LocalDate date;
+        private final List<Scheduled> reminders;
+
+        DueDay(LocalDate date, List<Scheduled> reminders) {
+            this.date = date;
+            this.reminders = reminders;
+        }
+    }
+}
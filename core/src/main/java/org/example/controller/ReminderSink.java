@@ -0,0 +1,27 @@
+package org.example.controller;
+
+import org.example.model.Reminder;
+import org.example.model.Task;
+
+/**
+ * Receives reminders when they become due.
+ * Called on the reminder dispatch thread; implementations that touch the UI
+ * must hand the work to the UI thread.
+ */
+@FunctionalInterface
+public interface ReminderSink {
+    /**
+     * Called when a reminder is due.
+     * @param task A copy of the task the reminder belongs to.
+     * @param reminder The reminder.
+     */
+    void reminderDue(Task task, Reminder reminder);
+
+    /**
+     * Returns a sink that writes due reminders to standard output.
+     */
+    static ReminderSink log() {
+        return (task, reminder) -> System.out.println("Reminder (" + reminder.getType() + "): task '"
+                + task.getTitle() + "' is due on " + task.getDeadline());
+    }
+}
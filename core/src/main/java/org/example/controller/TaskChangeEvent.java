@@ -0,0 +1,64 @@
+package org.example.controller;
+
+import org.example.model.Task;
+
+import java.util.List;
+
+/**
+ * Describes a change to the tasks of a {@link TaskManager}.
+ * Reminder changes are reported as updates of the task that owns them.
+ */
+public class TaskChangeEvent {
+    /**
+     * The kind of change.
+     * RELOADED means the whole task set was replaced and carries no IDs.
+     * A committed {@link TaskTransaction} reports all its tasks in one event, which is
+     * UPDATED if the transaction made different kinds of changes; look up the tasks to
+     * see their current state.
+     */
+    public enum Type {
+        ADDED,
+        UPDATED,
+        REMOVED,
+        RELOADED
+    }
+
+    private final Type type;
+    private final int[] taskIds;
+
+    /**
+     * Constructs an event.
+     * @param type The kind of change.
+     * @param taskIds The IDs of the affected tasks.
+     */
+    public TaskChangeEvent(Type type, int... taskIds) {
+        this.type = type;
+        this.taskIds = taskIds;
+    }
+
+    /**
+     * Constructs an event for a list of tasks.
+     * @param type The kind of change.
+     * @param tasks The affected tasks.
+     */
+    public TaskChangeEvent(Type type, List<Task> tasks) {
+        this.type = type;
+        this.taskIds = new int[tasks.size()];
+        for (int i = 0; i < taskIds.length; i++) {
+            taskIds[i] = tasks.get(i).getId();
+        }
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public int[] getTaskIds() {
+        return taskIds;
+    }
+
+    @Override
+    public String toString() {
+        return type + " " + taskIds.length + " task(s)";
+    }
+}
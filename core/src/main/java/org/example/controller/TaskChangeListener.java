@@ -0,0 +1,16 @@
+package org.example.controller;
+
+/**
+ * Receives the changes made through a {@link TaskManager}.
+ * Listeners are called on the thread that made the change, after it was persisted. The
+ * TaskManager keeps the changed tasks locked meanwhile, so the listener can read them and
+ * sees the changes to a task in order, but it must not change the store itself and should
+ * only record the change or hand it to another thread.
+ */
+public interface TaskChangeListener {
+    /**
+     * Called after tasks were added, updated or removed.
+     * @param event The change.
+     */
+    void tasksChanged(TaskChangeEvent event);
+}
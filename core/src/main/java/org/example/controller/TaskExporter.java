@@ -0,0 +1,85 @@
+package org.example.controller;
+
+import org.example.model.Task;
+import org.example.utils.TaskRecordCodec;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+/**
+ * Exports the tasks that match a {@link TaskQuery} to CSV or NDJSON (see {@link TaskRecordCodec}).
+ * The export writes the tasks as they were when the query ran: the TaskManager never changes
+ * a stored task in place, so tasks that change or are deleted during the export are written
+ * as they were, without copying and without holding up other callers. The result is held as
+ * one list of the stored tasks; records are encoded a chunk at a time on the bulk pool of the
+ * TaskManager, so only one chunk of encoded records is in memory at a time.
+ */
+public class TaskExporter {
+    private static final int CHUNK = 10_000;
+
+    private final TaskManager taskManager;
+
+    /**
+     * Constructs an exporter.
+     * @param taskManager The TaskManager whose tasks are exported.
+     */
+    public TaskExporter(TaskManager taskManager) {
+        this.taskManager = taskManager;
+    }
+
+    /**
+     * Exports to a UTF-8 file; the format is chosen by the file extension.
+     * The file is written next to its final name and moved there when complete.
+     * @param file The file.
+     * @param query The tasks to export, in the query's order.
+     * @return The number of exported tasks.
+     */
+    public int exportFile(Path file, TaskQuery query) throws IOException {
+        TaskRecordCodec.Format format = TaskRecordCodec.Format.forFile(file);
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        int count;
+        try (Writer out = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            count = exportTo(out, format, query);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return count;
+    }
+
+    /**
+     * Exports to a stream, one record per line. The stream is flushed but not closed.
+     * @param out The stream.
+     * @param format The format to write.
+     * @param query The tasks to export, in the query's order.
+     * @return The number of exported tasks.
+     */
+    public int exportTo(Writer out, TaskRecordCodec.Format format, TaskQuery query) throws IOException {
+        TaskRecordCodec codec = TaskRecordCodec.forWriting(format);
+        List<Task> tasks = taskManager.findTasks(query);
+        if (codec.header() != null) {
+            out.write(codec.header());
+            out.write('\n');
+        }
+        ParallelBulk bulk = taskManager.bulk();
+        int count = 0;
+        for (int from = 0; from < tasks.size(); from += CHUNK) {
+            List<Task> chunk = tasks.subList(from, Math.min(tasks.size(), from + CHUNK));
+            String[] records = new String[chunk.size()];
+            bulk.forEach(records.length, i -> records[i] = codec.encode(chunk.get(i)));
+            for (String record : records) {
+                out.write(record);
+                out.write('\n');
+            }
+            count += records.length;
+        }
+        out.flush();
+        return count;
+    }
+}
@@ -0,0 +1,327 @@
+package org.example.controller;
+
+import org.example.model.Reminder;
+import org.example.model.Task;
+import org.example.utils.TaskRecordCodec;
+import org.example.utils.TaskRecordReader;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Imports tasks from CSV or NDJSON files (see {@link TaskRecordCodec}) into a {@link TaskManager}.
+ *
+ * <p>The import is a pipeline. A reader thread splits the file into records and hands them
+ * over in batches through a queue of two, so only a few batches are in memory however large
+ * the file is. Each batch is decoded and validated on the bulk pool of the TaskManager,
+ * given new IDs, and committed as one {@link TaskTransaction}: one write and one change
+ * event per batch. Imported tasks always get new IDs, so an import never overwrites existing
+ * tasks, and their reminders are renumbered with them. Categories and priority levels that
+ * the TaskManager does not know yet are added. Invalid records are skipped and reported with
+ * their line number; they do not stop the import.</p>
+ */
+public class TaskImporter {
+    /**
+     * Receives progress after each batch.
+     */
+    public interface ProgressListener {
+        /**
+         * @param imported The number of tasks imported so far.
+         * @param failed The number of invalid records so far.
+         */
+        void onProgress(int imported, int failed);
+    }
+
+    /**
+     * Batch size and reporting for an import.
+     */
+    public static class Options {
+        private int batchSize = 10_000;
+        private int maxReportedErrors = 1000;
+        private ProgressListener progressListener;
+
+        public int getBatchSize() { return batchSize; }
+        public void setBatchSize(int batchSize) {
+            if (batchSize < 1) {
+                throw new IllegalArgumentException("Batch size must be at least 1: " + batchSize);
+            }
+            this.batchSize = batchSize;
+        }
+
+        /**
+         * Returns how many invalid records are described in the result; all of them are counted.
+         */
+        public int getMaxReportedErrors() { return maxReportedErrors; }
+        public void setMaxReportedErrors(int maxReportedErrors) { this.maxReportedErrors = maxReportedErrors; }
+
+        public ProgressListener getProgressListener() { return progressListener; }
+        public void setProgressListener(ProgressListener progressListener) { this.progressListener = progressListener; }
+    }
+
+    /**
+     * An invalid record.
+     */
+    public static class RecordError {
+        private final long line;
+        private final String message;
+
+        public RecordError(long line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+
+        /**
+         * Returns the line on which the record starts, counting from 1.
+         */
+        public long getLine() { return line; }
+
+        public String getMessage() { return message; }
+
+        @Override
+        public String toString() {
+            return "line " + line + ": " + message;
+        }
+    }
+
+    /**
+     * The outcome of an import.
+     */
+    public static class Result {
+        private final int maxReportedErrors;
+        private final List<RecordError> errors = new ArrayList<>();
+        private int imported;
+        private int failed;
+
+        Result(int maxReportedErrors) {
+            this.maxReportedErrors = maxReportedErrors;
+        }
+
+        public int getImported() { return imported; }
+
+        public int getFailed() { return failed; }
+
+        /**
+         * Returns the first invalid records, up to the limit set in the options.
+         */
+        public List<RecordError> getErrors() { return Collections.unmodifiableList(errors); }
+
+        private void fail(long line, String message) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new RecordError(line, message));
+            }
+        }
+
+        @Override
+        public String toString() {
+            return imported + " task(s) imported, " + failed + " invalid record(s)";
+        }
+    }
+
+    /**
+     * Records read by the reader thread. The last batch of a file may be empty;
+     * a batch with a failure ends the import.
+     */
+    private static final class Batch {
+        private final String[] records;
+        private final long[] lines;
+        private final int size;
+        private final boolean last;
+        private final IOException failure;
+
+        Batch(String[] records, long[] lines, int size, boolean last, IOException failure) {
+            this.records = records;
+            this.lines = lines;
+            this.size = size;
+            this.last = last;
+            this.failure = failure;
+        }
+    }
+
+    private final TaskManager taskManager;
+
+    /**
+     * Constructs an importer.
+     * @param taskManager The TaskManager that receives the tasks.
+     */
+    public TaskImporter(TaskManager taskManager) {
+        this.taskManager = taskManager;
+    }
+
+    /**
+     * Imports a UTF-8 file with the default options; the format is chosen by the file extension.
+     */
+    public Result importFile(Path file) throws IOException {
+        return importFile(file, new Options());
+    }
+
+    /**
+     * Imports a UTF-8 file; the format is chosen by the file extension.
+     */
+    public Result importFile(Path file, Options options) throws IOException {
+        TaskRecordCodec.Format format = TaskRecordCodec.Format.forFile(file);
+        try (Reader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return importFrom(in, format, options);
+        }
+    }
+
+    /**
+     * Imports tasks from a stream, which is read to the end but not closed.
+     * Batches committed before an I/O error stay imported.
+     * @param in The stream.
+     * @param format The format of the stream.
+     * @param options The batch size and reporting options.
+     * @return The number of imported tasks and the invalid records.
+     * @throws IllegalArgumentException If the CSV header has no title column.
+     */
+    public Result importFrom(Reader in, TaskRecordCodec.Format format, Options options) throws IOException {
+        TaskRecordReader reader = new TaskRecordReader(in, format);
+        BlockingQueue<Batch> queue = new ArrayBlockingQueue<>(2);
+        Thread thread = new Thread(() -> readBatches(reader, options.getBatchSize(), queue), "task-import-reader");
+        thread.setDaemon(true);
+        thread.start();
+        Result result = new Result(options.getMaxReportedErrors());
+        try {
+            Batch batch;
+            do {
+                batch = queue.take();
+                if (batch.failure != null) {
+                    throw batch.failure;
+                }
+                importBatch(batch, reader.getCodec(), result);
+                if (options.getProgressListener() != null) {
+                    options.getProgressListener().onProgress(result.imported, result.failed);
+                }
+            } while (!batch.last);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("The import was interrupted");
+        } finally {
+            thread.interrupt(); // Stops the reader if the import ended early
+        }
+        return result;
+    }
+
+    /**
+     * Runs on the reader thread: reads the stream and queues it in batches.
+     */
+    private static void readBatches(TaskRecordReader reader, int batchSize, BlockingQueue<Batch> queue) {
+        try {
+            boolean last;
+            do {
+                String[] records = new String[batchSize];
+                long[] lines = new long[batchSize];
+                int size = 0;
+                String record;
+                while (size < batchSize && (record = reader.next()) != null) {
+                    records[size] = record;
+                    lines[size] = reader.getRecordLineNumber();
+                    size++;
+                }
+                last = size < batchSize;
+                queue.put(new Batch(records, lines, size, last, null));
+            } while (!last);
+        } catch (IOException e) {
+            try {
+                queue.put(new Batch(null, null, 0, true, e));
+            } catch (InterruptedException ignored) {
+                // The import has already ended
+            }
+        } catch (InterruptedException e) {
+            // The import ended early; stop reading
+        }
+    }
+
+    private void importBatch(Batch batch, TaskRecordCodec codec, Result result) {
+        int size = batch.size;
+        Task[] tasks = new Task[size];
+        String[] errors = new String[size];
+        ParallelBulk bulk = taskManager.bulk();
+        bulk.forEach(size, i -> {
+            try {
+                tasks[i] = codec.decode(batch.records[i]);
+            } catch (IllegalArgumentException e) {
+                errors[i] = e.getMessage();
+            }
+        });
+
+        // Number the valid records, so IDs can be taken from one block per batch
+        int[] taskOffsets = new int[size];
+        int[] reminderOffsets = new int[size];
+        int valid = 0;
+        int reminders = 0;
+        for (int i = 0; i < size; i++) {
+            if (tasks[i] == null) {
+                result.fail(batch.lines[i], errors[i]);
+                continue;
+            }
+            taskOffsets[i] = valid++;
+            reminderOffsets[i] = reminders;
+            reminders += tasks[i].getReminders().size();
+        }
+        if (valid == 0) {
+            return;
+        }
+        int firstTaskId = taskManager.reserveTaskIds(valid);
+        int firstReminderId = taskManager.reserveReminderIds(reminders);
+        bulk.forEach(size, i -> {
+            Task task = tasks[i];
+            if (task == null) {
+                return;
+            }
+            int id = firstTaskId + taskOffsets[i];
+            task.setId(id);
+            List<Reminder> renumbered = new ArrayList<>(task.getReminders().size());
+            int reminderId = firstReminderId + reminderOffsets[i];
+            for (Reminder reminder : task.getReminders()) {
+                renumbered.add(new Reminder(reminderId++, id, reminder.getType(), reminder.getReminderDate()));
+            }
+            task.setReminders(renumbered);
+        });
+
+        addMissingNames(tasks);
+        try (TaskTransaction transaction = taskManager.beginTransaction()) {
+            for (Task task : tasks) {
+                if (task != null) {
+                    transaction.addTask(task);
+                }
+            }
+            transaction.commit();
+        }
+        result.imported += valid;
+    }
+
+    /**
+     * Adds the categories and priority levels used by a batch that the TaskManager does not know yet.
+     */
+    private void addMissingNames(Task[] tasks) {
+        Set<String> categories = new LinkedHashSet<>();
+        Set<String> priorities = new LinkedHashSet<>();
+        for (Task task : tasks) {
+            if (task != null) {
+                categories.add(task.getCategory());
+                priorities.add(task.getPriority());
+            }
+        }
+        categories.removeAll(new HashSet<>(taskManager.getCategories()));
+        priorities.removeAll(new HashSet<>(taskManager.getPriorityLevels()));
+        for (String category : categories) {
+            taskManager.addCategory(category);
+        }
+        for (String priority : priorities) {
+            taskManager.addPriorityLevel(priority);
+        }
+    }
+}
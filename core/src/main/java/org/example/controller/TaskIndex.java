@@ -0,0 +1,296 @@
+package org.example.controller;
+
+import org.example.model.Status;
+import org.example.model.Symbol;
+import org.example.model.Task;
+import org.example.utils.IntObjectMap;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Secondary indexes over the tasks of a {@link TaskManager}: category, priority and status
+ * map to the tasks that have them, and deadlines are kept in a sorted map for range queries.
+ * Categories and priorities are indexed by their {@link Symbol} code and statuses by ordinal,
+ * so every lookup is an int comparison.
+ * The dashboard counters in {@link TaskStatistics} are maintained here as well.
+ * The indexes read the task fields, so a task must be removed before any indexed field
+ * changes and added back afterwards, or be replaced by a changed copy through
+ * {@link #replace}. TaskManager takes care of this for every mutation.
+ */
+class TaskIndex {
+    private final IntObjectMap<IntObjectMap<Task>> byCategory = new IntObjectMap<>();
+    private final IntObjectMap<IntObjectMap<Task>> byPriority = new IntObjectMap<>();
+    private final IntObjectMap<IntObjectMap<Task>> byStatus = new IntObjectMap<>();
+    private final NavigableMap<LocalDate, IntObjectMap<Task>> byDeadline = new TreeMap<>();
+    private final TaskStatistics statistics = new TaskStatistics();
+
+    /**
+     * Adds a task to every index. The task's symbols must be bound.
+     */
+    void add(Task task) {
+        if (task.getCategorySymbol() != null) {
+            addTo(byCategory, task.getCategorySymbol().getCode(), task);
+        }
+        if (task.getPrioritySymbol() != null) {
+            addTo(byPriority, task.getPrioritySymbol().getCode(), task);
+        }
+        if (task.getStatus() != null) {
+            addTo(byStatus, task.getStatus().ordinal(), task);
+        }
+        if (task.getDeadline() != null) {
+            byDeadline.computeIfAbsent(task.getDeadline(), k -> new IntObjectMap<>()).put(task.getId(), task);
+        }
+        statistics.add(task);
+    }
+
+    /**
+     * Removes a task from every index. Must be called before the task's indexed fields change.
+     */
+    void remove(Task task) {
+        if (task.getCategorySymbol() != null) {
+            removeFrom(byCategory, task.getCategorySymbol().getCode(), task);
+        }
+        if (task.getPrioritySymbol() != null) {
+            removeFrom(byPriority, task.getPrioritySymbol().getCode(), task);
+        }
+        if (task.getStatus() != null) {
+            removeFrom(byStatus, task.getStatus().ordinal(), task);
+        }
+        if (task.getDeadline() != null) {
+            removeDeadline(task.getDeadline(), task);
+        }
+        statistics.remove(task);
+    }
+
+    /**
+     * Replaces an indexed task with a changed copy, moving it only in the indexes whose field
+     * differs; elsewhere the copy takes the task's place. Cheaper than remove and add when few
+     * fields change, as in a rename.
+     * @param task The indexed task.
+     * @param changed The copy with the new field values and the same ID; its symbols must be bound.
+     */
+    void replace(Task task, Task changed) {
+        replaceIn(byCategory, task.getCategorySymbol() == null ? null : task.getCategorySymbol().getCode(),
+                changed.getCategorySymbol() == null ? null : changed.getCategorySymbol().getCode(), task, changed);
+        replaceIn(byPriority, task.getPrioritySymbol() == null ? null : task.getPrioritySymbol().getCode(),
+                changed.getPrioritySymbol() == null ? null : changed.getPrioritySymbol().getCode(), task, changed);
+        replaceIn(byStatus, task.getStatus() == null ? null : task.getStatus().ordinal(),
+                changed.getStatus() == null ? null : changed.getStatus().ordinal(), task, changed);
+        boolean deadlineChanged = !Objects.equals(task.getDeadline(), changed.getDeadline());
+        if (deadlineChanged && task.getDeadline() != null) {
+            removeDeadline(task.getDeadline(), task);
+        }
+        if (changed.getDeadline() != null) {
+            byDeadline.computeIfAbsent(changed.getDeadline(), k -> new IntObjectMap<>()).put(changed.getId(), changed);
+        }
+        if (deadlineChanged || task.getStatus() != changed.getStatus()) {
+            // The counters only read the status and deadline
+            statistics.remove(task);
+            statistics.add(changed);
+        }
+    }
+
+    /**
+     * Removes all entries.
+     */
+    void clear() {
+        byCategory.clear();
+        byPriority.clear();
+        byStatus.clear();
+        byDeadline.clear();
+        statistics.clear();
+    }
+
+    /**
+     * Returns the counters maintained alongside the indexes.
+     */
+    TaskStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Returns the tasks in any of the given categories.
+     */
+    List<Task> withCategories(List<Symbol> categories) {
+        return collect(byCategory, categories);
+    }
+
+    /**
+     * Returns the tasks with any of the given priorities.
+     */
+    List<Task> withPriorities(List<Symbol> priorities) {
+        return collect(byPriority, priorities);
+    }
+
+    /**
+     * Returns the tasks with this status.
+     */
+    List<Task> withStatus(Status status) {
+        IntObjectMap<Task> bucket = byStatus.get(status.ordinal());
+        return bucket == null ? new ArrayList<>() : bucket.values();
+    }
+
+    /**
+     * Returns the number of tasks with this status.
+     */
+    int countWithStatus(Status status) {
+        IntObjectMap<Task> bucket = byStatus.get(status.ordinal());
+        return bucket == null ? 0 : bucket.size();
+    }
+
+    /**
+     * Returns the tasks whose deadline is in [from, to), ordered by deadline.
+     * A null bound leaves that side of the range open.
+     */
+    List<Task> withDeadlineBetween(LocalDate from, LocalDate to) {
+        List<Task> result = new ArrayList<>();
+        for (IntObjectMap<Task> bucket : deadlineBuckets(from, to)) {
+            for (Task task : bucket) {
+                result.add(task);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of tasks in any of the given categories.
+     */
+    int countWithCategories(List<Symbol> categories) {
+        return count(categoryBuckets(categories));
+    }
+
+    /**
+     * Returns the number of tasks with any of the given priorities.
+     */
+    int countWithPriorities(List<Symbol> priorities) {
+        return count(priorityBuckets(priorities));
+    }
+
+    /**
+     * Returns the number of tasks whose deadline is in [from, to).
+     * This sums one bucket per day in the range.
+     */
+    int countDeadlineBetween(LocalDate from, LocalDate to) {
+        return count(deadlineBuckets(from, to));
+    }
+
+    /**
+     * Returns the index buckets of the given categories. The buckets are live and must not be changed.
+     */
+    List<IntObjectMap<Task>> categoryBuckets(List<Symbol> categories) {
+        return buckets(byCategory, categories);
+    }
+
+    /**
+     * Returns the index buckets of the given priorities. The buckets are live and must not be changed.
+     */
+    List<IntObjectMap<Task>> priorityBuckets(List<Symbol> priorities) {
+        return buckets(byPriority, priorities);
+    }
+
+    /**
+     * Returns the index buckets of the given statuses. The buckets are live and must not be changed.
+     */
+    List<IntObjectMap<Task>> statusBuckets(Collection<Status> statuses) {
+        List<IntObjectMap<Task>> result = new ArrayList<>();
+        for (Status status : statuses) {
+            IntObjectMap<Task> bucket = byStatus.get(status.ordinal());
+            if (bucket != null) {
+                result.add(bucket);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the buckets of the deadline days in [from, to), in deadline order.
+     * A null bound leaves that side of the range open. The buckets are live and must not be changed.
+     */
+    Collection<IntObjectMap<Task>> deadlineBuckets(LocalDate from, LocalDate to) {
+        if (from == null && to == null) {
+            return byDeadline.values();
+        } else if (from == null) {
+            return byDeadline.headMap(to, false).values();
+        } else if (to == null) {
+            return byDeadline.tailMap(from, true).values();
+        } else if (from.isBefore(to)) {
+            return byDeadline.subMap(from, true, to, false).values();
+        }
+        return new ArrayList<>();
+    }
+
+    private static void addTo(IntObjectMap<IntObjectMap<Task>> index, int key, Task task) {
+        IntObjectMap<Task> bucket = index.get(key);
+        if (bucket == null) {
+            bucket = new IntObjectMap<>();
+            index.put(key, bucket);
+        }
+        bucket.put(task.getId(), task);
+    }
+
+    private static void replaceIn(IntObjectMap<IntObjectMap<Task>> index, Integer key, Integer newKey,
+                                  Task task, Task changed) {
+        if (!Objects.equals(key, newKey) && key != null) {
+            removeFrom(index, key, task);
+        }
+        if (newKey != null) {
+            addTo(index, newKey, changed); // Replacing keeps the task's position in the bucket
+        }
+    }
+
+    private void removeDeadline(LocalDate deadline, Task task) {
+        IntObjectMap<Task> bucket = byDeadline.get(deadline);
+        if (bucket != null) {
+            bucket.remove(task.getId());
+            if (bucket.isEmpty()) {
+                byDeadline.remove(deadline);
+            }
+        }
+    }
+
+    private static void removeFrom(IntObjectMap<IntObjectMap<Task>> index, int key, Task task) {
+        IntObjectMap<Task> bucket = index.get(key);
+        if (bucket != null) {
+            bucket.remove(task.getId());
+            if (bucket.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
+    private static List<IntObjectMap<Task>> buckets(IntObjectMap<IntObjectMap<Task>> index, List<Symbol> symbols) {
+        List<IntObjectMap<Task>> result = new ArrayList<>();
+        for (Symbol symbol : symbols) {
+            IntObjectMap<Task> bucket = index.get(symbol.getCode());
+            if (bucket != null) {
+                result.add(bucket);
+            }
+        }
+        return result;
+    }
+
+    private static int count(Collection<IntObjectMap<Task>> buckets) {
+        int count = 0;
+        for (IntObjectMap<Task> bucket : buckets) {
+            count += bucket.size();
+        }
+        return count;
+    }
+
+    private static List<Task> collect(IntObjectMap<IntObjectMap<Task>> index, List<Symbol> symbols) {
+        List<Task> result = new ArrayList<>();
+        for (Symbol symbol : symbols) {
+            IntObjectMap<Task> bucket = index.get(symbol.getCode());
+            if (bucket != null) {
+                result.addAll(bucket.values());
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,44 @@
+package org.example.controller;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Striped write locks over the task IDs of a {@link TaskManager}.
+ *
+ * <p>A change to one task holds the stripe of its ID from the moment it is applied until it
+ * has been persisted and published, so the changes to a task reach the journal and the
+ * listeners in the order they were applied, while changes to tasks of other stripes go ahead.
+ * A change to many tasks holds every stripe. Stripes are taken in ascending order, and a
+ * thread holding one stripe never takes another, so the two kinds of changes cannot deadlock.</p>
+ */
+final class TaskLocks {
+    private static final int STRIPES = 64; // A power of two
+
+    private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+
+    TaskLocks() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    void lock(int id) {
+        stripes[id & (STRIPES - 1)].lock();
+    }
+
+    void unlock(int id) {
+        stripes[id & (STRIPES - 1)].unlock();
+    }
+
+    void lockAll() {
+        for (ReentrantLock stripe : stripes) {
+            stripe.lock();
+        }
+    }
+
+    void unlockAll() {
+        for (int i = STRIPES - 1; i >= 0; i--) {
+            stripes[i].unlock();
+        }
+    }
+}
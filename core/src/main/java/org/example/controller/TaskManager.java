@@ -0,0 +1,1531 @@
+package org.example.controller;
+
+import org.example.model.Reminder;
+import org.example.model.Status;
+import org.example.model.Symbol;
+import org.example.model.SymbolTable;
+import org.example.model.Task;
+import org.example.utils.IntObjectMap;
+import org.example.utils.JSONHandler;
+import org.example.utils.MappedSnapshotReader;
+import org.example.utils.SaveScheduler;
+import org.example.utils.StreamingTaskLoader;
+import org.example.utils.TaskJournal;
+import org.example.utils.TaskStorage;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Manages tasks, categories, priority levels, and reminders.
+ * Provides functionalities for task CRUD operations, category and priority management,
+ * and data persistence using JSON.
+ * Data is kept in a {@link TaskStorage}, by default the {@link JSONHandler} files in the default
+ * data directory. Each mutation is persisted as a journal entry when the storage has journal mode
+ * enabled, otherwise the whole data set is saved.
+ * Writes are handed to a {@link SaveScheduler}, so callers do not wait for the disk
+ * unless the durability mode is SYNC.
+ * Tasks are published as immutable, versioned {@link TaskSnapshot}s, which keep them by ID
+ * and in the insertion order used for display.
+ * A {@link TaskIndex} keeps secondary indexes on category, priority, status and deadline,
+ * so filters, counts, renames and deletes only touch the affected tasks.
+ * A {@link ReminderIndex} does the same for reminders (by ID, task and date), and a
+ * {@link TextIndex} makes titles and descriptions searchable by word. {@link TaskQuery}s
+ * combining these conditions are run by a {@link QueryPlanner} over the indexes.
+ * Category and priority names are interned in per-store {@link SymbolTable}s: all tasks
+ * share one {@link Symbol} per name and comparisons are int comparisons.
+ * Every change is published to the registered {@link TaskChangeListener}s with the IDs
+ * of the affected tasks, so views can apply targeted updates.
+ * Bulk operations ({@link #applyToMatching}, renames and deletes of categories and priority
+ * levels) split the per-task work of large changes across a {@link ForkJoinPool} and persist
+ * the result in one write; {@link TaskTransaction}s do the same for batches of adds, updates
+ * and deletes.
+ *
+ * <p>A TaskManager can be used from several threads at once. Reads share a read-write lock
+ * and run concurrently; a change holds its write lock only while the in-memory structures
+ * are updated. Encoding the journal entries, waiting for the disk in SYNC mode and notifying
+ * the listeners happen afterwards, under the {@link TaskLocks} stripe of the changed task
+ * (every stripe for changes to many tasks), so they keep the order of the changes to each
+ * task without holding up readers or changes to other tasks. Task and reminder IDs are
+ * handed out atomically.</p>
+ *
+ * <p>Stored tasks are never changed in place: a change stores a changed copy of each task it
+ * touches and, before the write lock is released, publishes a new {@link TaskSnapshot} that
+ * shares every other task with the previous one. {@link #getSnapshot()}, {@link #findTask},
+ * {@link #getAllTasks}, {@link #getTaskCount} and the category and priority lists read the
+ * current snapshot without locking, and a reader holding a snapshot keeps a consistent view
+ * for as long as it needs. Tasks returned by any method are the stored objects and must not be
+ * changed; callers that need a task to change copy it with {@link Task#Task(Task)}.</p>
+ */
+public class TaskManager {
+    private volatile TaskSnapshot current = TaskSnapshot.EMPTY; // The published tasks and lists
+    private TaskSnapshot.Builder draft;    // The next snapshot while a change is made, or null
+    private final TaskIndex index = new TaskIndex();
+    private final ReminderIndex reminderIndex = new ReminderIndex();
+    private final TextIndex textIndex = new TextIndex();
+    private final SymbolTable categorySymbols = new SymbolTable();
+    private final SymbolTable prioritySymbols = new SymbolTable();
+    private List<String> categories;       // Dynamic list for categories
+    private List<String> priorityLevels;   // Dynamic list for priority levels
+    private List<Reminder> reminders;
+    private final TaskStorage storage;
+    private final SaveScheduler saveScheduler;
+    private final AtomicInteger nextTaskId = new AtomicInteger(1);     // Monotonic ID counters, never reused
+    private final AtomicInteger nextReminderId = new AtomicInteger(1);
+    private volatile boolean partiallyLoaded; // True if the last load left tasks out (cap or filter) or failed
+    private MappedSnapshotReader archive;  // Read-only mapped snapshot, or null
+    private LocalDate overdueCheckedUntil;  // Deadlines before this day were checked; null after a load
+    private final List<TaskChangeListener> listeners = new CopyOnWriteArrayList<>();
+    private volatile ParallelBulk bulk = new ParallelBulk(ForkJoinPool.commonPool());
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock(); // Guards the indexes and the draft
+    private final TaskLocks taskLocks = new TaskLocks();
+
+
+    /**
+     * Constructs a new TaskManager instance that batches writes within the default window.
+     * Initializes lists, loads data from the default data directory, and ensures default categories and priority levels.
+     */
+    public TaskManager() {
+        this(new JSONHandler());
+    }
+
+    /**
+     * Constructs a new TaskManager instance on the given storage that batches writes within the default window.
+     * @param storage Where the data is loaded from and saved to.
+     */
+    public TaskManager(TaskStorage storage) {
+        this(storage, SaveScheduler.DurabilityMode.BATCHED, SaveScheduler.DEFAULT_BATCH_WINDOW_MILLIS);
+    }
+
+    /**
+     * Constructs a new TaskManager instance on the default data directory with the given persistence settings.
+     * @param durabilityMode When changes are written to disk.
+     * @param batchWindowMillis The coalescing window used in BATCHED mode.
+     */
+    public TaskManager(SaveScheduler.DurabilityMode durabilityMode, long batchWindowMillis) {
+        this(new JSONHandler(), durabilityMode, batchWindowMillis);
+    }
+
+    /**
+     * Constructs a new TaskManager instance with the given storage and persistence settings.
+     * @param storage Where the data is loaded from and saved to.
+     * @param durabilityMode When changes are written to disk.
+     * @param batchWindowMillis The coalescing window used in BATCHED mode.
+     */
+    public TaskManager(TaskStorage storage, SaveScheduler.DurabilityMode durabilityMode, long batchWindowMillis) {
+        this.storage = storage;
+        saveScheduler = new SaveScheduler(storage, durabilityMode, batchWindowMillis);
+        categories = new ArrayList<>();
+        priorityLevels = new ArrayList<>();
+
+        // Load all data (tasks, categories, priorities) from the storage,
+        // with default categories and priority levels if the lists are empty
+        loadData();
+    }
+
+    /**
+     * Reserves a unique ID for a new reminder.
+     * Every call returns a different ID, also when called from several threads at once.
+     * @return A new unique reminder ID.
+     */
+    public int generateReminderId() {
+        return nextReminderId.getAndIncrement();
+    }
+
+
+    /**
+     * Initializes default categories and priority levels
+     * if they are empty.
+     */
+    private void initializeDefaults() {
+        if (categories.isEmpty()) {
+            categories.add("Personal");
+            categories.add("Other");
+        }
+
+        if (priorityLevels.isEmpty()) {
+            priorityLevels.add("Default"); // Ensure Default priority is always present
+            priorityLevels.add("High");
+            priorityLevels.add("Medium");
+            priorityLevels.add("Low");
+        }
+    }
+
+    // --------------------------------
+    // TASK MANAGEMENT
+    // --------------------------------
+
+    /**
+     * Adds a new task to the task list, or replaces the task with the same ID.
+     * A copy of the task is stored, so the caller may go on changing its object.
+     * @param task The task to be added.
+     */
+    public void addTask(Task task) {
+        Task stored = new Task(task);
+        TextIndex.Tokens text = TextIndex.tokens(stored); // Outside the lock, since it is the costly part
+        writeTask(stored.getId(), pending -> {
+            boolean added = putTask(stored, text);
+            pending.put(stored);
+            fireChange(pending, added ? TaskChangeEvent.Type.ADDED : TaskChangeEvent.Type.UPDATED, stored.getId());
+            return null;
+        });
+    }
+
+    /**
+     * Updates an existing task with new details.
+     * Completing a task removes its reminders.
+     * @param id The ID of the task to update.
+     * @param title The new title.
+     * @param description The new description.
+     * @param category The new category.
+     * @param priority The new priority level.
+     * @param deadline The new deadline.
+     * @param status The new status.
+     */
+    public void updateTask(int id, String title, String description, String category, String priority, LocalDate deadline, Status status) {
+        writeTask(id, pending -> {
+            Task task = changeTask(id, title, description, category, priority, deadline, status);
+            if (task != null) {
+                pending.put(task);
+                fireChange(pending, TaskChangeEvent.Type.UPDATED, id);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Changes one task with a mutator, as {@link #applyToMatching} does for many: the mutator
+     * is called on a copy of the task while the task's stripe is held, so concurrent changes
+     * to other fields of the same task are not lost. It may change every field but the ID.
+     * If it throws, the task is not changed and the exception is rethrown.
+     * Completing a task removes its reminders, as in {@link #updateTask}.
+     * @param id The ID of the task to change.
+     * @param mutator Changes the task.
+     * @return The stored task after the change, or null if there is no task with the ID.
+     */
+    public Task updateTask(int id, Consumer<Task> mutator) {
+        return writeTask(id, pending -> {
+            Task task = task(id);
+            if (task == null) {
+                return null;
+            }
+            List<Task> updated = applyToAll(List.of(task), mutator);
+            if (updated.isEmpty()) {
+                return task; // Nothing changed
+            }
+            pending.putAll(updated);
+            fireChange(pending, TaskChangeEvent.Type.UPDATED, id);
+            return updated.get(0);
+        });
+    }
+
+    /**
+     * Deletes a task based on its ID.
+     * @param id The ID of the task to delete.
+     */
+    public void deleteTask(int id) {
+        writeTask(id, pending -> {
+            if (removeTask(id) != null) {
+                pending.delete(id);
+                fireChange(pending, TaskChangeEvent.Type.REMOVED, id);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Starts a transaction that batches task changes until it is committed.
+     * @return A new transaction.
+     */
+    public TaskTransaction beginTransaction() {
+        return new TaskTransaction(this);
+    }
+
+    /**
+     * Applies the changes of a transaction in order, then persists them in one write
+     * and reports all affected tasks in one event. The event has the type shared by all
+     * changes, or UPDATED if they differ.
+     */
+    void commit(List<TaskTransaction.Change> changes) {
+        TextIndex.Tokens[] texts = new TextIndex.Tokens[changes.size()];
+        bulk.forEach(texts.length, i -> {
+            TaskTransaction.Change change = changes.get(i);
+            if (change.kind == TaskTransaction.Kind.ADD) {
+                texts[i] = TextIndex.tokens(change.task);
+            }
+        });
+
+        writeAll(pending -> {
+            IntObjectMap<Task> touched = new IntObjectMap<>(); // Last task object seen per ID, in order
+            TaskChangeEvent.Type type = null;
+            for (int i = 0; i < texts.length; i++) {
+                TaskTransaction.Change change = changes.get(i);
+                TaskChangeEvent.Type changeType;
+                Task task;
+                switch (change.kind) {
+                    case ADD:
+                        task = change.task;
+                        changeType = putTask(task, texts[i]) ? TaskChangeEvent.Type.ADDED : TaskChangeEvent.Type.UPDATED;
+                        break;
+                    case UPDATE:
+                        task = changeTask(change.id, change.title, change.description, change.category,
+                                change.priority, change.deadline, change.status);
+                        changeType = TaskChangeEvent.Type.UPDATED;
+                        break;
+                    default:
+                        task = removeTask(change.id);
+                        changeType = TaskChangeEvent.Type.REMOVED;
+                        break;
+                }
+                if (task != null) {
+                    touched.put(task.getId(), task);
+                    type = type == null || type == changeType ? changeType : TaskChangeEvent.Type.UPDATED;
+                }
+            }
+            if (touched.isEmpty()) {
+                return null;
+            }
+
+            int[] ids = new int[touched.size()];
+            int count = 0;
+            for (Task task : touched) {
+                int id = task.getId();
+                ids[count++] = id;
+                Task live = task(id);
+                if (live != null) {
+                    pending.put(live);
+                } else {
+                    pending.delete(id);
+                }
+            }
+            fireChange(pending, type, ids);
+            return null;
+        });
+    }
+
+    /**
+     * Reserves a task ID for a transaction, so tasks added outside it cannot take the same ID.
+     */
+    int reserveTaskId() {
+        return reserveTaskIds(1);
+    }
+
+    /**
+     * Reserves a block of consecutive task IDs.
+     * @return The first ID of the block.
+     */
+    int reserveTaskIds(int count) {
+        return nextTaskId.getAndAdd(count);
+    }
+
+    /**
+     * Reserves a block of consecutive reminder IDs.
+     * @return The first ID of the block.
+     */
+    int reserveReminderIds(int count) {
+        return nextReminderId.getAndAdd(count);
+    }
+
+    /**
+     * Returns copies of the tasks with the given IDs that still exist, which the caller may change.
+     * @param ids The IDs.
+     * @param from The first index in ids (inclusive).
+     * @param to The last index in ids (exclusive).
+     */
+    List<Task> copyTasks(int[] ids, int from, int to) {
+        TaskSnapshot tasks = current;
+        List<Task> copies = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            Task task = tasks.find(ids[i]);
+            if (task != null) {
+                copies.add(new Task(task));
+            }
+        }
+        return copies;
+    }
+
+    /**
+     * Returns the runner that bulk operations split their work across.
+     */
+    ParallelBulk bulk() {
+        return bulk;
+    }
+
+    /**
+     * Adds or replaces a task in the map and the indexes, without persisting it.
+     * @param text The task's title and description, split by {@link TextIndex#tokens(Task)}.
+     * @return True if the task is new, false if it replaced a task with the same ID.
+     */
+    private boolean putTask(Task task, TextIndex.Tokens text) {
+        bind(task);
+        Task previous = draft().put(task);
+        if (previous != null) {
+            index.remove(previous);
+            reminderIndex.removeAll(previous.getId());
+        }
+        index.add(task);
+        reminderIndex.addAll(task);
+        textIndex.add(task, text);
+        nextTaskId.accumulateAndGet(task.getId() + 1, Math::max);
+        for (Reminder reminder : task.getReminders()) {
+            nextReminderId.accumulateAndGet(reminder.getId() + 1, Math::max);
+        }
+        return previous == null;
+    }
+
+    /**
+     * Stores an updated copy of a task and updates the indexes, without persisting it.
+     * @return The copy, or null if there is no task with the ID.
+     */
+    private Task changeTask(int id, String title, String description, String category, String priority, LocalDate deadline, Status status) {
+        Task task = task(id);
+        if (task == null) {
+            return null;
+        }
+        boolean textChanged = !Objects.equals(title, task.getTitle()) || !Objects.equals(description, task.getDescription());
+        Task copy = new Task(task);
+        copy.setTitle(title);
+        copy.setDescription(description);
+        copy.setCategorySymbol(categorySymbols.intern(category));
+        copy.setPrioritySymbol(prioritySymbols.intern(priority));
+        copy.setDeadline(deadline);
+        copy.setStatus(status);
+        if (status == Status.COMPLETED) {
+            copy.getReminders().clear();
+        }
+        replaceTask(task, copy, textChanged ? TextIndex.tokens(copy) : null);
+        return copy;
+    }
+
+    /**
+     * Stores a changed copy of a task in the task's place and updates the indexes.
+     * @param text The copy's title and description, split by {@link TextIndex#tokens(Task)},
+     *             or null if they did not change.
+     */
+    private void replaceTask(Task task, Task copy, TextIndex.Tokens text) {
+        index.replace(task, copy);
+        if (text != null) {
+            textIndex.add(copy, text);
+        } else {
+            textIndex.replace(copy);
+        }
+        reminderIndex.removeAll(task.getId()); // The copy has reminder objects of its own
+        reminderIndex.addAll(copy);
+        draft().put(copy);
+    }
+
+    /**
+     * Removes a task from the map and the indexes, without persisting the removal.
+     * @return The removed task, or null if there is no task with the ID.
+     */
+    private Task removeTask(int id) {
+        Task removed = task(id) == null ? null : draft().remove(id);
+        if (removed != null) {
+            index.remove(removed);
+            reminderIndex.removeAll(id);
+            textIndex.remove(id);
+        }
+        return removed;
+    }
+
+
+    /**
+     * Retrieves all tasks in insertion order, from the current snapshot.
+     * The tasks are the stored objects and must not be modified; copy them with
+     * {@link Task#Task(Task)} to get tasks to change.
+     * @return An unmodifiable list containing all tasks.
+     */
+    public List<Task> getAllTasks() {
+        return current.getTasks();
+    }
+
+    /**
+     * Returns the number of tasks.
+     */
+    public int getTaskCount() {
+        return current.size();
+    }
+
+    /**
+     * Returns the current version of the tasks and the category and priority lists. The
+     * snapshot never changes, so it can be read without locking while the store moves on.
+     */
+    public TaskSnapshot getSnapshot() {
+        return current;
+    }
+
+    /**
+     * Retrieves the tasks in a category, ignoring case.
+     * @param category The category name.
+     * @return The matching tasks.
+     */
+    public List<Task> getTasksByCategory(String category) {
+        return read(() -> index.withCategories(categorySymbols.findIgnoreCase(category)));
+    }
+
+    /**
+     * Retrieves the tasks with a priority level, ignoring case.
+     * @param priority The priority level.
+     * @return The matching tasks.
+     */
+    public List<Task> getTasksByPriority(String priority) {
+        return read(() -> index.withPriorities(prioritySymbols.findIgnoreCase(priority)));
+    }
+
+    /**
+     * Returns the interned symbol of a category, for comparing tasks by code.
+     * @param category The exact category name.
+     * @return The symbol, or null if no task or list entry ever used this name.
+     */
+    public Symbol getCategorySymbol(String category) {
+        return read(() -> categorySymbols.find(category));
+    }
+
+    /**
+     * Returns the interned symbol of a priority level, for comparing tasks by code.
+     * @param priority The exact priority name.
+     * @return The symbol, or null if no task or list entry ever used this name.
+     */
+    public Symbol getPrioritySymbol(String priority) {
+        return read(() -> prioritySymbols.find(priority));
+    }
+
+    /**
+     * Retrieves the tasks with a status.
+     * @param status The status.
+     * @return The matching tasks.
+     */
+    public List<Task> getTasksByStatus(Status status) {
+        return read(() -> index.withStatus(status));
+    }
+
+    /**
+     * Counts the tasks with a status without building a list.
+     * @param status The status.
+     * @return The number of matching tasks.
+     */
+    public int countTasksByStatus(Status status) {
+        return read(() -> index.countWithStatus(status));
+    }
+
+    /**
+     * Returns the dashboard counters, which are kept up to date as tasks change.
+     */
+    public TaskStatistics getStatistics() {
+        return index.getStatistics();
+    }
+
+    /**
+     * Retrieves the tasks whose deadline lies in a range, ordered by deadline.
+     * @param from The first day of the range (inclusive), or null for no lower bound.
+     * @param to The end of the range (exclusive), or null for no upper bound.
+     * @return The matching tasks.
+     */
+    public List<Task> getTasksDueBetween(LocalDate from, LocalDate to) {
+        return read(() -> index.withDeadlineBetween(from, to));
+    }
+
+    /**
+     * Searches titles and descriptions. A task matches if it contains every word of the query,
+     * as a whole word, a word prefix or a part of a word; case and accents are ignored.
+     * @param query The search text.
+     * @param limit The maximum number of results.
+     * @return The matching tasks, best match first.
+     */
+    public List<Task> searchTasks(String query, int limit) {
+        return read(() -> textIndex.search(query, null, limit));
+    }
+
+    /**
+     * Searches titles and descriptions within a category and priority level, ignoring case.
+     * @param query The search text.
+     * @param category The category, or null for any category.
+     * @param priority The priority level, or null for any priority level.
+     * @param limit The maximum number of results.
+     * @return The matching tasks, best match first.
+     */
+    public List<Task> searchTasks(String query, String category, String priority, int limit) {
+        if (TextIndex.tokenize(query).isEmpty()) {
+            return new ArrayList<>(); // A query without words matches nothing, as in searchTasks(String, int)
+        }
+        return findTasks(TaskQuery.builder().text(query).category(category).priority(priority)
+                .sortBy(TaskQuery.Sort.RELEVANCE).limit(limit).build());
+    }
+
+    /**
+     * Runs a query, starting from the index that is cheapest for it.
+     * @param query The query.
+     * @return The matching tasks in the query's order, up to its limit.
+     */
+    public List<Task> findTasks(TaskQuery query) {
+        return read(() -> planner().find(query));
+    }
+
+    /**
+     * Counts the tasks that match a query, up to its limit.
+     * @param query The query.
+     * @return The number of matching tasks.
+     */
+    public int countTasks(TaskQuery query) {
+        return read(() -> planner().count(query));
+    }
+
+    /**
+     * Describes how a query would be run: the index it starts from, the conditions checked
+     * on each task, and whether the result has to be sorted.
+     * @param query The query.
+     * @return A one-line description.
+     */
+    public String explainQuery(TaskQuery query) {
+        return read(() -> planner().explain(query));
+    }
+
+    private QueryPlanner planner() {
+        return new QueryPlanner(current, index, textIndex, categorySymbols, prioritySymbols);
+    }
+
+    /**
+     * Marks every task whose deadline has passed as "Delayed", unless it is completed or already delayed.
+     * The first call after a load checks all deadlines before the given day; later calls only check
+     * the deadlines between the previous day checked and this one, found through the deadline index.
+     * A task that is later given a past deadline keeps the status its caller chose.
+     * @param today The current day.
+     * @return The number of tasks that were marked.
+     */
+    public int markOverdueTasks(LocalDate today) {
+        return writeAll(pending -> {
+            if (overdueCheckedUntil != null && !today.isAfter(overdueCheckedUntil)) {
+                return 0;
+            }
+            List<Task> updated = new ArrayList<>();
+            for (Task task : index.withDeadlineBetween(overdueCheckedUntil, today)) {
+                if (task.getStatus() != Status.DELAYED && task.getStatus() != Status.COMPLETED) {
+                    Task copy = new Task(task);
+                    copy.setStatus(Status.DELAYED);
+                    replaceTask(task, copy, null);
+                    updated.add(copy);
+                }
+            }
+            if (!updated.isEmpty()) {
+                pending.putAll(updated);
+                fireChange(pending, TaskChangeEvent.Type.UPDATED, updated);
+            }
+            overdueCheckedUntil = today;
+            return updated.size();
+        });
+    }
+
+    // --------------------------------
+    // BULK OPERATIONS
+    // --------------------------------
+
+    /**
+     * Applies a change to every task that matches a query, as one operation.
+     * The mutator is called once per matching task on a copy of the task; for large matches
+     * the calls are split across the bulk pool, so the mutator must be safe to call from
+     * several threads at once. It may change every field but the ID. If it throws for any
+     * task, no task is changed and the exception is rethrown. Otherwise the changed copies take
+     * the place of their tasks, are re-indexed, persisted in one write and reported in one change event.
+     * Completing a task removes its reminders, as in {@link #updateTask}.
+     * @param query The tasks to change; its order and limit are respected.
+     * @param mutator Changes a task.
+     * @return The number of tasks that changed.
+     */
+    public int applyToMatching(TaskQuery query, Consumer<Task> mutator) {
+        return writeAll(pending -> {
+            List<Task> updated = applyToAll(planner().find(query), mutator);
+            pending.putAll(updated);
+            fireBulkUpdate(pending, updated);
+            return updated.size();
+        });
+    }
+
+    /**
+     * Sets the pool that bulk operations split large changes across.
+     * @param pool The pool; the common pool by default.
+     */
+    public void setBulkPool(ForkJoinPool pool) {
+        bulk = new ParallelBulk(Objects.requireNonNull(pool));
+    }
+
+    /**
+     * Applies a mutator to copies of the given tasks in parallel, then stores the copies that
+     * changed in place of their tasks and updates the indexes. Persisting and events are left to the caller.
+     * @return The stored copies of the tasks that changed.
+     */
+    private List<Task> applyToAll(List<Task> targets, Consumer<Task> mutator) {
+        int size = targets.size();
+        Task[] changes = new Task[size];
+        TextIndex.Tokens[] texts = new TextIndex.Tokens[size];
+        bulk.forEach(size, i -> {
+            Task task = targets.get(i);
+            Task copy = new Task(task);
+            mutator.accept(copy);
+            if (copy.getId() != task.getId()) {
+                throw new IllegalArgumentException("Bulk changes cannot change the ID of task " + task.getId());
+            }
+            if (copy.getStatus() == Status.COMPLETED) {
+                copy.getReminders().clear();
+            }
+            boolean textChanged = !Objects.equals(copy.getTitle(), task.getTitle())
+                    || !Objects.equals(copy.getDescription(), task.getDescription());
+            if (textChanged) {
+                texts[i] = TextIndex.tokens(copy); // Tokenizing is the costly part of re-indexing text
+            }
+            if (textChanged || !sameFields(task, copy)) {
+                changes[i] = copy;
+            }
+        });
+
+        // The indexes and symbol tables are not thread-safe, so the changes are applied in order here
+        List<Task> updated = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            Task copy = changes[i];
+            if (copy == null) {
+                continue;
+            }
+            bind(copy);
+            replaceTask(targets.get(i), copy, texts[i]);
+            for (Reminder reminder : copy.getReminders()) {
+                nextReminderId.accumulateAndGet(reminder.getId() + 1, Math::max);
+            }
+            updated.add(copy);
+        }
+        return updated;
+    }
+
+    private static boolean sameFields(Task a, Task b) {
+        return Objects.equals(a.getCategory(), b.getCategory())
+                && Objects.equals(a.getPriority(), b.getPriority())
+                && Objects.equals(a.getDeadline(), b.getDeadline())
+                && a.getStatus() == b.getStatus()
+                && sameReminders(a, b);
+    }
+
+    private static boolean sameReminders(Task a, Task b) {
+        List<Reminder> left = a.getReminders();
+        List<Reminder> right = b.getReminders();
+        if (left.size() != right.size()) {
+            return false;
+        }
+        for (int i = 0; i < left.size(); i++) {
+            Reminder x = left.get(i);
+            Reminder y = right.get(i);
+            if (x.getId() != y.getId() || !Objects.equals(x.getType(), y.getType())
+                    || !Objects.equals(x.getReminderDate(), y.getReminderDate())) {
+                return false;
+            }
+        }
+        return true;
+    }
+    // --------------------------------
+    // CATEGORY MANAGEMENT
+    // --------------------------------
+
+    /**
+     * Retrieves all available categories.
+     * @return A list of category names.
+     */
+    public List<String> getCategories() {
+        return new ArrayList<>(current.getCategories()); // Never empty: defaults are added on load
+    }
+
+    /**
+     * Adds a new category if it doesn't already exist.
+     * @param category The category name to add.
+     * @return True if the category was added, false if it already exists.
+     */
+    public boolean addCategory(String category) {
+        return writeAll(pending -> {
+            if (category != null && !categories.contains(category)) {
+                categories.add(category);
+                pendingLists(pending);
+                return true;
+            }
+            return false;
+        });
+    }
+
+    /**
+     * Deletes a category and removes associated tasks.
+     * @param category The category name to delete.
+     */
+    public void deleteCategory(String category) {
+        writeAll(pending -> {
+            if (!"Other".equals(category) && categories.contains(category)) {
+                // Look up the tasks associated with this category.
+                List<Task> removedTasks = index.withCategories(symbolList(categorySymbols.find(category)));
+                categories.remove(category);
+                draft().setCategories(categories);
+                // Remove tasks that belong to the category.
+                for (Task task : removedTasks) {
+                    draft().remove(task.getId());
+                    index.remove(task);
+                    reminderIndex.removeAll(task.getId());
+                    textIndex.remove(task.getId());
+                    pending.delete(task.getId());
+                }
+                pending.entries.add(TaskJournal.Entry.categories(categories));
+                if (!removedTasks.isEmpty()) {
+                    fireChange(pending, TaskChangeEvent.Type.REMOVED, removedTasks);
+                }
+            }
+            return null;
+        });
+    }
+
+
+    // --------------------------------
+    // PRIORITY MANAGEMENT
+    // --------------------------------
+
+    /**
+     * Retrieves all available priority levels.
+     * @return A list of priority levels.
+     */
+    public List<String> getPriorityLevels() {
+        return new ArrayList<>(current.getPriorityLevels()); // Never empty: defaults are added on load
+    }
+
+    /**
+     * Adds a new priority level.
+     * @param priority The priority level to add.
+     * @return True if successfully added, false if it already exists.
+     */
+    public boolean addPriorityLevel(String priority) {
+        return writeAll(pending -> {
+            if (priority != null && !priorityLevels.contains(priority)) {
+                priorityLevels.add(priority);
+                pendingLists(pending);
+                return true;
+            }
+            return false;
+        });
+    }
+
+    /**
+     * Deletes a priority level and updates tasks using it to "Default".
+     * @param priority The priority level to delete.
+     */
+    public void deletePriorityLevel(String priority) {
+        // Check if the priority is not one of the default priorities and exists in the priorityLevels list
+        if (!"Default".equalsIgnoreCase(priority)) {
+            writeAll(pending -> {
+                // Remove the priority from the list
+                priorityLevels.remove(priority);
+
+                // Update tasks with the deleted priority to "Default" instead of deleting them
+                Symbol defaultPriority = prioritySymbols.intern("Default");
+                List<Task> updated = applyToAll(index.withPriorities(symbolList(prioritySymbols.find(priority))),
+                        task -> task.setPrioritySymbol(defaultPriority));
+
+                // Save all changes to the storage
+                pending.putAll(updated);
+                pendingLists(pending);
+                fireBulkUpdate(pending, updated);
+                return null;
+            });
+        } else {
+            // Optional: Log or handle the case where an invalid priority deletion is attempted
+            System.out.println("Cannot delete the default or non-existent priority: " + priority);
+        }
+    }
+
+
+    /**
+     * Renames an existing category in the task list.
+     * If the old category does not exist or the new category already exists, the operation fails.
+     *
+     * @param oldCategory The current name of the category to be renamed.
+     * @param newCategory The new name to be assigned to the category.
+     * @return {@code true} if the category was successfully renamed, {@code false} otherwise.
+     */
+    public boolean renameCategory(String oldCategory, String newCategory) {
+        if (oldCategory == null || newCategory == null || oldCategory.equals(newCategory)) {
+            return false; // Invalid input or no change
+        }
+
+        return writeAll(pending -> {
+            if (!categories.contains(oldCategory)) {
+                return false; // Old category does not exist
+            }
+
+            if (categories.contains(newCategory)) {
+                return false; // New category already exists
+            }
+
+            // Rename the category
+            categories.remove(oldCategory);
+            categories.add(newCategory);
+
+            // Update all tasks with the old category
+            Symbol renamed = categorySymbols.intern(newCategory);
+            List<Task> updated = applyToAll(index.withCategories(symbolList(categorySymbols.find(oldCategory))),
+                    task -> task.setCategorySymbol(renamed));
+
+            pending.putAll(updated); // Save updated data
+            pendingLists(pending);
+            fireBulkUpdate(pending, updated);
+            return true;
+        });
+    }
+
+    /**
+     * Renames an existing priority level in the task list.
+     * If the old priority does not exist or the new priority already exists, the operation fails.
+     * The default priority level cannot be renamed.
+     *
+     * @param oldPriority The current name of the priority level to be renamed.
+     * @param newPriority The new name to be assigned to the priority level.
+     * @return {@code true} if the priority was successfully renamed, {@code false} otherwise.
+     */
+    public boolean renamePriority(String oldPriority, String newPriority) {
+        if (oldPriority == null || newPriority == null || oldPriority.equals(newPriority)) {
+            return false; // No change or invalid input.
+        }
+        if ("Default".equalsIgnoreCase(oldPriority)) {
+            return false; // "Default" cannot be renamed.
+        }
+        return writeAll(pending -> {
+            if (!priorityLevels.contains(oldPriority) || priorityLevels.contains(newPriority)) {
+                return false; // Old priority not found or new priority already exists.
+            }
+            // Rename the priority
+            priorityLevels.remove(oldPriority);
+            priorityLevels.add(newPriority);
+            // Update all tasks that use the old priority
+            Symbol renamed = prioritySymbols.intern(newPriority);
+            List<Task> updated = applyToAll(index.withPriorities(prioritySymbols.findIgnoreCase(oldPriority)),
+                    task -> task.setPrioritySymbol(renamed));
+            pending.putAll(updated); // Save changes to JSON
+            pendingLists(pending);
+            fireBulkUpdate(pending, updated);
+            return true;
+        });
+    }
+
+
+
+    // --------------------------------
+    // REMINDER MANAGEMENT
+    // --------------------------------
+
+    /**
+     * Adds a reminder to a task.
+     * @param taskId The ID of the task the reminder belongs to.
+     * @param reminder The reminder to add.
+     * @return True if the task exists and the reminder was added.
+     */
+    public boolean addReminder(int taskId, Reminder reminder) {
+        return writeTask(taskId, pending -> {
+            Task task = task(taskId);
+            if (task == null) {
+                return false;
+            }
+            Task copy = new Task(task);
+            copy.getReminders().add(new Reminder(reminder)); // The caller keeps its own object
+            replaceTask(task, copy, null);
+            nextReminderId.accumulateAndGet(reminder.getId() + 1, Math::max);
+            pending.put(copy);
+            fireChange(pending, TaskChangeEvent.Type.UPDATED, taskId);
+            return true;
+        });
+    }
+
+    /**
+     * Updates the type and date of an existing reminder.
+     * @param taskId The ID of the task the reminder belongs to.
+     * @param reminderId The ID of the reminder.
+     * @param type The new reminder type.
+     * @param reminderDate The new reminder date.
+     */
+    public void updateReminder(int taskId, int reminderId, String type, LocalDate reminderDate) {
+        writeTask(taskId, pending -> {
+            Task task = task(taskId);
+            if (task == null) {
+                return null;
+            }
+            Task copy = new Task(task);
+            for (Reminder reminder : copy.getReminders()) {
+                if (reminder.getId() == reminderId) {
+                    reminder.setType(type);
+                    reminder.setReminderDate(reminderDate);
+                    replaceTask(task, copy, null);
+                    pending.put(copy);
+                    fireChange(pending, TaskChangeEvent.Type.UPDATED, taskId);
+                    break;
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Deletes a reminder from a task.
+     * @param taskId The ID of the task the reminder belongs to.
+     * @param reminderId The ID of the reminder to delete.
+     */
+    public void deleteReminder(int taskId, int reminderId) {
+        writeTask(taskId, pending -> {
+            Task task = task(taskId);
+            if (task == null) {
+                return null;
+            }
+            Task copy = new Task(task);
+            if (copy.getReminders().removeIf(reminder -> reminder.getId() == reminderId)) {
+                replaceTask(task, copy, null);
+                pending.put(copy);
+                fireChange(pending, TaskChangeEvent.Type.UPDATED, taskId);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Returns all reminders ordered by date, then ID.
+     * @return A new list of the reminders.
+     */
+    public List<Reminder> getAllReminders() {
+        return read(reminderIndex::inDateOrder);
+    }
+
+    /**
+     * Returns the reminders dated in a range, ordered by date, then ID.
+     * @param from The first day of the range (inclusive).
+     * @param to The end of the range (exclusive).
+     * @return The matching reminders.
+     */
+    public List<Reminder> getRemindersBetween(LocalDate from, LocalDate to) {
+        return read(() -> reminderIndex.between(from, to));
+    }
+
+    /**
+     * Returns the reminders of a task.
+     * @param taskId The task ID.
+     * @return The task's reminders, or an empty list.
+     */
+    public List<Reminder> getReminders(int taskId) {
+        return read(() -> reminderIndex.forTask(taskId));
+    }
+
+    /**
+     * Finds a reminder by its ID.
+     * @param reminderId The reminder ID.
+     * @return The reminder, or null if no reminder has this ID.
+     */
+    public Reminder findReminder(int reminderId) {
+        return read(() -> reminderIndex.get(reminderId));
+    }
+
+    /**
+     * Checks whether a task already has a reminder on a date.
+     * @param taskId The task ID.
+     * @param date The reminder date.
+     * @return True if a reminder of the task falls on this date.
+     */
+    public boolean hasReminderOn(int taskId, LocalDate date) {
+        return read(() -> reminderIndex.hasReminderOn(taskId, date));
+    }
+
+    /**
+     * Returns the number of reminders.
+     */
+    public int getReminderCount() {
+        return read(reminderIndex::size);
+    }
+
+    /**
+     * Finds a task by its ID.
+     * The task is the stored object and must not be modified; change it through
+     * {@link #updateTask} and the reminder methods, or copy it.
+     * @param id The task ID.
+     * @return The task, or null if no task has this ID.
+     */
+    public Task findTask(int id) {
+        return current.find(id);
+    }
+
+    // --------------------------------
+    // CHANGE EVENTS
+    // --------------------------------
+
+    /**
+     * Registers a listener that is told about every task change.
+     * @param listener The listener.
+     */
+    public void addChangeListener(TaskChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Unregisters a change listener.
+     * @param listener The listener.
+     */
+    public void removeChangeListener(TaskChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    private void fireChange(Pending pending, TaskChangeEvent.Type type, int... taskIds) {
+        if (!listeners.isEmpty()) {
+            pending.event = new TaskChangeEvent(type, taskIds);
+        }
+    }
+
+    private void fireChange(Pending pending, TaskChangeEvent.Type type, List<Task> changed) {
+        if (!listeners.isEmpty()) {
+            pending.event = new TaskChangeEvent(type, changed);
+        }
+    }
+
+    private void fireBulkUpdate(Pending pending, List<Task> updated) {
+        if (!updated.isEmpty()) {
+            fireChange(pending, TaskChangeEvent.Type.UPDATED, updated);
+        }
+    }
+
+    private void publish(TaskChangeEvent event) {
+        for (TaskChangeListener listener : listeners) {
+            listener.tasksChanged(event);
+        }
+    }
+
+    // --------------------------------
+    // ARCHIVE
+    // --------------------------------
+
+    /**
+     * Maps the current binary snapshot as a read-only archive.
+     * Archived tasks are counted and looked up straight from the mapped file;
+     * a Task object is only created when one is restored.
+     * @return True if an archive was opened, false if there is no binary snapshot.
+     */
+    public boolean openArchive() throws IOException {
+        MappedSnapshotReader reader = storage.openMappedSnapshot();
+        return writeAll(pending -> attachArchive(reader));
+    }
+
+    /**
+     * Maps a binary snapshot file as a read-only archive.
+     * @param path The snapshot file.
+     */
+    public void openArchive(Path path) throws IOException {
+        MappedSnapshotReader reader = MappedSnapshotReader.open(path);
+        writeAll(pending -> attachArchive(reader));
+    }
+
+    /**
+     * Closes the archive, if one is open.
+     */
+    public void closeArchive() {
+        writeAll(pending -> attachArchive(null));
+    }
+
+    /**
+     * Returns the open archive, or null.
+     */
+    public MappedSnapshotReader getArchive() {
+        return read(() -> archive);
+    }
+
+    /**
+     * Returns the number of archived tasks, or 0 if no archive is open.
+     */
+    public int getArchivedTaskCount() {
+        return read(() -> archive == null ? 0 : archive.size());
+    }
+
+    /**
+     * Returns the number of archived tasks with this status.
+     */
+    public int countArchivedTasksByStatus(Status status) {
+        return read(() -> archive == null ? 0 : archive.countWithStatus(status));
+    }
+
+    /**
+     * Returns views of the archived tasks in a category (case-insensitive).
+     */
+    public List<MappedSnapshotReader.TaskView> getArchivedTasksByCategory(String category) {
+        return read(() -> archive == null ? new ArrayList<>() : archive.withCategory(category));
+    }
+
+    /**
+     * Finds an archived task by ID without materializing it.
+     * @return The task's view, or null if it is not in the archive.
+     */
+    public MappedSnapshotReader.TaskView findArchivedTask(int id) {
+        return read(() -> archive == null ? null : archive.find(id));
+    }
+
+    /**
+     * Makes an archived task editable by materializing it and adding it to the live tasks.
+     * If a live task with the same ID exists, it is returned unchanged.
+     * @param id The task ID.
+     * @return The live task, or null if the ID is neither live nor archived.
+     */
+    public Task restoreArchivedTask(int id) {
+        Task task = findTask(id);
+        if (task != null) {
+            return task;
+        }
+        task = read(() -> {
+            MappedSnapshotReader.TaskView view = archive == null ? null : archive.find(id);
+            return view == null ? null : view.toTask();
+        });
+        if (task != null) {
+            addTask(task);
+            task = findTask(id);
+        }
+        return task;
+    }
+
+    private boolean attachArchive(MappedSnapshotReader reader) {
+        if (archive != null) {
+            archive.close();
+        }
+        archive = reader;
+        return reader != null;
+    }
+
+    // --------------------------------
+    // DATA MANAGEMENT
+    // --------------------------------
+
+    /**
+     * Loads task data from the storage.
+     */
+    public void loadData() {
+        loadData(new StreamingTaskLoader.Options());
+    }
+
+    /**
+     * Loads task data from the storage, keeping only the tasks allowed by the options.
+     * After a partial load the snapshot is never overwritten, since it would lose the tasks
+     * that were left out; changes are still journaled. The same holds when the stored data
+     * cannot be read: the TaskManager starts empty, but the files are kept as they are.
+     * Adds the default categories and priority levels if the loaded lists are empty.
+     * @param options The cap, filter and progress listener.
+     */
+    public void loadData(StreamingTaskLoader.Options options) {
+        taskLocks.lockAll(); // No change can start until the new data is in place
+        try {
+            saveScheduler.flush(); // Make sure pending changes are on disk before reading
+            Pending pending = new Pending();
+            underWriteLock(() -> {
+                load(options);
+                fireChange(pending, TaskChangeEvent.Type.RELOADED);
+                return null;
+            });
+            finish(pending);
+        } finally {
+            taskLocks.unlockAll();
+        }
+    }
+
+    private void load(StreamingTaskLoader.Options options) {
+        partiallyLoaded = options.isPartial();
+        overdueCheckedUntil = null;
+        try {
+            JSONHandler.DataWrapper data = storage.loadData(options);
+            draft().clear();
+            this.index.clear();
+            this.reminderIndex.clear();
+            this.textIndex.clear();
+            this.nextTaskId.set(1);
+            this.nextReminderId.set(1);
+            for (Task task : data.getTasks()) {
+                bind(task);
+                draft.put(task);
+                index.add(task);
+                reminderIndex.addAll(task);
+                textIndex.add(task);
+                nextTaskId.accumulateAndGet(task.getId() + 1, Math::max);
+                for (Reminder reminder : task.getReminders()) {
+                    nextReminderId.accumulateAndGet(reminder.getId() + 1, Math::max);
+                }
+            }
+            nextTaskId.accumulateAndGet(data.getNextTaskId(), Math::max); // Past the tasks a partial load left out
+            nextReminderId.accumulateAndGet(data.getNextReminderId(), Math::max);
+            this.categories = data.getCategories();
+            this.priorityLevels = data.getPriorities();
+        } catch (Exception e) {
+            draft().clear();
+            this.index.clear();
+            this.reminderIndex.clear();
+            this.textIndex.clear();
+            this.categories = new ArrayList<>();
+            this.priorityLevels = new ArrayList<>();
+            partiallyLoaded = true; // An empty snapshot written now would replace the unreadable data
+            System.err.println("Error loading data: " + e.getMessage());
+        }
+        initializeDefaults();
+        draft.setCategories(categories);
+        draft.setPriorityLevels(priorityLevels);
+    }
+
+    /**
+     * Saves task data to the storage.
+     * The write is scheduled according to the durability mode; repeated calls are coalesced.
+     * After a partial or failed load nothing is written: the snapshot must not be replaced
+     * with the loaded subset, and every change since the load is already in the journal.
+     */
+    public void saveData() {
+        if (partiallyLoaded) {
+            return;
+        }
+        saveScheduler.saveSnapshot(this::snapshot);
+    }
+
+    /**
+     * Returns the storage this TaskManager loads from and saves to.
+     */
+    public TaskStorage getStorage() {
+        return storage;
+    }
+
+    /**
+     * Blocks until all pending changes have been written to disk.
+     */
+    public void flush() {
+        saveScheduler.flush();
+    }
+
+    /**
+     * Flushes pending changes, stops the persistence thread and waits for background work of the storage.
+     * Should be called when the application shuts down.
+     */
+    public void close() {
+        saveScheduler.close();
+        storage.close();
+    }
+
+    /**
+     * Switches when changes are written to disk.
+     * @param mode The new durability mode.
+     */
+    public void setDurabilityMode(SaveScheduler.DurabilityMode mode) {
+        saveScheduler.setMode(mode);
+    }
+
+    /**
+     * Returns the current data in a form that can be serialized while the store keeps changing.
+     * The tasks of a snapshot never change, so they are not copied.
+     */
+    private JSONHandler.DataWrapper snapshot() {
+        TaskSnapshot tasks = current;
+        return new JSONHandler.DataWrapper(new ArrayList<>(tasks.getTasks()), new ArrayList<>(tasks.getCategories()),
+                new ArrayList<>(tasks.getPriorityLevels()), reminders);
+    }
+
+    /**
+     * Replaces the task's category and priority with the canonical symbols of this store,
+     * so that the task does not keep its own copies of the names.
+     */
+    private void bind(Task task) {
+        Symbol category = task.getCategorySymbol();
+        if (category != null && category != categorySymbols.find(category.getName())) {
+            task.setCategorySymbol(categorySymbols.intern(category.getName()));
+        }
+        Symbol priority = task.getPrioritySymbol();
+        if (priority != null && priority != prioritySymbols.find(priority.getName())) {
+            task.setPrioritySymbol(prioritySymbols.intern(priority.getName()));
+        }
+    }
+
+    private static List<Symbol> symbolList(Symbol symbol) {
+        return symbol == null ? List.of() : List.of(symbol);
+    }
+
+    /**
+     * Publishes the category and priority lists, as they are now, with the next snapshot and
+     * adds them to the pending entries.
+     */
+    private void pendingLists(Pending pending) {
+        draft().setCategories(categories);
+        draft().setPriorityLevels(priorityLevels);
+        pending.entries.add(TaskJournal.Entry.categories(categories));
+        pending.entries.add(TaskJournal.Entry.priorities(priorityLevels));
+    }
+
+    /**
+     * Persists the entries of a change in one write: appended to the journal when it is enabled,
+     * otherwise by saving the whole data set. After a partial or failed load the entries are
+     * journaled even if the journal is disabled, since the snapshot cannot be rewritten from
+     * the loaded subset; a compaction later folds them into the full snapshot on disk.
+     */
+    private void persist(List<TaskJournal.Entry> entries) {
+        if (storage.isJournalEnabled() || partiallyLoaded) {
+            saveScheduler.appendLines(encodeAll(entries));
+        } else {
+            saveData();
+        }
+    }
+
+    /**
+     * Encodes journal entries in order, splitting large batches across the bulk pool.
+     */
+    private List<String> encodeAll(List<TaskJournal.Entry> entries) {
+        String[] encoded = new String[entries.size()];
+        bulk.forEach(encoded.length, i -> encoded[i] = storage.encodeEntry(entries.get(i)));
+        List<String> lines = new ArrayList<>(encoded.length);
+        for (String line : encoded) {
+            if (line != null) {
+                lines.add(line);
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Reserves a unique ID for a new task.
+     * Every call returns a different ID, also when called from several threads at once.
+     * @return A new unique task ID.
+     */
+    public int generateTaskId() {
+        return nextTaskId.getAndIncrement();
+    }
+
+    // --------------------------------
+    // LOCKING
+    // --------------------------------
+
+    /**
+     * What a change leaves for after the write lock is released: the journal entries to write
+     * and the event to publish. Entries refer to stored tasks, which never change, so they can
+     * be encoded without the lock.
+     */
+    private static final class Pending {
+        private final List<TaskJournal.Entry> entries = new ArrayList<>();
+        private TaskChangeEvent event;
+
+        void put(Task task) {
+            entries.add(TaskJournal.Entry.put(task));
+        }
+
+        void putAll(List<Task> updated) {
+            for (Task task : updated) {
+                put(task);
+            }
+        }
+
+        void delete(int id) {
+            entries.add(TaskJournal.Entry.delete(id));
+        }
+    }
+
+    /**
+     * Runs a read while holding the read lock, which other reads share.
+     */
+    private <T> T read(Supplier<T> reader) {
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            return reader.get();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Changes one task: applies the change under the write lock, then persists it and publishes
+     * its event while holding only the task's stripe.
+     * @param id The ID of the task.
+     * @param change Applies the change and records what to persist and publish.
+     * @return The result of the change.
+     */
+    private <T> T writeTask(int id, Function<Pending, T> change) {
+        taskLocks.lock(id);
+        try {
+            Pending pending = new Pending();
+            T result = underWriteLock(() -> change.apply(pending));
+            finish(pending);
+            return result;
+        } finally {
+            taskLocks.unlock(id);
+        }
+    }
+
+    /**
+     * Changes any number of tasks or the lists, like {@link #writeTask} but holding every stripe.
+     */
+    private <T> T writeAll(Function<Pending, T> change) {
+        taskLocks.lockAll();
+        try {
+            Pending pending = new Pending();
+            T result = underWriteLock(() -> change.apply(pending));
+            finish(pending);
+            return result;
+        } finally {
+            taskLocks.unlockAll();
+        }
+    }
+
+    /**
+     * Runs an action while no other thread changes the store, and no change is still being
+     * persisted or published. Reads go on as usual, so the action may read the store.
+     */
+    void runExclusively(Runnable action) {
+        taskLocks.lockAll();
+        try {
+            action.run();
+        } finally {
+            taskLocks.unlockAll();
+        }
+    }
+
+    /**
+     * Runs a change under the write lock and publishes the snapshot it made, if any, before
+     * the lock is released, so readers of the indexes and of the snapshot agree.
+     */
+    private <T> T underWriteLock(Supplier<T> action) {
+        Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            return action.get();
+        } finally {
+            if (draft != null) {
+                current = draft.build();
+                draft = null;
+            }
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the builder of the next snapshot, starting it from the current one on first use.
+     * Only called under the write lock.
+     */
+    private TaskSnapshot.Builder draft() {
+        if (draft == null) {
+            draft = current.toBuilder();
+        }
+        return draft;
+    }
+
+    /**
+     * Finds a task as the change being made sees it. Only called under the write lock.
+     */
+    private Task task(int id) {
+        return draft != null ? draft.find(id) : current.find(id);
+    }
+
+    private void finish(Pending pending) {
+        if (!pending.entries.isEmpty()) {
+            persist(pending.entries);
+        }
+        if (pending.event != null) {
+            publish(pending.event);
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package org.example.controller;
+
+import org.example.model.Status;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * A query over the tasks of a {@link TaskManager}: conditions on category, priority, status,
+ * deadline and text, combined with AND, plus a sort order and a limit.
+ * Queries are immutable and built with {@link #builder()}, e.g.
+ * <pre>
+ * TaskQuery.builder().category("Work").status(Status.OPEN, Status.IN_PROGRESS)
+ *         .sortBy(TaskQuery.Sort.DEADLINE).limit(20).build()
+ * </pre>
+ * TaskManager runs a query with {@link TaskManager#findTasks(TaskQuery)}, starting from the
+ * index that is cheapest for the query.
+ */
+public final class TaskQuery {
+    /**
+     * The order of the results.
+     */
+    public enum Sort {
+        /** Whatever order the chosen index yields; the cheapest. */
+        NONE,
+        /** By deadline, then by ID. */
+        DEADLINE,
+        /** By title ignoring case, then by ID. */
+        TITLE,
+        /** Best text match first; by ID if the query has no text. */
+        RELEVANCE
+    }
+
+    private final String category;
+    private final String priority;
+    private final Set<Status> statuses;
+    private final LocalDate dueFrom;
+    private final LocalDate dueTo;
+    private final boolean deadlineRange;
+    private final String text;
+    private final Sort sort;
+    private final int limit;
+
+    private TaskQuery(Builder builder) {
+        this.category = builder.category;
+        this.priority = builder.priority;
+        if (builder.statuses == null) {
+            this.statuses = null;
+        } else {
+            Set<Status> copy = EnumSet.noneOf(Status.class);
+            copy.addAll(builder.statuses);
+            this.statuses = Collections.unmodifiableSet(copy);
+        }
+        this.dueFrom = builder.dueFrom;
+        this.dueTo = builder.dueTo;
+        this.deadlineRange = builder.deadlineRange;
+        this.text = builder.text;
+        this.sort = builder.sort;
+        this.limit = builder.limit;
+    }
+
+    /**
+     * Returns a builder for a query that matches all tasks.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public String getCategory() { return category; }
+
+    public String getPriority() { return priority; }
+
+    public Set<Status> getStatuses() { return statuses; }
+
+    public LocalDate getDueFrom() { return dueFrom; }
+
+    public LocalDate getDueTo() { return dueTo; }
+
+    /**
+     * Returns whether the query restricts deadlines. Tasks without a deadline never match a deadline range.
+     */
+    public boolean hasDeadlineRange() { return deadlineRange; }
+
+    public String getText() { return text; }
+
+    public Sort getSort() { return sort; }
+
+    public int getLimit() { return limit; }
+
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder("TaskQuery[");
+        if (category != null) {
+            result.append("category=").append(category).append(' ');
+        }
+        if (priority != null) {
+            result.append("priority=").append(priority).append(' ');
+        }
+        if (statuses != null) {
+            result.append("status=").append(statuses).append(' ');
+        }
+        if (deadlineRange) {
+            result.append("due=[").append(dueFrom).append(", ").append(dueTo).append(") ");
+        }
+        if (text != null) {
+            result.append("text=\"").append(text).append("\" ");
+        }
+        result.append("sort=").append(sort);
+        if (limit != Integer.MAX_VALUE) {
+            result.append(" limit=").append(limit);
+        }
+        return result.append(']').toString();
+    }
+
+    /**
+     * Builds a {@link TaskQuery}. Every condition is optional; null leaves it out.
+     */
+    public static final class Builder {
+        private String category;
+        private String priority;
+        private Set<Status> statuses;
+        private LocalDate dueFrom;
+        private LocalDate dueTo;
+        private boolean deadlineRange;
+        private String text;
+        private Sort sort = Sort.NONE;
+        private int limit = Integer.MAX_VALUE;
+
+        private Builder() {
+        }
+
+        /**
+         * Matches the tasks in a category, ignoring case.
+         */
+        public Builder category(String category) {
+            this.category = category;
+            return this;
+        }
+
+        /**
+         * Matches the tasks with a priority level, ignoring case.
+         */
+        public Builder priority(String priority) {
+            this.priority = priority;
+            return this;
+        }
+
+        /**
+         * Matches the tasks with any of the given statuses.
+         */
+        public Builder status(Status... statuses) {
+            return statuses(statuses.length == 0 ? null : EnumSet.of(statuses[0], statuses));
+        }
+
+        /**
+         * Matches the tasks with any of the given statuses.
+         * @param statuses The statuses, or null for any status.
+         */
+        public Builder statuses(Set<Status> statuses) {
+            this.statuses = statuses;
+            return this;
+        }
+
+        /**
+         * Matches the tasks whose deadline is in [from, to).
+         * @param from The first day (inclusive), or null for no lower bound.
+         * @param to The end (exclusive), or null for no upper bound.
+         */
+        public Builder dueBetween(LocalDate from, LocalDate to) {
+            this.dueFrom = from;
+            this.dueTo = to;
+            this.deadlineRange = true;
+            return this;
+        }
+
+        /**
+         * Matches the tasks that contain every word of the text in their title or description,
+         * as described in {@link TaskManager#searchTasks(String, int)}.
+         * @param text The text; null or blank leaves the condition out.
+         */
+        public Builder text(String text) {
+            this.text = text == null || text.isBlank() ? null : text;
+            return this;
+        }
+
+        public Builder sortBy(Sort sort) {
+            this.sort = sort == null ? Sort.NONE : sort;
+            return this;
+        }
+
+        /**
+         * Limits the number of results.
+         * @param limit The maximum number of results, at least 0.
+         */
+        public Builder limit(int limit) {
+            if (limit < 0) {
+                throw new IllegalArgumentException("Negative limit: " + limit);
+            }
+            this.limit = limit;
+            return this;
+        }
+
+        public TaskQuery build() {
+            return new TaskQuery(this);
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package org.example.controller;
+
+import org.example.model.Task;
+import org.example.utils.PersistentIntMap;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * One version of the tasks of a {@link TaskManager}, with its category and priority lists.
+ *
+ * <p>A snapshot never changes, so it can be read from any thread without locking, for as long
+ * as needed, while the TaskManager moves on: a view renders one version, an export writes one
+ * version, and the counts read from it always agree with its tasks. Every change to the tasks
+ * or lists publishes a new snapshot with the next version number. Snapshots are built on
+ * {@link PersistentIntMap}s, so a new version shares all unchanged tasks and most of the
+ * trie with the previous one, and publishing a change to k tasks costs O(k log n).</p>
+ *
+ * <p>The tasks of a snapshot are never changed by the TaskManager, which stores a changed
+ * copy instead; callers must not change them either.</p>
+ */
+public final class TaskSnapshot implements Iterable<Task> {
+    static final TaskSnapshot EMPTY = new TaskSnapshot(0, PersistentIntMap.empty(), PersistentIntMap.empty(),
+            0, List.of(), List.of());
+
+    private final long version;
+    private final PersistentIntMap<Slot> byId;
+    private final PersistentIntMap<Task> byOrder; // Insertion number -> task, for iterating in insertion order
+    private final int nextOrder;
+    private final List<String> categories;
+    private final List<String> priorityLevels;
+    private volatile List<Task> list;             // getTasks(), made on first use
+
+    private TaskSnapshot(long version, PersistentIntMap<Slot> byId, PersistentIntMap<Task> byOrder, int nextOrder,
+                         List<String> categories, List<String> priorityLevels) {
+        this.version = version;
+        this.byId = byId;
+        this.byOrder = byOrder;
+        this.nextOrder = nextOrder;
+        this.categories = categories;
+        this.priorityLevels = priorityLevels;
+    }
+
+    /**
+     * Returns the version number, which grows by one with every published change.
+     */
+    public long getVersion() { return version; }
+
+    /**
+     * Returns the number of tasks.
+     */
+    public int size() { return byId.size(); }
+
+    public boolean isEmpty() { return byId.isEmpty(); }
+
+    /**
+     * Finds a task by its ID.
+     * @param id The task ID.
+     * @return The task, or null if this version has no task with the ID.
+     */
+    public Task find(int id) {
+        Slot slot = byId.get(id);
+        return slot == null ? null : slot.task;
+    }
+
+    /**
+     * Returns the insertion number of a task. Numbers grow with every added task and are kept
+     * when a task is replaced, so they sort the tasks in the order of {@link #getTasks()}.
+     * @param id The task ID.
+     * @return The insertion number, or -1 if this version has no task with the ID.
+     */
+    public int orderOf(int id) {
+        Slot slot = byId.get(id);
+        return slot == null ? -1 : slot.order;
+    }
+
+    /**
+     * Returns the tasks in insertion order as an unmodifiable list. The list is made once
+     * per snapshot and shared by all callers.
+     */
+    public List<Task> getTasks() {
+        List<Task> tasks = list;
+        if (tasks == null) {
+            List<Task> copy = new ArrayList<>(size());
+            for (Task task : byOrder) {
+                copy.add(task);
+            }
+            tasks = Collections.unmodifiableList(copy);
+            list = tasks;
+        }
+        return tasks;
+    }
+
+    /**
+     * Returns the category names as an unmodifiable list.
+     */
+    public List<String> getCategories() { return categories; }
+
+    /**
+     * Returns the priority levels as an unmodifiable list.
+     */
+    public List<String> getPriorityLevels() { return priorityLevels; }
+
+    /**
+     * Iterates over the tasks in insertion order.
+     */
+    @Override
+    public Iterator<Task> iterator() {
+        return byOrder.iterator();
+    }
+
+    /**
+     * Returns the tasks in insertion order as a sequential stream.
+     */
+    public Stream<Task> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Starts the next version from this one.
+     */
+    Builder toBuilder() {
+        return new Builder(this);
+    }
+
+    /**
+     * The place of a task: the task and its insertion number.
+     */
+    private static final class Slot {
+        private final Task task;
+        private final int order;
+
+        Slot(Task task, int order) {
+            this.task = task;
+            this.order = order;
+        }
+    }
+
+    /**
+     * Collects the changes of one write. Only the thread holding the TaskManager's write lock
+     * uses a builder; readers keep seeing the previous snapshot until {@link #build()} is published.
+     */
+    static final class Builder {
+        private final long version;
+        private PersistentIntMap.Builder<Slot> byId;
+        private PersistentIntMap.Builder<Task> byOrder;
+        private int nextOrder;
+        private List<String> categories;
+        private List<String> priorityLevels;
+
+        private Builder(TaskSnapshot snapshot) {
+            version = snapshot.version + 1;
+            byId = snapshot.byId.toBuilder();
+            byOrder = snapshot.byOrder.toBuilder();
+            nextOrder = snapshot.nextOrder;
+            categories = snapshot.categories;
+            priorityLevels = snapshot.priorityLevels;
+        }
+
+        int size() {
+            return byId.size();
+        }
+
+        Task find(int id) {
+            Slot slot = byId.get(id);
+            return slot == null ? null : slot.task;
+        }
+
+        /**
+         * Adds a task, or replaces the task with the same ID in its place.
+         * @return The replaced task, or null if the task is new.
+         */
+        Task put(Task task) {
+            Slot previous = byId.get(task.getId());
+            int order = previous == null ? nextOrder++ : previous.order;
+            byId.put(task.getId(), new Slot(task, order));
+            byOrder.put(order, task);
+            return previous == null ? null : previous.task;
+        }
+
+        /**
+         * Removes a task.
+         * @return The removed task, or null if there is no task with the ID.
+         */
+        Task remove(int id) {
+            Slot removed = byId.remove(id);
+            if (removed == null) {
+                return null;
+            }
+            byOrder.remove(removed.order);
+            return removed.task;
+        }
+
+        /**
+         * Removes all tasks, as when the data is loaded again.
+         */
+        void clear() {
+            byId = PersistentIntMap.<Slot>empty().toBuilder();
+            byOrder = PersistentIntMap.<Task>empty().toBuilder();
+            nextOrder = 0;
+        }
+
+        void setCategories(List<String> categories) {
+            this.categories = Collections.unmodifiableList(new ArrayList<>(categories));
+        }
+
+        void setPriorityLevels(List<String> priorityLevels) {
+            this.priorityLevels = Collections.unmodifiableList(new ArrayList<>(priorityLevels));
+        }
+
+        TaskSnapshot build() {
+            return new TaskSnapshot(version, byId.build(), byOrder.build(), nextOrder, categories, priorityLevels);
+        }
+    }
+}
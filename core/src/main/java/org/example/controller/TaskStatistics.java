@@ -0,0 +1,103 @@
+package org.example.controller;
+
+import org.example.model.Status;
+import org.example.model.Task;
+
+import java.time.LocalDate;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Dashboard counters that are kept up to date as tasks are added and removed,
+ * so reading them never scans the tasks.
+ *
+ * <p>"Upcoming" counts the tasks that are not completed and whose deadline is after today
+ * and less than a week away. Open tasks are counted per deadline day in a sorted map; the
+ * upcoming count is cached for the current day and, when the day changes, recomputed from
+ * the seven day buckets of the new window instead of from the tasks.</p>
+ *
+ * <p>The counters are updated by {@link TaskIndex} together with the indexes. All methods
+ * are synchronized so the dashboard can read them while another thread changes tasks.</p>
+ */
+public class TaskStatistics {
+    private static final int UPCOMING_DAYS = 7;
+
+    private int total;
+    private int completed;
+    private int delayed;
+
+    // Number of tasks that are not completed, per deadline day
+    private final NavigableMap<LocalDate, Integer> openByDeadline = new TreeMap<>();
+    private LocalDate today = LocalDate.now();
+    private int upcoming;
+
+    /**
+     * Returns the number of tasks.
+     */
+    public synchronized int getTotal() {
+        return total;
+    }
+
+    /**
+     * Returns the number of completed tasks.
+     */
+    public synchronized int getCompleted() {
+        return completed;
+    }
+
+    /**
+     * Returns the number of delayed tasks.
+     */
+    public synchronized int getDelayed() {
+        return delayed;
+    }
+
+    /**
+     * Returns the number of tasks that are not completed and are due after today but within a week.
+     * @param today The current day. If it differs from the last call, the window moves forward.
+     */
+    public synchronized int getUpcoming(LocalDate today) {
+        if (!today.equals(this.today)) {
+            this.today = today;
+            upcoming = 0;
+            for (int day = 1; day < UPCOMING_DAYS; day++) {
+                upcoming += openByDeadline.getOrDefault(today.plusDays(day), 0);
+            }
+        }
+        return upcoming;
+    }
+
+    synchronized void add(Task task) {
+        update(task, 1);
+    }
+
+    synchronized void remove(Task task) {
+        update(task, -1);
+    }
+
+    synchronized void clear() {
+        total = 0;
+        completed = 0;
+        delayed = 0;
+        upcoming = 0;
+        openByDeadline.clear();
+    }
+
+    private void update(Task task, int delta) {
+        total += delta;
+        if (task.getStatus() == Status.COMPLETED) {
+            completed += delta;
+            return;
+        }
+        if (task.getStatus() == Status.DELAYED) {
+            delayed += delta;
+        }
+        LocalDate deadline = task.getDeadline();
+        if (deadline != null) {
+            openByDeadline.merge(deadline, delta, (a, b) -> a + b == 0 ? null : a + b);
+            if (deadline.isAfter(today) && deadline.isBefore(today.plusDays(UPCOMING_DAYS))) {
+                upcoming += delta;
+            }
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package org.example.controller;
+
+import org.example.model.Status;
+import org.example.model.Task;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A batch of task changes that a {@link TaskManager} applies as one unit.
+ * Changes are only recorded here; the tasks, the indexes and the files are not touched and
+ * nothing is visible to readers until {@link #commit()}. Commit applies the changes in the
+ * order they were made while holding the TaskManager's write lock, persists them in one write and
+ * publishes one {@link TaskChangeEvent} for all the affected tasks, so its cost grows with
+ * the size of the batch rather than with the size of the store. {@link #rollback()}
+ * discards the changes. As with the TaskManager methods of the same names, updates and
+ * deletes of tasks that do not exist at commit time are ignored.
+ *
+ * <p>A transaction is meant for one thread and is finished by its first commit or rollback.
+ * Used with try-with-resources, a transaction that was not committed is rolled back:</p>
+ * <pre>
+ * try (TaskTransaction transaction = taskManager.beginTransaction()) {
+ *     transaction.addTask(task);
+ *     transaction.deleteTask(oldId);
+ *     transaction.commit();
+ * }
+ * </pre>
+ */
+public class TaskTransaction implements AutoCloseable {
+    /**
+     * The kind of a recorded change.
+     */
+    enum Kind { ADD, UPDATE, DELETE }
+
+    private final TaskManager taskManager;
+    private List<Change> changes = new ArrayList<>();
+
+    TaskTransaction(TaskManager taskManager) {
+        this.taskManager = taskManager;
+    }
+
+    /**
+     * Reserves a unique ID for a task added in this transaction.
+     * The ID is not reused, even if the transaction is rolled back.
+     * @return A new unique task ID.
+     */
+    public int generateTaskId() {
+        checkOpen();
+        return taskManager.reserveTaskId();
+    }
+
+    /**
+     * Records the addition of a task, or its replacement if a task with the same ID exists at commit.
+     * A copy of the task is recorded, so later changes to the caller's object are not committed.
+     * @param task The task to add.
+     */
+    public void addTask(Task task) {
+        checkOpen();
+        Task copy = new Task(Objects.requireNonNull(task));
+        changes.add(new Change(Kind.ADD, copy, copy.getId(),
+                null, null, null, null, null, null));
+    }
+
+    /**
+     * Records an update of an existing task, as in {@link TaskManager#updateTask}.
+     * @param id The ID of the task to update.
+     * @param title The new title.
+     * @param description The new description.
+     * @param category The new category.
+     * @param priority The new priority level.
+     * @param deadline The new deadline.
+     * @param status The new status.
+     */
+    public void updateTask(int id, String title, String description, String category, String priority, LocalDate deadline, Status status) {
+        checkOpen();
+        changes.add(new Change(Kind.UPDATE, null, id, title, description, category, priority, deadline, status));
+    }
+
+    /**
+     * Records the deletion of a task.
+     * @param id The ID of the task to delete.
+     */
+    public void deleteTask(int id) {
+        checkOpen();
+        changes.add(new Change(Kind.DELETE, null, id, null, null, null, null, null, null));
+    }
+
+    /**
+     * Returns the number of recorded changes.
+     */
+    public int size() {
+        return changes == null ? 0 : changes.size();
+    }
+
+    /**
+     * Returns whether the transaction was committed or rolled back.
+     */
+    public boolean isFinished() {
+        return changes == null;
+    }
+
+    /**
+     * Applies all recorded changes, persists them in one write and publishes one change event.
+     * @throws IllegalStateException If the transaction is already finished.
+     */
+    public void commit() {
+        checkOpen();
+        List<Change> committed = changes;
+        changes = null;
+        if (!committed.isEmpty()) {
+            taskManager.commit(committed);
+        }
+    }
+
+    /**
+     * Discards all recorded changes.
+     * @throws IllegalStateException If the transaction is already finished.
+     */
+    public void rollback() {
+        checkOpen();
+        changes = null;
+    }
+
+    /**
+     * Rolls back the transaction unless it is already finished.
+     */
+    @Override
+    public void close() {
+        changes = null;
+    }
+
+    private void checkOpen() {
+        if (changes == null) {
+            throw new IllegalStateException("The transaction was already committed or rolled back");
+        }
+    }
+
+    /**
+     * A recorded change. Only the fields of its kind are set.
+     */
+    static final class Change {
+        final Kind kind;
+        final Task task;
+        final int id;
+        final String title;
+        final String description;
+        final String category;
+        final String priority;
+        final LocalDate deadline;
+        final Status status;
+
+        Change(Kind kind, Task task, int id, String title, String description, String category,
+               String priority, LocalDate deadline, Status status) {
+            this.kind = kind;
+            this.task = task;
+            this.id = id;
+            this.title = title;
+            this.description = description;
+            this.category = category;
+            this.priority = priority;
+            this.deadline = deadline;
+            this.status = status;
+        }
+    }
+}
@@ -0,0 +1,613 @@
+package org.example.controller;
+
+import org.example.model.Task;
+import org.example.utils.IntObjectMap;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+/**
+ * Inverted index over the titles and descriptions of the tasks of a {@link TaskManager}.
+ *
+ * <p>Text is split into terms at every character that is not a letter or digit. Terms are
+ * case folded and stripped of accents, so "Σύσκεψη" and "σΥΣΚΕΨΗ" are the same term. Each
+ * term keeps the tasks that contain it; each task keeps its terms, with a weight that counts
+ * title occurrences three times. The term dictionary is sorted for prefix lookups, and every
+ * term of three or more characters is also indexed by its trigrams, so a query word can match
+ * inside a term ("port" finds "report"). Both lookups work on the dictionary, which is much
+ * smaller than the tasks.</p>
+ *
+ * <p>A query matches the tasks that contain every query word, as a whole term, a term prefix
+ * or (for words of three or more characters) a term infix. Results are ranked by the sum of
+ * the best match of each word: the term weight in the task times the rarity of the term,
+ * with whole-term matches ranked above prefix and infix matches. The postings of the word
+ * with the fewest matching tasks drive the search; the other words are checked against the
+ * terms of each candidate. Each term's postings are split into buckets by weight, and the
+ * buckets are read from the highest possible score down, so once the best results are found
+ * the search stops without visiting the remaining tasks, even for words that occur in most
+ * tasks. The small, high scoring buckets of the other words are read first; this keeps the
+ * bound on what those words can add to a task of a driving-word bucket tight.</p>
+ *
+ * <p>Like {@link TaskIndex}, the index is updated by TaskManager: a task is removed before
+ * its title or description changes and added back afterwards. A copy with the same text
+ * takes the task's place through {@link #replace}.</p>
+ */
+class TextIndex {
+    private static final int TITLE_WEIGHT = 3;
+    private static final int MAX_TERM_LENGTH = 40;
+    private static final int GRAM = 3;
+    private static final double EXACT = 1.0;
+    private static final double PREFIX = 0.75;
+    private static final double INFIX = 0.5;
+    private static final int BUCKETS = 16; // Weights 1 to 15, and 16 and above
+    private static final int SHORT_TEXT = 32; // Up to this many words, repeated terms are found by a linear scan
+    private static final int EARLY_POSTINGS = 1024; // Postings per word that are scored before the driving word
+
+    private final IntObjectMap<Doc> docs = new IntObjectMap<>();
+    private final Map<String, Term> terms = new HashMap<>();
+    private final NavigableMap<String, Term> sortedTerms = new TreeMap<>();
+    private final Map<String, Set<Term>> termsByGram = new HashMap<>();
+
+    /**
+     * Adds the title and description of a task, replacing an earlier entry for the same ID.
+     */
+    void add(Task task) {
+        add(task, tokens(task));
+    }
+
+    /**
+     * Adds a task whose text was already split by {@link #tokens(Task)}, e.g. on another thread.
+     */
+    void add(Task task, Tokens text) {
+        remove(task.getId());
+        List<String> title = text.title;
+        List<String> description = text.description;
+        int tokens = title.size() + description.size();
+        Doc doc = new Doc(task, tokens);
+        Map<Term, Integer> positions = tokens > SHORT_TEXT ? new HashMap<>() : null;
+        for (String token : title) {
+            doc.count(term(token), TITLE_WEIGHT, positions);
+        }
+        for (String token : description) {
+            doc.count(term(token), 1, positions);
+        }
+        doc.trim();
+        for (int i = 0; i < doc.terms.length; i++) {
+            doc.terms[i].add(doc, i);
+        }
+        docs.put(task.getId(), doc);
+    }
+
+    /**
+     * Makes the entry of a task refer to a copy of it with the same title and description.
+     */
+    void replace(Task task) {
+        Doc doc = docs.get(task.getId());
+        if (doc != null) {
+            doc.task = task;
+        }
+    }
+
+    /**
+     * Removes a task. Must be called before the task's title or description changes.
+     */
+    void remove(int taskId) {
+        Doc doc = docs.remove(taskId);
+        if (doc == null) {
+            return;
+        }
+        for (int i = 0; i < doc.terms.length; i++) {
+            Term term = doc.terms[i];
+            term.remove(doc, i);
+            if (term.size == 0) {
+                terms.remove(term.text);
+                sortedTerms.remove(term.text);
+                for (int g = 0; g + GRAM <= term.text.length(); g++) {
+                    String gram = term.text.substring(g, g + GRAM);
+                    Set<Term> withGram = termsByGram.get(gram);
+                    if (withGram != null && withGram.remove(term) && withGram.isEmpty()) {
+                        termsByGram.remove(gram);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes all entries.
+     */
+    void clear() {
+        docs.clear();
+        terms.clear();
+        sortedTerms.clear();
+        termsByGram.clear();
+    }
+
+    /**
+     * Returns the number of distinct terms.
+     */
+    int termCount() {
+        return terms.size();
+    }
+
+    /**
+     * Returns the tasks that match every word of the query, best match first.
+     * Results with equal scores are ordered by task ID; which of several equally scored
+     * tasks make it into a limited result is not specified.
+     * @param query The query text. A query without words matches nothing.
+     * @param filter Further condition on the tasks, or null.
+     * @param limit The maximum number of results.
+     */
+    List<Task> search(String query, Predicate<Task> filter, int limit) {
+        return search(matcher(query), filter, limit);
+    }
+
+    /**
+     * Resolves the words of a query against the dictionary.
+     * The result is only valid until the index changes.
+     * @param query The query text.
+     */
+    Matcher matcher(String query) {
+        return new Matcher(query);
+    }
+
+    /**
+     * Returns the tasks that match a resolved query, best match first.
+     * @see #search(String, Predicate, int)
+     */
+    List<Task> search(Matcher matcher, Predicate<Task> filter, int limit) {
+        if (matcher.matchesNothing() || limit <= 0) {
+            return new ArrayList<>();
+        }
+        List<Map<Term, Double>> matches = matcher.matches;
+        int driver = matcher.driver;
+
+        // Read the highest scoring buckets of the other words first, while their postings are few.
+        // A task found later gets at most the bound of the first bucket left out from each of those words.
+        List<Segment> segments = new ArrayList<>();
+        double others = 0;
+        for (int w = 0; w < matches.size(); w++) {
+            if (w == driver) {
+                continue;
+            }
+            List<Segment> byBound = segments(matches.get(w), 0);
+            byBound.sort((a, b) -> Double.compare(b.bound, a.bound));
+            int budget = EARLY_POSTINGS;
+            int i = 0;
+            while (i < byBound.size() && byBound.get(i).postings.size <= budget) {
+                budget -= byBound.get(i).postings.size;
+                segments.add(new Segment(byBound.get(i++).postings, Double.POSITIVE_INFINITY));
+            }
+            others += i < byBound.size() ? byBound.get(i).bound : 0;
+        }
+        // Then the driving word's buckets from the highest possible score down
+        segments.addAll(segments(matches.get(driver), others));
+        segments.sort((a, b) -> Double.compare(b.bound, a.bound));
+        IntObjectMap<Doc> seen = segments.size() > 1 ? new IntObjectMap<>() : null;
+        PriorityQueue<Hit> best = new PriorityQueue<>(Math.min(limit, 1024) + 1, TextIndex::worseFirst);
+        for (Segment segment : segments) {
+            if (best.size() == limit && segment.bound <= best.peek().score) {
+                break; // No task in this or a later segment can score higher
+            }
+            Postings postings = segment.postings;
+            for (int p = 0; p < postings.size; p++) {
+                Doc doc = postings.docs[p];
+                if (seen != null && seen.put(doc.task.getId(), doc) != null) {
+                    continue;
+                }
+                double score = score(doc, matches);
+                if (score < 0 || (best.size() == limit && score <= best.peek().score)
+                        || (filter != null && !filter.test(doc.task))) {
+                    continue;
+                }
+                if (best.size() == limit) {
+                    best.poll();
+                }
+                best.add(new Hit(doc.task, score));
+            }
+        }
+        Task[] ranked = new Task[best.size()];
+        for (int i = ranked.length - 1; i >= 0; i--) {
+            ranked[i] = best.poll().task;
+        }
+        return new ArrayList<>(Arrays.asList(ranked));
+    }
+
+    /**
+     * The words of a query, each resolved to the terms it matches.
+     */
+    final class Matcher {
+        private final List<Map<Term, Double>> matches = new ArrayList<>();
+        private final boolean hasWords;
+        private boolean matchesNothing;
+        private int driver = -1;          // The word with the fewest postings
+        private long driverPostings = Long.MAX_VALUE;
+
+        private Matcher(String query) {
+            Set<String> words = new HashSet<>(tokenize(query));
+            hasWords = !words.isEmpty();
+            matchesNothing = !hasWords;
+            for (String word : words) {
+                Map<Term, Double> matched = match(word);
+                if (matched.isEmpty()) {
+                    matchesNothing = true;
+                    return;
+                }
+                long postings = 0;
+                for (Term term : matched.keySet()) {
+                    postings += term.size;
+                }
+                if (postings < driverPostings) {
+                    driverPostings = postings;
+                    driver = matches.size();
+                }
+                matches.add(matched);
+            }
+        }
+
+        /**
+         * Returns whether the query contains any word.
+         */
+        boolean hasWords() {
+            return hasWords;
+        }
+
+        /**
+         * Returns whether no task can match, because the query has no words or a word matches no term.
+         */
+        boolean matchesNothing() {
+            return matchesNothing;
+        }
+
+        /**
+         * Returns an upper bound of the number of matching tasks.
+         */
+        long estimate() {
+            return matchesNothing ? 0 : driverPostings;
+        }
+
+        /**
+         * Scores a task against the query.
+         * @return The score, or a negative number if the task does not match.
+         */
+        double score(int taskId) {
+            Doc doc = docs.get(taskId);
+            return doc == null || matchesNothing ? -1 : TextIndex.score(doc, matches);
+        }
+    }
+
+    /**
+     * Splits the title and description of a task into terms. Does not touch the index,
+     * so it can run concurrently with other calls to this method.
+     */
+    static Tokens tokens(Task task) {
+        return new Tokens(tokenize(task.getTitle()), tokenize(task.getDescription()));
+    }
+
+    /**
+     * Splits text into case folded, accent free terms.
+     * @param text The text, may be null.
+     */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        StringBuilder token = new StringBuilder();
+        boolean ascii = true;
+        for (int i = 0, n = text.length(); i <= n; i++) {
+            char c = i < n ? text.charAt(i) : ' ';
+            if (c < 0x80) {
+                if (c >= 'a' && c <= 'z' || c >= '0' && c <= '9') {
+                    token.append(c);
+                    continue;
+                }
+                if (c >= 'A' && c <= 'Z') {
+                    token.append((char) (c + ('a' - 'A')));
+                    continue;
+                }
+            } else if (Character.isLetterOrDigit(c)) {
+                c = Character.toLowerCase(c);
+                ascii &= c < 0x80;
+                token.append(c == 'ς' ? 'σ' : c);
+                continue;
+            }
+            if (token.length() > 0) {
+                String folded = ascii ? token.toString() : stripAccents(token);
+                if (folded.length() <= MAX_TERM_LENGTH) {
+                    tokens.add(folded);
+                }
+                token.setLength(0);
+                ascii = true;
+            }
+        }
+        return tokens;
+    }
+
+    private static String stripAccents(CharSequence token) {
+        String decomposed = Normalizer.normalize(token, Normalizer.Form.NFD);
+        StringBuilder result = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                result.append(c);
+            }
+        }
+        return result.toString();
+    }
+
+    /**
+     * Returns the terms a query word matches, each with its rarity times the factor of the match kind.
+     */
+    private Map<Term, Double> match(String word) {
+        Map<Term, Double> matched = new HashMap<>();
+        if (word.length() < GRAM) {
+            for (Term term : sortedTerms.subMap(word, true, word + Character.MAX_VALUE, false).values()) {
+                matched.put(term, (term.text.length() == word.length() ? EXACT : PREFIX) * idf(term));
+            }
+            return matched;
+        }
+        // The dictionary terms that contain every trigram of the word; the rarest trigram is scanned
+        Set<Term> smallest = null;
+        for (int i = 0; i + GRAM <= word.length(); i++) {
+            Set<Term> withGram = termsByGram.get(word.substring(i, i + GRAM));
+            if (withGram == null) {
+                return matched;
+            }
+            if (smallest == null || withGram.size() < smallest.size()) {
+                smallest = withGram;
+            }
+        }
+        for (Term term : smallest) {
+            int at = term.text.indexOf(word);
+            if (at >= 0) {
+                double factor = at > 0 ? INFIX : term.text.length() == word.length() ? EXACT : PREFIX;
+                matched.put(term, factor * idf(term));
+            }
+        }
+        return matched;
+    }
+
+    /**
+     * Scores a task against all query words, or returns -1 if a word does not match it.
+     */
+    private static double score(Doc doc, List<Map<Term, Double>> matches) {
+        double total = 0;
+        for (Map<Term, Double> matched : matches) {
+            double best = -1;
+            for (int i = 0; i < doc.terms.length; i++) {
+                Double factor = matched.get(doc.terms[i]);
+                if (factor != null) {
+                    best = Math.max(best, factor * impact(doc.weights[i]));
+                }
+            }
+            if (best < 0) {
+                return -1;
+            }
+            total += best;
+        }
+        return total;
+    }
+
+    /**
+     * Returns the buckets of the matched terms, each with the highest score its tasks can get
+     * for this word plus the given amount.
+     */
+    private static List<Segment> segments(Map<Term, Double> matched, double plus) {
+        List<Segment> segments = new ArrayList<>();
+        for (Map.Entry<Term, Double> entry : matched.entrySet()) {
+            Term term = entry.getKey();
+            for (int b = 0; b < BUCKETS; b++) {
+                if (term.buckets[b] != null) {
+                    int maxWeight = b < BUCKETS - 1 ? b + 1 : term.maxWeight;
+                    segments.add(new Segment(term.buckets[b], entry.getValue() * impact(maxWeight) + plus));
+                }
+            }
+        }
+        return segments;
+    }
+
+    private double idf(Term term) {
+        return Math.log(1 + (double) docs.size() / term.size);
+    }
+
+    private static double impact(int weight) {
+        return 1 + Math.log(weight);
+    }
+
+    private static int bucketOf(int weight) {
+        return Math.min(BUCKETS, weight) - 1;
+    }
+
+    private static int worseFirst(Hit a, Hit b) {
+        int byScore = Double.compare(a.score, b.score);
+        return byScore != 0 ? byScore : Integer.compare(b.task.getId(), a.task.getId());
+    }
+
+    private Term term(String text) {
+        Term term = terms.get(text);
+        if (term == null) {
+            term = new Term(text);
+            terms.put(text, term);
+            sortedTerms.put(text, term);
+            for (int i = 0; i + GRAM <= text.length(); i++) {
+                termsByGram.computeIfAbsent(text.substring(i, i + GRAM), k -> new HashSet<>()).add(term);
+            }
+        }
+        return term;
+    }
+
+    /**
+     * The terms of a task's title and description, in text order.
+     */
+    static final class Tokens {
+        private final List<String> title;
+        private final List<String> description;
+
+        Tokens(List<String> title, List<String> description) {
+            this.title = title;
+            this.description = description;
+        }
+    }
+
+    /**
+     * A dictionary term and the tasks that contain it, grouped by the term's weight in the task.
+     */
+    private static final class Term {
+        private final String text;
+        private final Postings[] buckets = new Postings[BUCKETS];
+        private int size;
+        private int maxWeight = 1; // Highest weight ever added; bounds the weights in the last bucket
+
+        Term(String text) {
+            this.text = text;
+        }
+
+        /**
+         * Adds a task that has this term at the given index of its terms.
+         */
+        void add(Doc doc, int index) {
+            int weight = doc.weights[index];
+            int b = bucketOf(weight);
+            if (buckets[b] == null) {
+                buckets[b] = new Postings();
+            }
+            doc.positions[index] = buckets[b].add(doc);
+            size++;
+            maxWeight = Math.max(maxWeight, weight);
+        }
+
+        void remove(Doc doc, int index) {
+            int b = bucketOf(doc.weights[index]);
+            Postings postings = buckets[b];
+            int position = doc.positions[index];
+            Doc moved = postings.removeAt(position);
+            if (moved != doc) {
+                moved.positions[moved.indexOf(this)] = position;
+            }
+            size--;
+            if (postings.size == 0) {
+                buckets[b] = null;
+            }
+        }
+    }
+
+    /**
+     * The tasks in one weight bucket of a term, in a dense array. A task knows its position,
+     * so it is removed in O(1) by moving the last task into its place.
+     */
+    private static final class Postings {
+        private Doc[] docs = new Doc[4];
+        private int size;
+
+        int add(Doc doc) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+            }
+            docs[size] = doc;
+            return size++;
+        }
+
+        /**
+         * Removes the task at a position and returns the task that now occupies it.
+         */
+        Doc removeAt(int position) {
+            Doc last = docs[--size];
+            docs[position] = last;
+            docs[size] = null;
+            if (size < docs.length / 4 && docs.length > 4) {
+                docs = Arrays.copyOf(docs, docs.length / 2);
+            }
+            return last;
+        }
+    }
+
+    /**
+     * The indexed terms of one task, with their weights.
+     */
+    private static final class Doc {
+        private Task task;
+        private Term[] terms;
+        private int[] weights;
+        private int[] positions; // Position in the postings of each term
+        private int size;
+
+        Doc(Task task, int tokenCount) {
+            this.task = task;
+            this.terms = new Term[tokenCount];
+            this.weights = new int[tokenCount];
+        }
+
+        /**
+         * Adds the weight of one occurrence of a term.
+         * @param positions Term positions for long texts, or null to scan the terms.
+         */
+        void count(Term term, int weight, Map<Term, Integer> positions) {
+            if (positions != null) {
+                Integer at = positions.putIfAbsent(term, size);
+                if (at != null) {
+                    weights[at] += weight;
+                    return;
+                }
+            } else {
+                for (int i = 0; i < size; i++) {
+                    if (terms[i] == term) {
+                        weights[i] += weight;
+                        return;
+                    }
+                }
+            }
+            terms[size] = term;
+            weights[size++] = weight;
+        }
+
+        void trim() {
+            if (size < terms.length) {
+                terms = Arrays.copyOf(terms, size);
+                weights = Arrays.copyOf(weights, size);
+            }
+            positions = new int[size];
+        }
+
+        int indexOf(Term term) {
+            int i = 0;
+            while (terms[i] != term) {
+                i++;
+            }
+            return i;
+        }
+    }
+
+    /**
+     * One weight bucket of a matched term, with the highest score any of its tasks can reach.
+     */
+    private static final class Segment {
+        private final Postings postings;
+        private final double bound;
+
+        Segment(Postings postings, double bound) {
+            this.postings = postings;
+            this.bound = bound;
+        }
+    }
+
+    private static final class Hit {
+        private final Task task;
+        private final double score;
+
+        Hit(Task task, double score) {
+            this.task = task;
+            this.score = score;
+        }
+    }
+}
@@ -1,12 +1,20 @@
 package org.example.model;
 
 import java.time.LocalDate;
+import java.util.Comparator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 /**
  * Represents a reminder for a task.
  */
 public class Reminder {
+    /**
+     * Orders reminders by date (undated last), then by ID.
+     */
+    public static final Comparator<Reminder> BY_DATE = Comparator
+            .comparing(Reminder::getReminderDate, Comparator.nullsLast(Comparator.<LocalDate>naturalOrder()))
+            .thenComparingInt(Reminder::getId);
+
     private int id;              // Unique reminder ID
     private int taskId;          // Associated task's ID
     private String type;         // Reminder type (e.g., "1 day", "1 week", "1 month", "Custom")
@@ -22,6 +30,14 @@ public class Reminder {
         this.reminderDate = reminderDate;
     }
 
+    /**
+     * Copy constructor.
+     * @param other The reminder to copy.
+     */
+    public Reminder(Reminder other) {
+        this(other.id, other.taskId, other.type, other.reminderDate);
+    }
+
     // Getters and setters
     public int getId() {
         return id;
@@ -0,0 +1,73 @@
+package org.example.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The status of a task.
+ * Statuses are stored in JSON by their label (e.g. "In Progress"), as before.
+ */
+public enum Status {
+    OPEN("Open"),
+    IN_PROGRESS("In Progress"),
+    POSTPONED("Postponed"),
+    COMPLETED("Completed"),
+    DELAYED("Delayed");
+
+    private static final Set<String> warnedLabels = ConcurrentHashMap.newKeySet();
+
+    private final String label;
+
+    Status(String label) {
+        this.label = label;
+    }
+
+    @JsonValue
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Returns the status with the given label, ignoring case.
+     * @param label The label, e.g. "In Progress".
+     * @return The matching status.
+     * @throws IllegalArgumentException If no status has this label.
+     */
+    @JsonCreator
+    public static Status fromLabel(String label) {
+        for (Status status : values()) {
+            if (status.label.equalsIgnoreCase(label)) {
+                return status;
+            }
+        }
+        throw new IllegalArgumentException("Unknown status: " + label);
+    }
+
+    /**
+     * Returns the status with the given label, or OPEN for a label this version does not know,
+     * such as one edited by hand. Used when loading stored data, where one unknown label must
+     * not make the whole store unreadable; input from users is parsed with {@link #fromLabel}.
+     * A warning is printed once per unknown label.
+     * @param label The stored label.
+     * @return The matching status, or OPEN.
+     */
+    public static Status fromStoredLabel(String label) {
+        for (Status status : values()) {
+            if (status.label.equalsIgnoreCase(label)) {
+                return status;
+            }
+        }
+        if (warnedLabels.add(label)) {
+            System.err.println("Unknown status \"" + label + "\" in the stored data, loaded as " + OPEN.label);
+        }
+        return OPEN;
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
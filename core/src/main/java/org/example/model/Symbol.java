@@ -0,0 +1,39 @@
+package org.example.model;
+
+/**
+ * An interned name (category or priority) with a small integer code.
+ * Symbols handed out by one {@link SymbolTable} are canonical, so two of them
+ * are equal exactly when their codes are equal.
+ */
+public final class Symbol {
+    public static final int UNBOUND = -1;
+
+    private final int code;
+    private final String name;
+
+    Symbol(int code, String name) {
+        this.code = code;
+        this.name = name;
+    }
+
+    /**
+     * Creates a symbol that does not belong to any table yet,
+     * e.g. for a task that was just deserialized. Stores bind it on adoption.
+     * @param name The name.
+     * @return A symbol with code {@link #UNBOUND}.
+     */
+    public static Symbol unbound(String name) {
+        return new Symbol(UNBOUND, name);
+    }
+
+    public int getCode() { return code; }
+
+    public String getName() { return name; }
+
+    public boolean isBound() { return code != UNBOUND; }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
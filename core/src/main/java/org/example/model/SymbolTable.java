@@ -0,0 +1,75 @@
+package org.example.model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dictionary of names (categories or priorities) owned by one task store.
+ * Every distinct name is stored once and gets a dense integer code,
+ * so tasks share a single {@link Symbol} instead of holding their own copy of the string.
+ * Not thread-safe; the owning store guards access.
+ */
+public class SymbolTable {
+    private final Map<String, Symbol> byName = new HashMap<>();
+    private final List<Symbol> byCode = new ArrayList<>();
+
+    /**
+     * Returns the canonical symbol for a name, adding it if necessary.
+     * @param name The name.
+     * @return The symbol, or null if the name is null.
+     */
+    public Symbol intern(String name) {
+        if (name == null) {
+            return null;
+        }
+        Symbol symbol = byName.get(name);
+        if (symbol == null) {
+            symbol = new Symbol(byCode.size(), name);
+            byName.put(name, symbol);
+            byCode.add(symbol);
+        }
+        return symbol;
+    }
+
+    /**
+     * Returns the canonical symbol for a name without adding it.
+     * @param name The name.
+     * @return The symbol, or null if the name is unknown.
+     */
+    public Symbol find(String name) {
+        return name == null ? null : byName.get(name);
+    }
+
+    /**
+     * Returns every symbol whose name matches ignoring case.
+     * Compares the distinct names only, which are few.
+     * @param name The name.
+     * @return The matching symbols.
+     */
+    public List<Symbol> findIgnoreCase(String name) {
+        List<Symbol> result = new ArrayList<>();
+        if (name != null) {
+            for (Symbol symbol : byCode) {
+                if (symbol.getName().equalsIgnoreCase(name)) {
+                    result.add(symbol);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the symbol with the given code.
+     * @param code The code.
+     * @return The symbol.
+     */
+    public Symbol get(int code) {
+        return byCode.get(code);
+    }
+
+    public int size() {
+        return byCode.size();
+    }
+}
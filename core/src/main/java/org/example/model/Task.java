@@ -1,5 +1,7 @@
 package org.example.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import java.time.LocalDate;
 import java.util.List;
 import java.util.ArrayList;
@@ -8,10 +10,10 @@ public class Task {
     private int id;
     private String title;
     private String description;
-    private String category;
-    private String priority;
+    private Symbol category;    // Interned by the owning store, serialized by name
+    private Symbol priority;    // Interned by the owning store, serialized by name
     private LocalDate deadline;
-    private String status;
+    private Status status;
     private List<Reminder> reminders;
 
     // No-argument constructor
@@ -23,18 +25,33 @@ public class Task {
         this.id = id;
         this.title = title;
         this.description = description;
-        this.category = category;
-        this.priority = priority;
+        setCategory(category);
+        setPriority(priority);
         this.deadline = deadline;
         // Automatically set status based on the deadline
         if (deadline.isBefore(LocalDate.now())) {
-            this.status = "Delayed"; // Set to "Delayed" if the deadline has already passed
+            this.status = Status.DELAYED; // Set to "Delayed" if the deadline has already passed
         } else {
-            this.status = "Open"; // Default to "Open"
+            this.status = Status.OPEN; // Default to "Open"
         }
         this.reminders = new ArrayList<>();
     }
 
+    // Copy constructor, used to take snapshots that are saved off the UI thread
+    public Task(Task other) {
+        this.id = other.id;
+        this.title = other.title;
+        this.description = other.description;
+        this.category = other.category;
+        this.priority = other.priority;
+        this.deadline = other.deadline;
+        this.status = other.status;
+        this.reminders = new ArrayList<>();
+        for (Reminder reminder : other.getReminders()) {
+            this.reminders.add(new Reminder(reminder.getId(), reminder.getTaskId(), reminder.getType(), reminder.getReminderDate()));
+        }
+    }
+
 
     // Getters and Setters
     public int getId() { return id; }
@@ -46,17 +63,27 @@ public class Task {
     public String getDescription() { return description; }
     public void setDescription(String description) { this.description = description; }
 
-    public String getCategory() { return category; }
-    public void setCategory(String category) { this.category = category; }
+    public String getCategory() { return category == null ? null : category.getName(); }
+    public void setCategory(String category) { this.category = category == null ? null : Symbol.unbound(category); }
+
+    @JsonIgnore
+    public Symbol getCategorySymbol() { return category; }
+    @JsonIgnore
+    public void setCategorySymbol(Symbol category) { this.category = category; }
+
+    public String getPriority() { return priority == null ? null : priority.getName(); }
+    public void setPriority(String priority) { this.priority = priority == null ? null : Symbol.unbound(priority); }
 
-    public String getPriority() { return priority; }
-    public void setPriority(String priority) { this.priority = priority; }
+    @JsonIgnore
+    public Symbol getPrioritySymbol() { return priority; }
+    @JsonIgnore
+    public void setPrioritySymbol(Symbol priority) { this.priority = priority; }
 
     public LocalDate getDeadline() { return deadline; }
     public void setDeadline(LocalDate deadline) { this.deadline = deadline; }
 
-    public String getStatus() { return status; }
-    public void setStatus(String status) { this.status = status; }
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
 
     public List<Reminder> getReminders() {
         if (reminders == null) {  //  FIX: If null, initialize it to an empty list
@@ -74,8 +101,8 @@ public class Task {
                 "id=" + id +
                 ", title='" + title + '\'' +
                 ", description='" + description + '\'' +
-                ", category='" + category + '\'' +
-                ", priority='" + priority + '\'' +
+                ", category='" + getCategory() + '\'' +
+                ", priority='" + getPriority() + '\'' +
                 ", deadline=" + deadline +
                 ", status='" + status + '\'' +
                 '}';
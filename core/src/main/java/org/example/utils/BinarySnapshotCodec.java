@@ -0,0 +1,390 @@
+package org.example.utils;
+
+import org.example.model.Reminder;
+import org.example.model.Status;
+import org.example.model.Task;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary form of {@link JSONHandler.DataWrapper}, written and read through a FileChannel.
+ *
+ * <p>Layout (big-endian):</p>
+ * <pre>
+ * int    MAGIC ("TMSB")
+ * short  VERSION
+ * int    dictionary size, then per entry: string
+ * int    category count, then per category: dictionary code
+ * int    priority count, then per priority: dictionary code
+ * int    task count, then per task: int record length + record
+ *
+ * record:  int id, string title, string description,
+ *          int category code, int priority code, int status code,
+ *          int deadline (epoch day), int reminder count (a short in version 1),
+ *          per reminder: int id, int type code, int date (epoch day)
+ * string:  int byte length (-1 for null) + UTF-8 bytes
+ * </pre>
+ * Categories, priorities, statuses and reminder types are stored once in the dictionary
+ * and referenced by code; a missing code or date is written as -1 / {@link #NO_DATE}.
+ * Length-prefixed records let readers skip or locate tasks without decoding them.
+ */
+public class BinarySnapshotCodec {
+    public static final int MAGIC = 0x544D5342; // "TMSB"
+    public static final short VERSION = 2;   // 2: int reminder count; version 1 files are still read
+    public static final int NO_CODE = -1;
+    public static final int NO_DATE = Integer.MIN_VALUE;
+
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    /**
+     * Writes the data to a file, replacing its contents.
+     * @param data The data to write.
+     * @param path The target file.
+     */
+    public static void write(JSONHandler.DataWrapper data, Path path) throws IOException {
+        // First pass: collect every dictionary string so the dictionary can precede the records.
+        Dictionary dictionary = new Dictionary();
+        data.getCategories().forEach(dictionary::code);
+        data.getPriorities().forEach(dictionary::code);
+        for (Task task : data.getTasks()) {
+            dictionary.code(task.getCategory());
+            dictionary.code(task.getPriority());
+            dictionary.code(task.getStatus() == null ? null : task.getStatus().getLabel());
+            for (Reminder reminder : task.getReminders()) {
+                dictionary.code(reminder.getType());
+            }
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            Writer out = new Writer(channel);
+            out.putInt(MAGIC);
+            out.putShort(VERSION);
+            out.putInt(dictionary.strings.size());
+            for (String value : dictionary.strings) {
+                out.putString(value);
+            }
+            out.putCodes(data.getCategories(), dictionary);
+            out.putCodes(data.getPriorities(), dictionary);
+
+            out.putInt(data.getTasks().size());
+            ByteBuffer record = ByteBuffer.allocate(4096);
+            for (Task task : data.getTasks()) {
+                record = encodeTask(task, dictionary, record);
+                record.flip();
+                out.putInt(record.remaining());
+                out.put(record);
+            }
+            out.flush();
+        }
+    }
+
+    /**
+     * Reads a file written by {@link #write}.
+     * @param path The snapshot file.
+     * @param options The cap and filter applied to the tasks; progress is reported per record.
+     * @return The decoded data.
+     */
+    public static JSONHandler.DataWrapper read(Path path, StreamingTaskLoader.Options options) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot too large to read into memory: " + path);
+            }
+            buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // Keep reading until the buffer is full
+            }
+            buffer.flip();
+        }
+        return decode(buffer, options);
+    }
+
+    /**
+     * Decodes a snapshot from a buffer positioned at its first byte.
+     */
+    static JSONHandler.DataWrapper decode(ByteBuffer buffer, StreamingTaskLoader.Options options) throws IOException {
+        short version = readVersion(buffer);
+        String[] dictionary = readDictionary(buffer);
+        JSONHandler.DataWrapper data = new JSONHandler.DataWrapper();
+        data.setCategories(readCodes(buffer, dictionary));
+        data.setPriorities(readCodes(buffer, dictionary));
+
+        int count = buffer.getInt();
+        List<Task> tasks = new ArrayList<>(Math.min(count, options.getMaxTasks()));
+        StreamingTaskLoader.ProgressListener listener = options.getProgressListener();
+        for (int i = 0; i < count; i++) {
+            int length = buffer.getInt();
+            int next = buffer.position() + length;
+            if (tasks.size() < options.getMaxTasks()) {
+                Task task = decodeTask(buffer, dictionary, version);
+                if (options.accepts(task)) {
+                    tasks.add(task);
+                } else {
+                    data.noteIds(task);
+                }
+            } else {
+                noteIds(buffer, version, data);
+            }
+            buffer.position(next); // Skips records over the cap without decoding them
+            if (listener != null && (i + 1) % options.getProgressInterval() == 0) {
+                listener.onProgress(buffer.position(), buffer.limit(), tasks.size());
+            }
+        }
+        if (listener != null) {
+            listener.onProgress(buffer.position(), buffer.limit(), tasks.size());
+        }
+        data.setTasks(tasks);
+        return data;
+    }
+
+    /**
+     * Checks the magic number and reads the version.
+     * @return The version, 1 up to {@link #VERSION}.
+     */
+    static short readVersion(ByteBuffer buffer) throws IOException {
+        if (buffer.remaining() < 6 || buffer.getInt() != MAGIC) {
+            throw new IOException("Not a binary task snapshot");
+        }
+        short version = buffer.getShort();
+        if (version < 1 || version > VERSION) {
+            throw new IOException("Unsupported snapshot version: " + version);
+        }
+        return version;
+    }
+
+    /**
+     * Returns the size of a record's reminder count in a file of the given version.
+     */
+    static int reminderCountSize(short version) {
+        return version == 1 ? 2 : 4;
+    }
+
+    /**
+     * Reads the dictionary that follows the version.
+     * @return The dictionary, indexed by code.
+     */
+    static String[] readDictionary(ByteBuffer buffer) {
+        String[] dictionary = new String[buffer.getInt()];
+        for (int i = 0; i < dictionary.length; i++) {
+            dictionary[i] = getString(buffer);
+        }
+        return dictionary;
+    }
+
+    /**
+     * Decodes one task record starting at the buffer's position.
+     */
+    static Task decodeTask(ByteBuffer buffer, String[] dictionary, short version) {
+        Task task = new Task();
+        task.setId(buffer.getInt());
+        task.setTitle(getString(buffer));
+        task.setDescription(getString(buffer));
+        task.setCategory(lookup(dictionary, buffer.getInt()));
+        task.setPriority(lookup(dictionary, buffer.getInt()));
+        String status = lookup(dictionary, buffer.getInt());
+        task.setStatus(status == null ? null : Status.fromStoredLabel(status));
+        task.setDeadline(toDate(buffer.getInt()));
+        int reminderCount = version == 1 ? buffer.getShort() & 0xFFFF : buffer.getInt();
+        for (int i = 0; i < reminderCount; i++) {
+            int reminderId = buffer.getInt();
+            String type = lookup(dictionary, buffer.getInt());
+            LocalDate date = toDate(buffer.getInt());
+            task.getReminders().add(new Reminder(reminderId, task.getId(), type, date));
+        }
+        return task;
+    }
+
+    /**
+     * Reads only the task ID and reminder IDs of a record, for records over the cap.
+     * Moves the buffer; the caller repositions it at the next record.
+     */
+    private static void noteIds(ByteBuffer buffer, short version, JSONHandler.DataWrapper data) {
+        data.noteTaskId(buffer.getInt());
+        for (int i = 0; i < 2; i++) { // Title and description
+            int length = buffer.getInt();
+            buffer.position(buffer.position() + Math.max(length, 0));
+        }
+        buffer.position(buffer.position() + 4 * Integer.BYTES); // Category, priority, status, deadline
+        int reminderCount = version == 1 ? buffer.getShort() & 0xFFFF : buffer.getInt();
+        for (int i = 0; i < reminderCount; i++) {
+            data.noteReminderId(buffer.getInt());
+            buffer.position(buffer.position() + 2 * Integer.BYTES); // Type and date
+        }
+    }
+
+    static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        String value = getString(buffer, buffer.position(), length);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    /**
+     * Decodes UTF-8 bytes at an absolute position without moving the buffer.
+     * Works for heap and mapped buffers alike.
+     */
+    static String getString(ByteBuffer buffer, int position, int length) {
+        if (buffer.hasArray()) {
+            return new String(buffer.array(), buffer.arrayOffset() + position, length, StandardCharsets.UTF_8);
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(position, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static String lookup(String[] dictionary, int code) {
+        return code == NO_CODE ? null : dictionary[code];
+    }
+
+    static LocalDate toDate(int epochDay) {
+        return epochDay == NO_DATE ? null : LocalDate.ofEpochDay(epochDay);
+    }
+
+    private static List<String> readCodes(ByteBuffer buffer, String[] dictionary) {
+        int count = buffer.getInt();
+        List<String> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            values.add(lookup(dictionary, buffer.getInt()));
+        }
+        return values;
+    }
+
+    private static ByteBuffer encodeTask(Task task, Dictionary dictionary, ByteBuffer record) {
+        byte[] title = bytes(task.getTitle());
+        byte[] description = bytes(task.getDescription());
+        int size = 4 + stringSize(title) + stringSize(description) + 4 * 4 + 4 + task.getReminders().size() * 12;
+        if (record.capacity() < size) {
+            record = ByteBuffer.allocate(Math.max(size, record.capacity() * 2));
+        }
+        record.clear();
+        record.putInt(task.getId());
+        putBytes(record, title);
+        putBytes(record, description);
+        record.putInt(dictionary.code(task.getCategory()));
+        record.putInt(dictionary.code(task.getPriority()));
+        record.putInt(dictionary.code(task.getStatus() == null ? null : task.getStatus().getLabel()));
+        record.putInt(task.getDeadline() == null ? NO_DATE : (int) task.getDeadline().toEpochDay());
+        record.putInt(task.getReminders().size());
+        for (Reminder reminder : task.getReminders()) {
+            record.putInt(reminder.getId());
+            record.putInt(dictionary.code(reminder.getType()));
+            record.putInt(reminder.getReminderDate() == null ? NO_DATE : (int) reminder.getReminderDate().toEpochDay());
+        }
+        return record;
+    }
+
+    private static byte[] bytes(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int stringSize(byte[] value) {
+        return 4 + (value == null ? 0 : value.length);
+    }
+
+    private static void putBytes(ByteBuffer buffer, byte[] value) {
+        if (value == null) {
+            buffer.putInt(-1);
+        } else {
+            buffer.putInt(value.length);
+            buffer.put(value);
+        }
+    }
+
+    /**
+     * Assigns dense codes to strings in order of first use.
+     */
+    private static class Dictionary {
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> strings = new ArrayList<>();
+
+        int code(String value) {
+            if (value == null) {
+                return NO_CODE;
+            }
+            Integer code = codes.get(value);
+            if (code == null) {
+                code = strings.size();
+                codes.put(value, code);
+                strings.add(value);
+            }
+            return code;
+        }
+    }
+
+    /**
+     * Buffers writes and hands full buffers to the channel.
+     */
+    private static class Writer {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+        Writer(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        void putInt(int value) throws IOException {
+            ensure(4);
+            buffer.putInt(value);
+        }
+
+        void putShort(short value) throws IOException {
+            ensure(2);
+            buffer.putShort(value);
+        }
+
+        void putString(String value) throws IOException {
+            byte[] bytes = bytes(value);
+            putInt(bytes == null ? -1 : bytes.length);
+            if (bytes != null) {
+                put(ByteBuffer.wrap(bytes));
+            }
+        }
+
+        void putCodes(List<String> values, Dictionary dictionary) throws IOException {
+            putInt(values.size());
+            for (String value : values) {
+                putInt(dictionary.code(value));
+            }
+        }
+
+        void put(ByteBuffer source) throws IOException {
+            while (source.hasRemaining()) {
+                ensure(1);
+                int chunk = Math.min(source.remaining(), buffer.remaining());
+                ByteBuffer slice = source.slice();
+                slice.limit(chunk);
+                buffer.put(slice);
+                source.position(source.position() + chunk);
+            }
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+}
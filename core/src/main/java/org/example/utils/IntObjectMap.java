@@ -0,0 +1,262 @@
+package org.example.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Hash map from primitive int keys to objects that remembers insertion order.
+ * Entries live in dense arrays in the order they were added; an open-addressing table
+ * (linear probing) maps each key to its entry. Lookup, insertion and removal are O(1)
+ * and no Integer boxing takes place. Null values are not allowed.
+ *
+ * @param <V> The value type.
+ */
+public class IntObjectMap<V> implements Iterable<V> {
+    private static final int EMPTY = -1;
+    private static final int REMOVED = -2;
+    private static final int MIN_CAPACITY = 16;
+
+    // Dense entry storage in insertion order; a null value marks a removed entry.
+    private int[] keys;
+    private Object[] values;
+    private int used;
+
+    // Open-addressing table holding indexes into the dense arrays.
+    private int[] table;
+    private int occupied; // Live slots plus REMOVED markers
+    private int size;
+
+    /**
+     * Constructs an empty map.
+     */
+    public IntObjectMap() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty map sized for the expected number of entries.
+     * @param expectedSize The number of entries the map should hold without growing.
+     */
+    public IntObjectMap(int expectedSize) {
+        int capacity = Math.max(MIN_CAPACITY, expectedSize);
+        keys = new int[capacity];
+        values = new Object[capacity];
+        table = newTable(tableSizeFor(capacity));
+    }
+
+    public int size() { return size; }
+
+    public boolean isEmpty() { return size == 0; }
+
+    /**
+     * Returns the value for a key.
+     * @param key The key.
+     * @return The value, or null if the key is not present.
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        int slot = findSlot(key);
+        return slot < 0 ? null : (V) values[table[slot]];
+    }
+
+    public boolean containsKey(int key) {
+        return findSlot(key) >= 0;
+    }
+
+    /**
+     * Associates a value with a key. Replacing a value keeps the key's original position.
+     * @param key The key.
+     * @param value The value, must not be null.
+     * @return The previous value, or null if the key was not present.
+     */
+    @SuppressWarnings("unchecked")
+    public V put(int key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Null values are not supported");
+        }
+        int slot = findSlot(key);
+        if (slot >= 0) {
+            V previous = (V) values[table[slot]];
+            values[table[slot]] = value;
+            return previous;
+        }
+        if (used == keys.length) {
+            growEntries();
+        }
+        if ((occupied + 1) * 2 > table.length) {
+            rebuildTable(tableSizeFor(Math.max(size + 1, MIN_CAPACITY) * 2));
+        }
+        keys[used] = key;
+        values[used] = value;
+        insertIntoTable(key, used);
+        used++;
+        size++;
+        return null;
+    }
+
+    /**
+     * Removes a key.
+     * @param key The key.
+     * @return The removed value, or null if the key was not present.
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(int key) {
+        int slot = findSlot(key);
+        if (slot < 0) {
+            return null;
+        }
+        int index = table[slot];
+        V previous = (V) values[index];
+        values[index] = null;
+        table[slot] = REMOVED;
+        size--;
+        // Reclaim the holes once removed entries make up most of the dense arrays.
+        if (used > MIN_CAPACITY && size < used / 2) {
+            compact();
+        }
+        return previous;
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public void clear() {
+        Arrays.fill(values, 0, used, null);
+        Arrays.fill(table, EMPTY);
+        used = 0;
+        occupied = 0;
+        size = 0;
+    }
+
+    /**
+     * Returns the values in insertion order as a new list.
+     */
+    @SuppressWarnings("unchecked")
+    public List<V> values() {
+        List<V> result = new ArrayList<>(size);
+        for (int i = 0; i < used; i++) {
+            if (values[i] != null) {
+                result.add((V) values[i]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Iterates over the values in insertion order.
+     * The map must not be modified during iteration.
+     */
+    @Override
+    public Iterator<V> iterator() {
+        return new Iterator<>() {
+            private int next = advance(0);
+
+            private int advance(int from) {
+                while (from < used && values[from] == null) {
+                    from++;
+                }
+                return from;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next < used;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public V next() {
+                if (next >= used) {
+                    throw new NoSuchElementException();
+                }
+                V value = (V) values[next];
+                next = advance(next + 1);
+                return value;
+            }
+        };
+    }
+
+    private int findSlot(int key) {
+        int mask = table.length - 1;
+        int slot = mix(key) & mask;
+        while (true) {
+            int index = table[slot];
+            if (index == EMPTY) {
+                return -1;
+            }
+            if (index != REMOVED && keys[index] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private void insertIntoTable(int key, int index) {
+        int mask = table.length - 1;
+        int slot = mix(key) & mask;
+        while (table[slot] >= 0) {
+            slot = (slot + 1) & mask;
+        }
+        if (table[slot] == EMPTY) {
+            occupied++;
+        }
+        table[slot] = index;
+    }
+
+    private void growEntries() {
+        if (size < used * 3 / 4) {
+            compact(); // Plenty of holes, reuse them instead of growing
+            return;
+        }
+        int capacity = keys.length * 2;
+        keys = Arrays.copyOf(keys, capacity);
+        values = Arrays.copyOf(values, capacity);
+    }
+
+    /**
+     * Moves live entries to the front of the dense arrays, keeping their order, and rebuilds the table.
+     */
+    private void compact() {
+        int target = 0;
+        for (int i = 0; i < used; i++) {
+            if (values[i] != null) {
+                keys[target] = keys[i];
+                values[target] = values[i];
+                target++;
+            }
+        }
+        Arrays.fill(values, target, used, null);
+        used = target;
+        rebuildTable(tableSizeFor(Math.max(size, MIN_CAPACITY) * 2));
+    }
+
+    private void rebuildTable(int tableSize) {
+        table = newTable(tableSize);
+        occupied = 0;
+        for (int i = 0; i < used; i++) {
+            if (values[i] != null) {
+                insertIntoTable(keys[i], i);
+            }
+        }
+    }
+
+    private static int[] newTable(int tableSize) {
+        int[] table = new int[tableSize];
+        Arrays.fill(table, EMPTY);
+        return table;
+    }
+
+    private static int tableSizeFor(int entries) {
+        int size = Integer.highestOneBit(Math.max(entries, MIN_CAPACITY) - 1) << 1;
+        return Math.max(size, MIN_CAPACITY * 2);
+    }
+
+    private static int mix(int key) {
+        // Spread sequential IDs across the table (Murmur3 finalizer)
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
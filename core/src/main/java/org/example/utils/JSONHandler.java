@@ -0,0 +1,514 @@
+package org.example.utils;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.example.model.Reminder;
+import org.example.model.Task;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The file-based {@link TaskStorage}: a JSON or binary snapshot, the journal of changes since
+ * the snapshot, and the reminder watermark, all in one data directory.
+ */
+public class JSONHandler implements TaskStorage {
+    /**
+     * The system property that sets the default data directory.
+     */
+    public static final String DATA_DIRECTORY_PROPERTY = "medialab.dataDir";
+    private static final String DEFAULT_DATA_DIRECTORY = "src/main/resources/medialab";
+    private static final ExecutorService compactionExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "journal-compaction");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Path dataDirectory;
+    private final Path jsonPath;
+    private final Path binaryPath;
+    private final Path reminderWatermarkPath;
+    private final TaskJournal journal;
+
+    // Journal settings: mutations are appended to the journal and folded into the snapshot
+    // once the journal passes the compaction threshold.
+    private volatile boolean journalEnabled = true;
+    private volatile long compactionThreshold = 1024 * 1024;
+    private volatile SnapshotFormat snapshotFormat = SnapshotFormat.JSON;
+
+    private final Object snapshotLock = new Object();
+    private final AtomicBoolean compacting = new AtomicBoolean(false);
+    private long snapshotGeneration = 0;
+
+    /**
+     * The JSON mapper and loader, created on first use: setting up Jackson is a large part of
+     * the startup time, and it is not needed to open an empty store or a binary snapshot.
+     */
+    private static final class Json {
+        static final ObjectMapper mapper = new ObjectMapper();
+        static final StreamingTaskLoader loader = new StreamingTaskLoader(mapper);
+
+        static {
+            mapper.registerModule(new JavaTimeModule());
+            mapper.registerModule(StoredStatusDeserializer.module());
+            mapper.enable(SerializationFeature.INDENT_OUTPUT);
+        }
+    }
+
+    /**
+     * Constructs a storage in the default data directory: the directory named by the system
+     * property {@value #DATA_DIRECTORY_PROPERTY}, or "src/main/resources/medialab" under the
+     * working directory.
+     */
+    public JSONHandler() {
+        this(defaultDataDirectory());
+    }
+
+    /**
+     * Constructs a storage in the given data directory, which is created on the first write.
+     * @param dataDirectory The directory of the data files.
+     */
+    public JSONHandler(Path dataDirectory) {
+        this.dataDirectory = dataDirectory;
+        this.jsonPath = dataDirectory.resolve("tasks.json");
+        this.binaryPath = dataDirectory.resolve("tasks.bin");
+        this.reminderWatermarkPath = dataDirectory.resolve("reminders.watermark");
+        this.journal = new TaskJournal(dataDirectory.resolve("tasks.journal"));
+    }
+
+    /**
+     * Returns the default data directory, see {@link #JSONHandler()}.
+     */
+    public static Path defaultDataDirectory() {
+        return Paths.get(System.getProperty(DATA_DIRECTORY_PROPERTY, DEFAULT_DATA_DIRECTORY));
+    }
+
+    public Path getDataDirectory() {
+        return dataDirectory;
+    }
+
+    /**
+     * The file format used for new snapshots.
+     * JSON is human-readable; BINARY is the compact {@link BinarySnapshotCodec} format.
+     */
+    public enum SnapshotFormat {
+        JSON,
+        BINARY
+    }
+
+    /**
+     * Wrapper class to hold tasks, categories, priorities, and reminders.
+     */
+    public static class DataWrapper {
+        private List<Task> tasks;
+        private List<String> categories;
+        private List<String> priorities;
+        private List<Reminder> reminders;
+        private int nextTaskId = 1;     // Above every ID read, including tasks a partial load left out
+        private int nextReminderId = 1;
+
+        // Default constructor for deserialization
+        public DataWrapper() {
+            tasks = new ArrayList<>();
+            categories = new ArrayList<>();
+            priorities = new ArrayList<>();
+            reminders = new ArrayList<>();
+        }
+
+        // ✅ FIX: Constructor now includes reminders
+        public DataWrapper(List<Task> tasks, List<String> categories, List<String> priorities, List<Reminder> reminders) {
+            this.tasks = tasks;
+            this.categories = categories;
+            this.priorities = priorities;
+            this.reminders = (reminders != null) ? reminders : new ArrayList<>();
+        }
+
+        // ✅ FIX: Getters and Setters now inside DataWrapper
+        public List<Task> getTasks() { return tasks; }
+        public void setTasks(List<Task> tasks) { this.tasks = tasks; }
+
+        public List<String> getCategories() { return categories; }
+        public void setCategories(List<String> categories) { this.categories = categories; }
+
+        public List<String> getPriorities() { return priorities; }
+        public void setPriorities(List<String> priorities) { this.priorities = priorities; }
+
+        public List<Reminder> getReminders() { return reminders; }
+        public void setReminders(List<Reminder> reminders) { this.reminders = reminders; }
+
+        /**
+         * Returns an ID above every task ID that was read, kept or not.
+         * After a partial load new tasks must start here, or they would replace the tasks left out.
+         */
+        @JsonIgnore
+        public int getNextTaskId() { return nextTaskId; }
+
+        /**
+         * Returns an ID above every reminder ID that was read, kept or not.
+         */
+        @JsonIgnore
+        public int getNextReminderId() { return nextReminderId; }
+
+        void noteTaskId(int id) { nextTaskId = Math.max(nextTaskId, id + 1); }
+
+        void noteReminderId(int id) { nextReminderId = Math.max(nextReminderId, id + 1); }
+
+        /**
+         * Records the IDs of a task that was read but left out of the data.
+         */
+        void noteIds(Task task) {
+            noteTaskId(task.getId());
+            for (Reminder reminder : task.getReminders()) {
+                noteReminderId(reminder.getId());
+            }
+        }
+    }
+
+    /**
+     * Saves tasks, categories, priorities, and reminders to the snapshot file.
+     * A full snapshot supersedes the journal, so the journal is cleared afterwards.
+     */
+    @Override
+    public void saveData(DataWrapper dataWrapper) {
+        synchronized (snapshotLock) {
+            try {
+                ensureDirectoryExists();
+                writeSnapshot(dataWrapper);
+                snapshotGeneration++;
+                journal.clear();
+            } catch (IOException e) {
+                System.err.println("Error saving data: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Loads tasks, categories, priorities, and reminders from the snapshot file
+     * and replays any journal entries written since the last snapshot.
+     */
+    public DataWrapper loadData() {
+        return loadData(new StreamingTaskLoader.Options());
+    }
+
+    /**
+     * Loads the data like {@link #loadData()}, keeping only the tasks allowed by the options.
+     * The snapshot is streamed task by task, so skipped tasks are never kept in memory.
+     * The filter also applies to tasks from the journal; the cap applies to the snapshot.
+     * @param options The cap, filter and progress listener.
+     * @throws UncheckedIOException If a snapshot exists but cannot be read.
+     */
+    @Override
+    public DataWrapper loadData(StreamingTaskLoader.Options options) {
+        synchronized (snapshotLock) {
+            DataWrapper data;
+            try {
+                data = readSnapshot(options);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Error reading data from file: " + e.getMessage(), e);
+            }
+            journal.replay(data, options.getFilter());
+            return data;
+        }
+    }
+
+    // --------------------------------
+    // SNAPSHOT FORMAT
+    // --------------------------------
+
+    /**
+     * Returns the format used for new snapshots.
+     */
+    public SnapshotFormat getSnapshotFormat() {
+        return snapshotFormat;
+    }
+
+    /**
+     * Sets the format used for new snapshots. Loading reads the snapshot that exists, whatever
+     * its format, so switching formats needs no migration step; the next snapshot is written in
+     * the new format and the file of the old one is deleted.
+     * @param format The snapshot format.
+     */
+    public void setSnapshotFormat(SnapshotFormat format) {
+        snapshotFormat = format;
+    }
+
+    /**
+     * Converts a binary snapshot to the JSON format.
+     * @param binary The binary snapshot to read.
+     * @param json The JSON file to write.
+     */
+    public static void exportToJson(Path binary, Path json) throws IOException {
+        Json.mapper.writeValue(json.toFile(), BinarySnapshotCodec.read(binary, new StreamingTaskLoader.Options()));
+    }
+
+    /**
+     * Converts a JSON snapshot to the binary format.
+     * @param json The JSON file to read.
+     * @param binary The binary snapshot to write.
+     */
+    public static void importFromJson(Path json, Path binary) throws IOException {
+        BinarySnapshotCodec.write(Json.loader.load(json.toFile(), new StreamingTaskLoader.Options()), binary);
+    }
+
+    /**
+     * Maps the binary snapshot for read-only access without deserializing its tasks.
+     * Journal entries written since the snapshot are not included.
+     * @return The reader, or null if the current snapshot is not a binary one.
+     */
+    @Override
+    public MappedSnapshotReader openMappedSnapshot() throws IOException {
+        synchronized (snapshotLock) {
+            return binaryPath.equals(currentSnapshot()) ? MappedSnapshotReader.open(binaryPath) : null;
+        }
+    }
+
+    // --------------------------------
+    // REMINDER WATERMARK
+    // --------------------------------
+
+    /**
+     * Loads the last day whose reminders have all been delivered.
+     * @return The day, or null if no reminder was ever delivered.
+     */
+    @Override
+    public LocalDate loadReminderWatermark() {
+        Path path = reminderWatermarkPath;
+        try {
+            return Files.exists(path) ? LocalDate.parse(Files.readString(path).trim()) : null;
+        } catch (IOException | DateTimeParseException e) {
+            System.err.println("Error reading reminder watermark: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Stores the last day whose reminders have all been delivered.
+     * @param day The day.
+     */
+    @Override
+    public void saveReminderWatermark(LocalDate day) {
+        Path path = reminderWatermarkPath;
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            Files.writeString(temp, day.toString());
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Error saving reminder watermark: " + e.getMessage());
+        }
+    }
+
+    // --------------------------------
+    // JOURNAL
+    // --------------------------------
+
+    /**
+     * Returns whether mutations should be appended to the journal instead of rewriting the snapshot.
+     */
+    @Override
+    public boolean isJournalEnabled() {
+        return journalEnabled;
+    }
+
+    /**
+     * Enables or disables journal mode.
+     * @param enabled True to append mutations to the journal, false to always rewrite the snapshot.
+     */
+    public void setJournalEnabled(boolean enabled) {
+        journalEnabled = enabled;
+    }
+
+    /**
+     * Sets the journal size after which the snapshot is compacted in the background.
+     * @param bytes The threshold in bytes.
+     */
+    public void setCompactionThreshold(long bytes) {
+        compactionThreshold = bytes;
+    }
+
+    /**
+     * Encodes a journal entry on the caller's thread.
+     * @param entry The entry to encode.
+     * @return The encoded line, or null if the entry could not be encoded.
+     */
+    @Override
+    public String encodeEntry(TaskJournal.Entry entry) {
+        try {
+            return journal.encode(entry);
+        } catch (IOException e) {
+            System.err.println("Error encoding journal entry: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Appends a single entry to the journal.
+     * @param entry The entry to append.
+     */
+    public void appendEntry(TaskJournal.Entry entry) {
+        String line = encodeEntry(entry);
+        if (line != null) {
+            appendLines(List.of(line));
+        }
+    }
+
+    /**
+     * Appends already encoded entries to the journal in one write
+     * and schedules a compaction if the journal has grown past the threshold.
+     * @param lines The encoded entries.
+     */
+    @Override
+    public void appendLines(List<String> lines) {
+        try {
+            journal.append(lines);
+        } catch (IOException e) {
+            System.err.println("Error appending to journal: " + e.getMessage());
+            return;
+        }
+        if (journal.size() >= compactionThreshold) {
+            scheduleCompaction();
+        }
+    }
+
+    /**
+     * Waits for a compaction that is queued or running to finish.
+     */
+    @Override
+    public void close() {
+        try {
+            compactionExecutor.submit(() -> { }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            System.err.println("Error waiting for compaction: " + e.getCause().getMessage());
+        }
+    }
+
+    /**
+     * Rotates the journal and folds the rotated part into the snapshot on a background thread.
+     * The snapshot is rebuilt from disk, so live task objects are never touched off the calling thread.
+     */
+    private void scheduleCompaction() {
+        if (!compacting.compareAndSet(false, true)) {
+            return;
+        }
+        final long generation;
+        try {
+            synchronized (snapshotLock) {
+                generation = snapshotGeneration;
+                if (!journal.rotate()) {
+                    compacting.set(false);
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            compacting.set(false);
+            System.err.println("Error rotating journal: " + e.getMessage());
+            return;
+        }
+        compactionExecutor.execute(() -> {
+            try {
+                synchronized (snapshotLock) {
+                    // A full snapshot written in the meantime already contains the rotated entries.
+                    if (generation != snapshotGeneration) {
+                        return;
+                    }
+                    // Throws if the snapshot cannot be read; the rotated journal is then kept,
+                    // so its entries are still replayed on the next load
+                    DataWrapper data = readSnapshot(new StreamingTaskLoader.Options());
+                    journal.replayRotated(data);
+                    ensureDirectoryExists();
+                    writeSnapshot(data);
+                    journal.deleteRotated();
+                }
+            } catch (IOException e) {
+                System.err.println("Error compacting journal: " + e.getMessage());
+            } finally {
+                compacting.set(false);
+            }
+        });
+    }
+
+    /**
+     * Reads the snapshot file without applying the journal.
+     * @return The snapshot, or an empty store if no snapshot was written yet.
+     * @throws IOException If a snapshot exists but cannot be read. It is never treated as an
+     *                     empty store, since writing that back would destroy the data.
+     */
+    private DataWrapper readSnapshot(StreamingTaskLoader.Options options) throws IOException {
+        Path snapshot = currentSnapshot();
+        if (snapshot == null) {
+            return new DataWrapper();
+        }
+        return snapshot.equals(binaryPath)
+                ? BinarySnapshotCodec.read(binaryPath, options)
+                : Json.loader.load(jsonPath.toFile(), options);
+    }
+
+    /**
+     * Returns the snapshot file to load, or null if none was written yet.
+     * Writing a snapshot deletes the file of the other format, so normally only one exists.
+     * Both remain only if the application stopped between the two steps, or in a store
+     * written by an older version; the file of the configured format is then the current one.
+     */
+    private Path currentSnapshot() {
+        boolean hasJson = isNonEmptyFile(jsonPath);
+        boolean hasBinary = isNonEmptyFile(binaryPath);
+        if (hasJson && hasBinary) {
+            return snapshotFormat == SnapshotFormat.BINARY ? binaryPath : jsonPath;
+        }
+        return hasBinary ? binaryPath : hasJson ? jsonPath : null;
+    }
+
+    private static boolean isNonEmptyFile(Path path) {
+        File file = path.toFile();
+        return file.isFile() && file.length() > 0;
+    }
+
+    /**
+     * Writes the snapshot in the current format to a temporary file and moves it into place,
+     * so a crash never leaves a half-written snapshot behind.
+     */
+    private void writeSnapshot(DataWrapper dataWrapper) throws IOException {
+        boolean binary = snapshotFormat == SnapshotFormat.BINARY;
+        Path target = binary ? binaryPath : jsonPath;
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        if (binary) {
+            BinarySnapshotCodec.write(dataWrapper, temp);
+        } else {
+            Json.mapper.writeValue(temp.toFile(), dataWrapper);
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        Path other = binary ? jsonPath : binaryPath;
+        try {
+            Files.deleteIfExists(other); // A stale snapshot of the other format must never be loaded instead
+        } catch (IOException e) {
+            // The new snapshot is in place; while both exist, the configured format is loaded
+            System.err.println("Error deleting the old snapshot " + other + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Ensures that the data directory exists.
+     */
+    private void ensureDirectoryExists() throws IOException {
+        Files.createDirectories(dataDirectory);
+    }
+}
@@ -0,0 +1,338 @@
+package org.example.utils;
+
+import org.example.model.Reminder;
+import org.example.model.Status;
+import org.example.model.Task;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Read-only view of a {@link BinarySnapshotCodec} file mapped into memory.
+ *
+ * <p>Opening the file walks the length-prefixed records once and keeps only a few int arrays
+ * (record offsets, IDs, category, priority and status codes), so counts and lookups by ID,
+ * category or status never create a {@link Task}. Tasks are exposed as {@link TaskView}s that
+ * decode their fields from the mapped bytes on demand; {@link TaskView#toTask()} materializes
+ * a full task for the records that are actually displayed or edited.</p>
+ *
+ * <p>The reader reflects the snapshot file as it was when opened; journal entries written
+ * after the snapshot are not included. Snapshots larger than 2 GB are not supported.</p>
+ */
+public class MappedSnapshotReader implements AutoCloseable {
+    private MappedByteBuffer buffer;
+    private final String[] dictionary;
+    private final int reminderCountSize; // Bytes of a record's reminder count, by file version
+    private final List<String> categories;
+    private final List<String> priorities;
+
+    // Per record, in file order
+    private final int[] ids;
+    private final int[] recordOffsets;   // Position of each record's ID
+    private final int[] fieldOffsets;    // Position of the category code inside each record
+    private final int[] categoryCodes;
+    private final int[] priorityCodes;
+    private final byte[] statuses;       // Status ordinal, or -1 if the record has none
+
+    // Record indexes sorted by ID, for binary search
+    private final int[] sortedIds;
+    private final int[] sortedRecords;
+
+    private final int[] statusCounts = new int[Status.values().length];
+
+    private MappedSnapshotReader(MappedByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        this.reminderCountSize = BinarySnapshotCodec.reminderCountSize(BinarySnapshotCodec.readVersion(buffer));
+        this.dictionary = BinarySnapshotCodec.readDictionary(buffer);
+        this.categories = readCodes();
+        this.priorities = readCodes();
+
+        int count = buffer.getInt();
+        ids = new int[count];
+        recordOffsets = new int[count];
+        fieldOffsets = new int[count];
+        categoryCodes = new int[count];
+        priorityCodes = new int[count];
+        statuses = new byte[count];
+        Status[] statusOfCode = new Status[dictionary.length];
+        boolean sorted = true;
+        int position = buffer.position();
+        for (int i = 0; i < count; i++) {
+            int length = buffer.getInt(position);
+            int record = position + 4;
+            recordOffsets[i] = record;
+            ids[i] = buffer.getInt(record);
+            int field = record + 4;
+            field += 4 + Math.max(0, buffer.getInt(field)); // Title
+            field += 4 + Math.max(0, buffer.getInt(field)); // Description
+            fieldOffsets[i] = field;
+            categoryCodes[i] = buffer.getInt(field);
+            priorityCodes[i] = buffer.getInt(field + 4);
+            int statusCode = buffer.getInt(field + 8);
+            if (statusCode == BinarySnapshotCodec.NO_CODE) {
+                statuses[i] = -1;
+            } else {
+                if (statusOfCode[statusCode] == null) {
+                    statusOfCode[statusCode] = Status.fromStoredLabel(dictionary[statusCode]);
+                }
+                statuses[i] = (byte) statusOfCode[statusCode].ordinal();
+                statusCounts[statuses[i]]++;
+            }
+            if (i > 0 && ids[i] <= ids[i - 1]) {
+                sorted = false;
+            }
+            position = record + length;
+        }
+
+        // Snapshots are usually written in ID order; only sort when they are not.
+        sortedRecords = new int[count];
+        if (sorted) {
+            sortedIds = ids;
+            Arrays.setAll(sortedRecords, i -> i);
+        } else {
+            long[] pairs = new long[count];
+            for (int i = 0; i < count; i++) {
+                pairs[i] = ((long) ids[i] << 32) | i;
+            }
+            Arrays.sort(pairs);
+            sortedIds = new int[count];
+            for (int i = 0; i < count; i++) {
+                sortedIds[i] = (int) (pairs[i] >> 32);
+                sortedRecords[i] = (int) pairs[i];
+            }
+        }
+    }
+
+    /**
+     * Maps a binary snapshot file and indexes its records.
+     * @param path The snapshot file.
+     * @return The reader.
+     */
+    public static MappedSnapshotReader open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot too large to map: " + path);
+            }
+            // The mapping stays valid after the channel is closed.
+            return new MappedSnapshotReader(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+        }
+    }
+
+    /**
+     * Returns the number of tasks in the snapshot.
+     */
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Returns the categories stored in the snapshot.
+     */
+    public List<String> getCategories() {
+        return new ArrayList<>(categories);
+    }
+
+    /**
+     * Returns the priority levels stored in the snapshot.
+     */
+    public List<String> getPriorities() {
+        return new ArrayList<>(priorities);
+    }
+
+    /**
+     * Returns the view of the record at a position in file order.
+     * @param index The record index, from 0 to {@link #size()} - 1.
+     */
+    public TaskView get(int index) {
+        return new TaskView(index);
+    }
+
+    /**
+     * Finds a task by ID.
+     * @param id The task ID.
+     * @return The task's view, or null if the snapshot has no task with this ID.
+     */
+    public TaskView find(int id) {
+        int found = Arrays.binarySearch(sortedIds, id);
+        return found < 0 ? null : new TaskView(sortedRecords[found]);
+    }
+
+    /**
+     * Returns the number of tasks with this status.
+     */
+    public int countWithStatus(Status status) {
+        return statusCounts[status.ordinal()];
+    }
+
+    /**
+     * Returns the number of tasks in a category (case-insensitive).
+     */
+    public int countWithCategory(String category) {
+        return count(categoryCodes, codesIgnoreCase(category));
+    }
+
+    /**
+     * Returns the tasks in a category (case-insensitive), in file order.
+     */
+    public List<TaskView> withCategory(String category) {
+        return collect(categoryCodes, codesIgnoreCase(category));
+    }
+
+    /**
+     * Returns the tasks with a priority level (case-insensitive), in file order.
+     */
+    public List<TaskView> withPriority(String priority) {
+        return collect(priorityCodes, codesIgnoreCase(priority));
+    }
+
+    /**
+     * Returns the tasks with this status, in file order.
+     */
+    public List<TaskView> withStatus(Status status) {
+        List<TaskView> result = new ArrayList<>(countWithStatus(status));
+        byte ordinal = (byte) status.ordinal();
+        for (int i = 0; i < statuses.length; i++) {
+            if (statuses[i] == ordinal) {
+                result.add(new TaskView(i));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Releases the mapping. Views obtained from this reader must not be used afterwards.
+     */
+    @Override
+    public void close() {
+        buffer = null; // The mapping is released once the buffer is garbage collected
+    }
+
+    private List<String> readCodes() {
+        int count = buffer.getInt();
+        List<String> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            values.add(BinarySnapshotCodec.lookup(dictionary, buffer.getInt()));
+        }
+        return values;
+    }
+
+    /**
+     * Returns a flag per dictionary code telling whether the entry equals the name, ignoring case.
+     */
+    private boolean[] codesIgnoreCase(String name) {
+        boolean[] matches = new boolean[dictionary.length];
+        for (int i = 0; i < dictionary.length; i++) {
+            matches[i] = dictionary[i] != null && dictionary[i].equalsIgnoreCase(name);
+        }
+        return matches;
+    }
+
+    private static int count(int[] codes, boolean[] matches) {
+        int count = 0;
+        for (int code : codes) {
+            if (code != BinarySnapshotCodec.NO_CODE && matches[code]) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private List<TaskView> collect(int[] codes, boolean[] matches) {
+        List<TaskView> result = new ArrayList<>();
+        for (int i = 0; i < codes.length; i++) {
+            if (codes[i] != BinarySnapshotCodec.NO_CODE && matches[codes[i]]) {
+                result.add(new TaskView(i));
+            }
+        }
+        return result;
+    }
+
+    private String readString(int position) {
+        int length = buffer.getInt(position);
+        return length < 0 ? null : BinarySnapshotCodec.getString(buffer, position + 4, length);
+    }
+
+    /**
+     * A task record inside the mapped file. Holds only the record index;
+     * each getter decodes its field from the mapped bytes.
+     */
+    public final class TaskView {
+        private final int record;
+
+        private TaskView(int record) {
+            this.record = record;
+        }
+
+        public int getId() {
+            return ids[record];
+        }
+
+        public String getTitle() {
+            return readString(titleOffset());
+        }
+
+        public String getDescription() {
+            int title = titleOffset();
+            return readString(title + 4 + Math.max(0, buffer.getInt(title)));
+        }
+
+        public String getCategory() {
+            return BinarySnapshotCodec.lookup(dictionary, categoryCodes[record]);
+        }
+
+        public String getPriority() {
+            return BinarySnapshotCodec.lookup(dictionary, priorityCodes[record]);
+        }
+
+        public Status getStatus() {
+            return statuses[record] < 0 ? null : Status.values()[statuses[record]];
+        }
+
+        public LocalDate getDeadline() {
+            return BinarySnapshotCodec.toDate(buffer.getInt(fieldOffsets[record] + 12));
+        }
+
+        public int getReminderCount() {
+            int offset = fieldOffsets[record] + 16;
+            return reminderCountSize == 2 ? buffer.getShort(offset) & 0xFFFF : buffer.getInt(offset);
+        }
+
+        /**
+         * Creates a full, independent task from this record.
+         */
+        public Task toTask() {
+            Task task = new Task();
+            task.setId(getId());
+            task.setTitle(getTitle());
+            task.setDescription(getDescription());
+            task.setCategory(getCategory());
+            task.setPriority(getPriority());
+            task.setStatus(getStatus());
+            task.setDeadline(getDeadline());
+            int position = fieldOffsets[record] + 16 + reminderCountSize;
+            for (int i = getReminderCount(); i > 0; i--, position += 12) {
+                task.getReminders().add(new Reminder(buffer.getInt(position), task.getId(),
+                        BinarySnapshotCodec.lookup(dictionary, buffer.getInt(position + 4)),
+                        BinarySnapshotCodec.toDate(buffer.getInt(position + 8))));
+            }
+            return task;
+        }
+
+        private int titleOffset() {
+            return recordOffsets[record] + 4; // The title follows the ID
+        }
+
+        @Override
+        public String toString() {
+            return getTitle();
+        }
+    }
+}
@@ -0,0 +1,381 @@
+package org.example.utils;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Immutable map from primitive int keys to objects, iterated in key order.
+ * Changes return a new map and leave this one untouched; the new map shares every part of
+ * the old one that the change did not touch, so a map can be published to other threads and
+ * read without locking while newer versions are made.
+ *
+ * <p>The map is a bitmapped radix trie with 32 children per node: each level consumes five
+ * bits of the key, and a node stores only the children that exist, located through a 32-bit
+ * bitmap. The trie is only as deep as the largest key needs, at most seven levels for the
+ * full int range. A put or remove copies the nodes on the path to its key, so it costs
+ * O(log32 n). A {@link Builder} makes many changes at once, copying each node at most once
+ * however many of its keys change. Keys are ordered as unsigned ints, so negative keys come
+ * after the positive ones. Null values are not allowed.</p>
+ *
+ * @param <V> The value type.
+ */
+public final class PersistentIntMap<V> implements Iterable<V> {
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+    private static final int MAX_SHIFT = 30; // The top level holds the two highest bits of the key
+
+    private static final PersistentIntMap<?> EMPTY = new PersistentIntMap<>(null, 0, 0);
+
+    private final Node root;   // Null when empty
+    private final int shift;   // Key bits below the root's digit
+    private final int size;
+
+    private PersistentIntMap(Node root, int shift, int size) {
+        this.root = root;
+        this.shift = shift;
+        this.size = size;
+    }
+
+    /**
+     * Returns the empty map.
+     */
+    @SuppressWarnings("unchecked")
+    public static <V> PersistentIntMap<V> empty() {
+        return (PersistentIntMap<V>) EMPTY;
+    }
+
+    public int size() { return size; }
+
+    public boolean isEmpty() { return size == 0; }
+
+    /**
+     * Returns the value for a key.
+     * @param key The key.
+     * @return The value, or null if the key is not present.
+     */
+    public V get(int key) {
+        return find(root, shift, key);
+    }
+
+    public boolean containsKey(int key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Returns a map with the key associated with the value.
+     * @param key The key.
+     * @param value The value, must not be null.
+     * @return The new map, or this map if the key already has this value.
+     */
+    public PersistentIntMap<V> put(int key, V value) {
+        if (value != null && get(key) == value) {
+            return this;
+        }
+        Builder<V> builder = toBuilder();
+        builder.put(key, value);
+        return builder.build();
+    }
+
+    /**
+     * Returns a map without the key.
+     * @param key The key.
+     * @return The new map, or this map if the key is not present.
+     */
+    public PersistentIntMap<V> remove(int key) {
+        if (get(key) == null) {
+            return this;
+        }
+        Builder<V> builder = toBuilder();
+        builder.remove(key);
+        return builder.build();
+    }
+
+    /**
+     * Returns a builder that starts from this map. The map itself never changes.
+     */
+    public Builder<V> toBuilder() {
+        return new Builder<>(this);
+    }
+
+    /**
+     * Iterates over the values in key order.
+     */
+    @Override
+    public Iterator<V> iterator() {
+        return new Iterator<V>() {
+            // The path to the next value: a node per level and the next slot to read in it
+            private final Node[] nodes = new Node[MAX_SHIFT / BITS + 1];
+            private final int[] positions = new int[nodes.length];
+            private int depth = -1;
+            private V next;
+
+            {
+                if (root != null) {
+                    nodes[0] = root;
+                    depth = 0;
+                }
+                advance();
+            }
+
+            @SuppressWarnings("unchecked")
+            private void advance() {
+                next = null;
+                while (depth >= 0) {
+                    Node node = nodes[depth];
+                    if (positions[depth] == node.slots.length) {
+                        positions[depth] = 0;
+                        depth--;
+                        continue;
+                    }
+                    Object slot = node.slots[positions[depth]++];
+                    if (shift - depth * BITS == 0) {
+                        next = (V) slot;
+                        return;
+                    }
+                    nodes[++depth] = (Node) slot;
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public V next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                V value = next;
+                advance();
+                return value;
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> V find(Node node, int shift, int key) {
+        if (node == null || !fits(key, shift)) {
+            return null;
+        }
+        for (int level = shift; ; level -= BITS) {
+            int bit = 1 << ((key >>> level) & MASK);
+            if ((node.bitmap & bit) == 0) {
+                return null;
+            }
+            Object slot = node.slots[Integer.bitCount(node.bitmap & (bit - 1))];
+            if (level == 0) {
+                return (V) slot;
+            }
+            node = (Node) slot;
+        }
+    }
+
+    /**
+     * True if a trie whose root is at this shift has room for the key.
+     */
+    private static boolean fits(int key, int shift) {
+        return shift >= MAX_SHIFT || (key >>> (shift + BITS)) == 0;
+    }
+
+    /**
+     * A trie node. Inner nodes hold child nodes, the nodes of the last level hold values.
+     * A node may only be changed in place by the builder that created it.
+     */
+    private static final class Node {
+        private final Object owner;
+        private int bitmap;
+        private Object[] slots;
+
+        Node(Object owner, int bitmap, Object[] slots) {
+            this.owner = owner;
+            this.bitmap = bitmap;
+            this.slots = slots;
+        }
+    }
+
+    /**
+     * Makes a batch of changes to a map. Nodes are copied the first time the builder changes
+     * them and changed in place after that, so a batch costs much less than the same changes
+     * made one {@link #put} at a time. A builder is meant for one thread and is finished by
+     * {@link #build()}.
+     *
+     * @param <V> The value type.
+     */
+    public static final class Builder<V> {
+        private Object owner = new Object(); // Marks the nodes this builder may change; null once built
+        private Node root;
+        private int shift;
+        private int size;
+
+        private Builder(PersistentIntMap<V> map) {
+            root = map.root;
+            shift = map.shift;
+            size = map.size;
+        }
+
+        public int size() { return size; }
+
+        /**
+         * Returns the value for a key, including the changes made so far.
+         */
+        public V get(int key) {
+            return find(root, shift, key);
+        }
+
+        /**
+         * Associates a value with a key.
+         * @param key The key.
+         * @param value The value, must not be null.
+         * @return The previous value, or null if the key was not present.
+         */
+        @SuppressWarnings("unchecked")
+        public V put(int key, V value) {
+            if (value == null) {
+                throw new IllegalArgumentException("Null values are not supported");
+            }
+            checkOpen();
+            if (root == null) {
+                shift = 0;
+                while (!fits(key, shift)) {
+                    shift += BITS;
+                }
+                root = path(shift, key, value);
+                size = 1;
+                return null;
+            }
+            while (!fits(key, shift)) {
+                // Every key so far is below 2^(shift + 5), so the old root becomes child 0
+                root = new Node(owner, 1, new Object[] {root});
+                shift += BITS;
+            }
+            Object[] previous = new Object[1];
+            root = put(root, shift, key, value, previous);
+            if (previous[0] == null) {
+                size++;
+            }
+            return (V) previous[0];
+        }
+
+        /**
+         * Removes a key.
+         * @param key The key.
+         * @return The removed value, or null if the key was not present.
+         */
+        @SuppressWarnings("unchecked")
+        public V remove(int key) {
+            checkOpen();
+            if (root == null || !fits(key, shift)) {
+                return null;
+            }
+            Object[] removed = new Object[1];
+            Node node = remove(root, shift, key, removed);
+            if (removed[0] != null) {
+                root = node;
+                size--;
+            }
+            return (V) removed[0];
+        }
+
+        /**
+         * Returns the map with the changes made. The builder cannot be used afterwards.
+         */
+        public PersistentIntMap<V> build() {
+            checkOpen();
+            owner = null;
+            return size == 0 ? empty() : new PersistentIntMap<>(root, shift, size);
+        }
+
+        private Node put(Node node, int level, int key, Object value, Object[] previous) {
+            int bit = 1 << ((key >>> level) & MASK);
+            int index = Integer.bitCount(node.bitmap & (bit - 1));
+            if ((node.bitmap & bit) != 0) {
+                Object current = node.slots[index];
+                Object replacement;
+                if (level == 0) {
+                    previous[0] = current;
+                    replacement = value;
+                } else {
+                    replacement = put((Node) current, level - BITS, key, value, previous);
+                }
+                if (replacement == current) {
+                    return node;
+                }
+                Node editable = editable(node);
+                editable.slots[index] = replacement;
+                return editable;
+            }
+            Object child = level == 0 ? value : path(level - BITS, key, value);
+            Object[] slots = new Object[node.slots.length + 1];
+            System.arraycopy(node.slots, 0, slots, 0, index);
+            slots[index] = child;
+            System.arraycopy(node.slots, index, slots, index + 1, node.slots.length - index);
+            if (node.owner == owner) {
+                node.bitmap |= bit;
+                node.slots = slots;
+                return node;
+            }
+            return new Node(owner, node.bitmap | bit, slots);
+        }
+
+        /**
+         * Removes a key below a node.
+         * @return The node without the key, null if it became empty, or the node itself if the key is absent.
+         */
+        private Node remove(Node node, int level, int key, Object[] removed) {
+            int bit = 1 << ((key >>> level) & MASK);
+            if ((node.bitmap & bit) == 0) {
+                return node;
+            }
+            int index = Integer.bitCount(node.bitmap & (bit - 1));
+            Object current = node.slots[index];
+            if (level > 0) {
+                Node child = remove((Node) current, level - BITS, key, removed);
+                if (child == current) {
+                    return node;
+                }
+                if (child != null) {
+                    Node editable = editable(node);
+                    editable.slots[index] = child;
+                    return editable;
+                }
+            } else {
+                removed[0] = current;
+            }
+            if (node.slots.length == 1) {
+                return null;
+            }
+            Object[] slots = new Object[node.slots.length - 1];
+            System.arraycopy(node.slots, 0, slots, 0, index);
+            System.arraycopy(node.slots, index + 1, slots, index, slots.length - index);
+            if (node.owner == owner) {
+                node.bitmap &= ~bit;
+                node.slots = slots;
+                return node;
+            }
+            return new Node(owner, node.bitmap & ~bit, slots);
+        }
+
+        /**
+         * Builds the chain of nodes that leads from a level down to a single value.
+         */
+        private Node path(int level, int key, Object value) {
+            Object child = value;
+            for (int l = 0; l <= level; l += BITS) {
+                child = new Node(owner, 1 << ((key >>> l) & MASK), new Object[] {child});
+            }
+            return (Node) child;
+        }
+
+        private Node editable(Node node) {
+            return node.owner == owner ? node : new Node(owner, node.bitmap, Arrays.copyOf(node.slots, node.slots.length));
+        }
+
+        private void checkOpen() {
+            if (owner == null) {
+                throw new IllegalStateException("The builder was already built");
+            }
+        }
+    }
+}
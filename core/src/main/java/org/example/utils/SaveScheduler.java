@@ -0,0 +1,167 @@
+package org.example.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Moves persistence off the calling thread (usually the JavaFX Application Thread).
+ * Mutations mark the state dirty and queue their journal lines; bursts of mutations
+ * are coalesced into a single write.
+ */
+public class SaveScheduler {
+    public static final long DEFAULT_BATCH_WINDOW_MILLIS = 200;
+
+    /**
+     * When pending changes reach the disk.
+     */
+    public enum DurabilityMode {
+        /** Write on the calling thread before returning. */
+        SYNC,
+        /** Write on the persistence thread as soon as possible. */
+        ASYNC,
+        /** Write on the persistence thread once per batch window. */
+        BATCHED
+    }
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "task-persistence");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final TaskStorage storage;
+    private volatile DurabilityMode mode;
+    private volatile long batchWindowMillis;
+
+    // Serializes the writes to the storage, which SYNC mode makes on the changing threads
+    private final Object storageLock = new Object();
+
+    // Pending work, guarded by "this"
+    private final List<String> pendingLines = new ArrayList<>();
+    private Supplier<JSONHandler.DataWrapper> pendingSnapshot;
+    private boolean flushScheduled;
+
+    /**
+     * Constructs a scheduler.
+     * @param storage Where the changes are written.
+     * @param mode The durability mode.
+     * @param batchWindowMillis The coalescing window used in BATCHED mode.
+     */
+    public SaveScheduler(TaskStorage storage, DurabilityMode mode, long batchWindowMillis) {
+        this.storage = storage;
+        this.mode = mode;
+        this.batchWindowMillis = batchWindowMillis;
+    }
+
+    public DurabilityMode getMode() { return mode; }
+
+    /**
+     * Switches the durability mode. Pending changes are flushed first.
+     * @param mode The new durability mode.
+     */
+    public void setMode(DurabilityMode mode) {
+        flush();
+        this.mode = mode;
+    }
+
+    public long getBatchWindowMillis() { return batchWindowMillis; }
+    public void setBatchWindowMillis(long batchWindowMillis) { this.batchWindowMillis = batchWindowMillis; }
+
+    /**
+     * Queues encoded journal lines for writing.
+     * @param lines The encoded journal entries.
+     */
+    public void appendLines(List<String> lines) {
+        if (lines.isEmpty()) {
+            return;
+        }
+        if (mode == DurabilityMode.SYNC) {
+            synchronized (storageLock) {
+                storage.appendLines(lines);
+            }
+            return;
+        }
+        synchronized (this) {
+            pendingLines.addAll(lines);
+        }
+        scheduleFlush();
+    }
+
+    /**
+     * Marks the whole data set dirty. The snapshot is taken and written once per flush,
+     * so repeated calls within a window result in a single write.
+     * @param snapshot Supplies a consistent copy of the data; it is called on the persistence thread.
+     */
+    public void saveSnapshot(Supplier<JSONHandler.DataWrapper> snapshot) {
+        if (mode == DurabilityMode.SYNC) {
+            synchronized (storageLock) {
+                storage.saveData(snapshot.get()); // Taken under the lock, so no line written meanwhile is lost
+            }
+            return;
+        }
+        synchronized (this) {
+            // The snapshot captures every earlier change, so lines queued before it are redundant.
+            pendingLines.clear();
+            pendingSnapshot = snapshot;
+        }
+        scheduleFlush();
+    }
+
+    /**
+     * Blocks until every pending change has been written.
+     */
+    public void flush() {
+        try {
+            executor.submit(this::drain).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            System.err.println("Error flushing data: " + e.getCause().getMessage());
+        }
+    }
+
+    /**
+     * Flushes pending changes and stops the persistence thread.
+     */
+    public void close() {
+        flush();
+        executor.shutdown();
+    }
+
+    private void scheduleFlush() {
+        synchronized (this) {
+            if (flushScheduled) {
+                return; // The scheduled flush picks up this change as well
+            }
+            flushScheduled = true;
+        }
+        long delay = mode == DurabilityMode.BATCHED ? batchWindowMillis : 0;
+        executor.schedule(this::drain, delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Writes everything that is pending. Runs on the persistence thread only.
+     */
+    private void drain() {
+        Supplier<JSONHandler.DataWrapper> snapshot;
+        List<String> lines;
+        synchronized (this) {
+            flushScheduled = false;
+            snapshot = pendingSnapshot;
+            pendingSnapshot = null;
+            lines = new ArrayList<>(pendingLines);
+            pendingLines.clear();
+        }
+        synchronized (storageLock) {
+            if (snapshot != null) {
+                storage.saveData(snapshot.get());
+            }
+            storage.appendLines(lines);
+        }
+    }
+}
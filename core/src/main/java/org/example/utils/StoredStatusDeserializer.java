@@ -0,0 +1,32 @@
+package org.example.utils;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.example.model.Status;
+
+import java.io.IOException;
+
+/**
+ * Reads statuses from stored data with {@link Status#fromStoredLabel}, so a task with an
+ * unknown status is loaded as OPEN instead of failing the whole snapshot or journal.
+ * The importer and the HTTP API keep the strict {@link Status#fromLabel}.
+ */
+class StoredStatusDeserializer extends StdDeserializer<Status> {
+    StoredStatusDeserializer() {
+        super(Status.class);
+    }
+
+    /**
+     * Returns a module that installs this deserializer in a mapper.
+     */
+    static SimpleModule module() {
+        return new SimpleModule().addDeserializer(Status.class, new StoredStatusDeserializer());
+    }
+
+    @Override
+    public Status deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        return Status.fromStoredLabel(parser.getValueAsString());
+    }
+}
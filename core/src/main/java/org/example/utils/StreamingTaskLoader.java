@@ -0,0 +1,177 @@
+package org.example.utils;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.model.Reminder;
+import org.example.model.Task;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Reads a tasks.json snapshot with a {@link JsonParser}, one task at a time.
+ * Only the tasks that pass the filter and fit under the cap are kept, so a huge file
+ * can be loaded within bounded memory; the rest are skipped token by token.
+ */
+public class StreamingTaskLoader {
+    private static final TypeReference<List<String>> STRING_LIST = new TypeReference<>() {};
+    private static final TypeReference<List<Reminder>> REMINDER_LIST = new TypeReference<>() {};
+
+    private final ObjectMapper mapper;
+
+    /**
+     * Receives progress while a file is loaded.
+     */
+    public interface ProgressListener {
+        /**
+         * @param bytesRead The number of bytes parsed so far.
+         * @param totalBytes The size of the file.
+         * @param tasksLoaded The number of tasks kept so far.
+         */
+        void onProgress(long bytesRead, long totalBytes, int tasksLoaded);
+    }
+
+    /**
+     * Limits and callbacks for a load. The defaults load every task without reporting progress.
+     */
+    public static class Options {
+        private int maxTasks = Integer.MAX_VALUE;
+        private Predicate<Task> filter;
+        private ProgressListener progressListener;
+        private int progressInterval = 10_000;
+
+        public int getMaxTasks() { return maxTasks; }
+        public void setMaxTasks(int maxTasks) { this.maxTasks = maxTasks; }
+
+        public Predicate<Task> getFilter() { return filter; }
+        public void setFilter(Predicate<Task> filter) { this.filter = filter; }
+
+        public ProgressListener getProgressListener() { return progressListener; }
+        public void setProgressListener(ProgressListener progressListener) { this.progressListener = progressListener; }
+
+        public int getProgressInterval() { return progressInterval; }
+        public void setProgressInterval(int progressInterval) { this.progressInterval = progressInterval; }
+
+        /**
+         * Returns whether these options may leave tasks out of the result.
+         */
+        public boolean isPartial() {
+            return maxTasks != Integer.MAX_VALUE || filter != null;
+        }
+
+        /**
+         * Returns whether a task passes the filter.
+         */
+        public boolean accepts(Task task) {
+            return filter == null || filter.test(task);
+        }
+    }
+
+    /**
+     * Constructs a loader that binds values with the given mapper.
+     * @param mapper The mapper, configured for the snapshot format (e.g. with the JavaTimeModule).
+     */
+    public StreamingTaskLoader(ObjectMapper mapper) {
+        this.mapper = mapper;
+    }
+
+    /**
+     * Loads a snapshot file.
+     * @param file The snapshot file.
+     * @param options The cap, filter and progress listener.
+     * @return The loaded data.
+     */
+    public JSONHandler.DataWrapper load(File file, Options options) throws IOException {
+        JSONHandler.DataWrapper data = new JSONHandler.DataWrapper();
+        long totalBytes = file.length();
+        try (JsonParser parser = mapper.getFactory().createParser(file)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a JSON object at the start of " + file);
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken(); // Move to the value
+                switch (field) {
+                    case "tasks":
+                        data.setTasks(readTasks(parser, data, totalBytes, options));
+                        break;
+                    case "categories":
+                        data.setCategories(mapper.readValue(parser, STRING_LIST));
+                        break;
+                    case "priorities":
+                        data.setPriorities(mapper.readValue(parser, STRING_LIST));
+                        break;
+                    case "reminders":
+                        data.setReminders(mapper.readValue(parser, REMINDER_LIST));
+                        break;
+                    default:
+                        parser.skipChildren();
+                }
+            }
+        }
+        return data;
+    }
+
+    private List<Task> readTasks(JsonParser parser, JSONHandler.DataWrapper data, long totalBytes, Options options) throws IOException {
+        List<Task> tasks = new ArrayList<>();
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return tasks;
+        }
+        ProgressListener listener = options.getProgressListener();
+        int seen = 0;
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            seen++;
+            if (tasks.size() >= options.getMaxTasks()) {
+                skipTask(parser, data); // Over the cap: skip without creating objects
+            } else {
+                Task task = mapper.readValue(parser, Task.class);
+                if (options.accepts(task)) {
+                    tasks.add(task);
+                } else {
+                    data.noteIds(task);
+                }
+            }
+            if (listener != null && seen % options.getProgressInterval() == 0) {
+                listener.onProgress(parser.getCurrentLocation().getByteOffset(), totalBytes, tasks.size());
+            }
+        }
+        if (listener != null) {
+            listener.onProgress(parser.getCurrentLocation().getByteOffset(), totalBytes, tasks.size());
+        }
+        return tasks;
+    }
+
+    /**
+     * Skips a task object token by token, noting its ID and the IDs of its reminders.
+     * The parser is on the task's START_OBJECT and is left on its END_OBJECT.
+     */
+    private static void skipTask(JsonParser parser, JSONHandler.DataWrapper data) throws IOException {
+        int depth = 0; // 0 inside the task, 2 inside one of its reminders
+        while (true) {
+            JsonToken token = parser.nextToken();
+            if (token == null) {
+                throw new IOException("Unexpected end of input inside a task");
+            }
+            if (token.isStructStart()) {
+                depth++;
+            } else if (token.isStructEnd()) {
+                if (depth-- == 0) {
+                    return;
+                }
+            } else if (token == JsonToken.FIELD_NAME && "id".equals(parser.getCurrentName())
+                    && parser.nextToken() == JsonToken.VALUE_NUMBER_INT) {
+                if (depth == 0) {
+                    data.noteTaskId(parser.getIntValue());
+                } else if (depth == 2) {
+                    data.noteReminderId(parser.getIntValue());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package org.example.utils;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.example.model.Task;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Append-only journal of task mutations that sits next to the JSON snapshot.
+ * Every mutation is written as one compact JSON line instead of rewriting the whole snapshot.
+ * Once the journal grows past a threshold it is rotated and folded into the snapshot in the background.
+ */
+public class TaskJournal {
+    private final Path journalPath;
+    private final Path rotatedPath;
+
+    /**
+     * Constructs a journal for the given file.
+     * @param journalPath The path of the active journal file.
+     */
+    public TaskJournal(Path journalPath) {
+        this.journalPath = journalPath;
+        this.rotatedPath = journalPath.resolveSibling(journalPath.getFileName() + ".old");
+    }
+
+    /**
+     * The mapper for journal lines, created on first use so that opening a store without a
+     * journal does not set up Jackson.
+     */
+    private static final class Json {
+        static final ObjectMapper mapper = new ObjectMapper();
+
+        static {
+            mapper.registerModule(new JavaTimeModule());
+            mapper.registerModule(StoredStatusDeserializer.module());
+            mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        }
+    }
+
+    /**
+     * A single journal record.
+     * PUT stores a whole task (including its reminders), DELETE removes a task by ID,
+     * CATEGORIES and PRIORITIES replace the respective list.
+     */
+    public static class Entry {
+        public static final String PUT = "PUT";
+        public static final String DELETE = "DELETE";
+        public static final String CATEGORIES = "CATEGORIES";
+        public static final String PRIORITIES = "PRIORITIES";
+
+        private String op;
+        private Task task;
+        private Integer id;
+        private List<String> values;
+
+        // Default constructor for deserialization
+        public Entry() {
+        }
+
+        public static Entry put(Task task) {
+            Entry entry = new Entry();
+            entry.op = PUT;
+            entry.task = task;
+            return entry;
+        }
+
+        public static Entry delete(int id) {
+            Entry entry = new Entry();
+            entry.op = DELETE;
+            entry.id = id;
+            return entry;
+        }
+
+        public static Entry categories(List<String> categories) {
+            Entry entry = new Entry();
+            entry.op = CATEGORIES;
+            entry.values = new ArrayList<>(categories);
+            return entry;
+        }
+
+        public static Entry priorities(List<String> priorities) {
+            Entry entry = new Entry();
+            entry.op = PRIORITIES;
+            entry.values = new ArrayList<>(priorities);
+            return entry;
+        }
+
+        public String getOp() { return op; }
+        public void setOp(String op) { this.op = op; }
+
+        public Task getTask() { return task; }
+        public void setTask(Task task) { this.task = task; }
+
+        public Integer getId() { return id; }
+        public void setId(Integer id) { this.id = id; }
+
+        public List<String> getValues() { return values; }
+        public void setValues(List<String> values) { this.values = values; }
+    }
+
+    /**
+     * Encodes an entry as a single journal line (without the trailing newline).
+     * Encoding happens on the caller's thread so that the task is captured as it is right now.
+     * @param entry The entry to encode.
+     * @return The compact JSON form of the entry.
+     */
+    public String encode(Entry entry) throws IOException {
+        return Json.mapper.writeValueAsString(entry);
+    }
+
+    /**
+     * Appends already encoded lines to the journal in a single write.
+     * @param lines The encoded entries.
+     */
+    public void append(List<String> lines) throws IOException {
+        if (lines.isEmpty()) {
+            return;
+        }
+        StringBuilder builder = new StringBuilder();
+        for (String line : lines) {
+            builder.append(line).append('\n');
+        }
+        Path parentDir = journalPath.getParent();
+        if (parentDir != null) {
+            Files.createDirectories(parentDir);
+        }
+        Files.write(journalPath, builder.toString().getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Returns the size of the active journal in bytes.
+     */
+    public long size() {
+        try {
+            return Files.exists(journalPath) ? Files.size(journalPath) : 0L;
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+
+    /**
+     * Moves the active journal aside so that it can be compacted while new entries go to a fresh file.
+     * @return True if the journal was rotated, false if a previous rotation is still pending.
+     */
+    public boolean rotate() throws IOException {
+        if (Files.exists(rotatedPath) || !Files.exists(journalPath)) {
+            return false;
+        }
+        Files.move(journalPath, rotatedPath, StandardCopyOption.ATOMIC_MOVE);
+        return true;
+    }
+
+    /**
+     * Replays the rotated journal (if any) into the given data.
+     */
+    public void replayRotated(JSONHandler.DataWrapper data) {
+        replayFile(rotatedPath, data, null);
+    }
+
+    /**
+     * Replays the rotated journal (if any) followed by the active journal into the given data.
+     */
+    public void replay(JSONHandler.DataWrapper data) {
+        replay(data, null);
+    }
+
+    /**
+     * Replays both journals, keeping only tasks accepted by the filter.
+     * A task that stops matching after an update is dropped from the data.
+     * @param data The data to apply the entries to.
+     * @param filter The task filter, or null to keep every task.
+     */
+    public void replay(JSONHandler.DataWrapper data, Predicate<Task> filter) {
+        replayFile(rotatedPath, data, filter);
+        replayFile(journalPath, data, filter);
+    }
+
+    /**
+     * Deletes the rotated journal once its entries are part of the snapshot.
+     */
+    public void deleteRotated() throws IOException {
+        Files.deleteIfExists(rotatedPath);
+    }
+
+    /**
+     * Deletes both journal files, used after a full snapshot has been written.
+     */
+    public void clear() throws IOException {
+        Files.deleteIfExists(rotatedPath);
+        Files.deleteIfExists(journalPath);
+    }
+
+    private void replayFile(Path path, JSONHandler.DataWrapper data, Predicate<Task> filter) {
+        if (!Files.exists(path)) {
+            return;
+        }
+        // Index the snapshot tasks by ID so that each entry is applied in constant time.
+        Map<Integer, Task> tasksById = new LinkedHashMap<>();
+        for (Task task : data.getTasks()) {
+            tasksById.put(task.getId(), task);
+        }
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                Entry entry;
+                try {
+                    entry = Json.mapper.readValue(line, Entry.class);
+                } catch (IOException e) {
+                    // A torn last line is expected after a crash mid-write; everything before it is valid.
+                    System.err.println("Skipping unreadable journal entry: " + e.getMessage());
+                    continue;
+                }
+                apply(entry, tasksById, data, filter);
+            }
+        } catch (IOException e) {
+            System.err.println("Error reading journal: " + e.getMessage());
+        }
+        data.setTasks(new ArrayList<>(tasksById.values()));
+    }
+
+    private void apply(Entry entry, Map<Integer, Task> tasksById, JSONHandler.DataWrapper data, Predicate<Task> filter) {
+        if (entry.getOp() == null) {
+            return;
+        }
+        switch (entry.getOp()) {
+            case Entry.PUT:
+                if (entry.getTask() == null) {
+                    break;
+                }
+                if (filter == null || filter.test(entry.getTask())) {
+                    tasksById.put(entry.getTask().getId(), entry.getTask());
+                } else {
+                    tasksById.remove(entry.getTask().getId());
+                    data.noteIds(entry.getTask());
+                }
+                break;
+            case Entry.DELETE:
+                if (entry.getId() != null) {
+                    tasksById.remove(entry.getId());
+                }
+                break;
+            case Entry.CATEGORIES:
+                data.setCategories(new ArrayList<>(entry.getValues()));
+                break;
+            case Entry.PRIORITIES:
+                data.setPriorities(new ArrayList<>(entry.getValues()));
+                break;
+            default:
+                System.err.println("Unknown journal operation: " + entry.getOp());
+        }
+    }
+}
@@ -0,0 +1,319 @@
+package org.example.utils;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.example.model.Reminder;
+import org.example.model.Status;
+import org.example.model.Task;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Converts tasks to and from the records of the bulk exchange formats:
+ * CSV with a header row, and JSON Lines (NDJSON) with one task object per line.
+ *
+ * <p>CSV columns are matched by name, so they may come in any order and unknown columns
+ * are ignored. Only "title" is required. Reminders are written as a JSON array in the
+ * "reminders" column. Decoding validates every record and fills in the defaults a task
+ * created in the application would get: category "Other", priority "Default", and a
+ * status derived from the deadline.</p>
+ *
+ * <p>A codec holds no mutable state, so records can be encoded and decoded on several
+ * threads at once.</p>
+ */
+public class TaskRecordCodec {
+    /**
+     * A bulk exchange format.
+     */
+    public enum Format {
+        CSV,
+        NDJSON;
+
+        /**
+         * Returns the format for a file name: ".csv" is CSV, ".ndjson", ".jsonl" and ".json" are NDJSON.
+         * @throws IllegalArgumentException If the extension is not one of these.
+         */
+        public static Format forFile(Path file) {
+            String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+            if (name.endsWith(".csv")) {
+                return CSV;
+            }
+            if (name.endsWith(".ndjson") || name.endsWith(".jsonl") || name.endsWith(".json")) {
+                return NDJSON;
+            }
+            throw new IllegalArgumentException("Unknown task file format: " + file.getFileName());
+        }
+    }
+
+    static final String[] COLUMNS = {"id", "title", "description", "category", "priority", "deadline", "status", "reminders"};
+    private static final int ID = 0;
+    private static final int TITLE = 1;
+    private static final int DESCRIPTION = 2;
+    private static final int CATEGORY = 3;
+    private static final int PRIORITY = 4;
+    private static final int DEADLINE = 5;
+    private static final int STATUS = 6;
+    private static final int REMINDERS = 7;
+    private static final TypeReference<List<Reminder>> REMINDER_LIST = new TypeReference<>() {};
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    static {
+        mapper.registerModule(new JavaTimeModule());
+        mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        mapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS); // ISO dates, like the CSV deadline column
+    }
+
+    private final Format format;
+    private final int[] positions; // CSV: the header position of each of COLUMNS, or -1
+    private final int fieldCount;  // CSV: the number of header columns
+
+    private TaskRecordCodec(Format format, int[] positions, int fieldCount) {
+        this.format = format;
+        this.positions = positions;
+        this.fieldCount = fieldCount;
+    }
+
+    /**
+     * Returns a codec that writes records in the given format, with all columns in the standard order.
+     */
+    public static TaskRecordCodec forWriting(Format format) {
+        int[] positions = new int[COLUMNS.length];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = i;
+        }
+        return new TaskRecordCodec(format, positions, COLUMNS.length);
+    }
+
+    /**
+     * Returns a codec that reads records in the given format.
+     * @param header The CSV header row; ignored for NDJSON.
+     * @throws IllegalArgumentException If the CSV header has no "title" column.
+     */
+    public static TaskRecordCodec forReading(Format format, String header) {
+        if (format == Format.NDJSON) {
+            return forWriting(format);
+        }
+        List<String> names = splitCsv(header == null ? "" : header);
+        int[] positions = new int[COLUMNS.length];
+        for (int i = 0; i < COLUMNS.length; i++) {
+            positions[i] = -1;
+            for (int j = 0; j < names.size(); j++) {
+                if (names.get(j).trim().equalsIgnoreCase(COLUMNS[i])) {
+                    positions[i] = j;
+                    break;
+                }
+            }
+        }
+        if (positions[TITLE] < 0) {
+            throw new IllegalArgumentException("The CSV header has no title column: " + header);
+        }
+        return new TaskRecordCodec(format, positions, names.size());
+    }
+
+    public Format getFormat() {
+        return format;
+    }
+
+    /**
+     * Returns the header row to write before the records, or null if the format has none.
+     */
+    public String header() {
+        return format == Format.CSV ? String.join(",", COLUMNS) : null;
+    }
+
+    /**
+     * Encodes a task as one record, without a line separator.
+     * CSV fields that contain line breaks are quoted, so a CSV record may span lines.
+     */
+    public String encode(Task task) {
+        try {
+            if (format == Format.NDJSON) {
+                return mapper.writeValueAsString(task);
+            }
+            StringBuilder record = new StringBuilder(128);
+            record.append(task.getId()).append(',');
+            appendCsv(record, task.getTitle()).append(',');
+            appendCsv(record, task.getDescription()).append(',');
+            appendCsv(record, task.getCategory()).append(',');
+            appendCsv(record, task.getPriority()).append(',');
+            appendCsv(record, task.getDeadline() == null ? null : task.getDeadline().toString()).append(',');
+            appendCsv(record, task.getStatus() == null ? null : task.getStatus().getLabel()).append(',');
+            appendCsv(record, task.getReminders().isEmpty() ? null : mapper.writeValueAsString(task.getReminders()));
+            return record.toString();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot encode task " + task.getId(), e);
+        }
+    }
+
+    /**
+     * Decodes and validates one record.
+     * @param record The record, as returned by {@link TaskRecordReader#next()}.
+     * @return The task, with defaults filled in. Its ID is the one in the record, or 0.
+     * @throws IllegalArgumentException If the record is malformed or invalid; the message says why.
+     */
+    public Task decode(String record) {
+        Task task = format == Format.NDJSON ? decodeJson(record) : decodeCsv(record);
+        return validate(task);
+    }
+
+    private Task decodeJson(String record) {
+        try {
+            Task task = mapper.readValue(record, Task.class);
+            if (task == null) {
+                throw new IllegalArgumentException("Expected a task object");
+            }
+            return task;
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(e.getOriginalMessage(), e);
+        }
+    }
+
+    private Task decodeCsv(String record) {
+        List<String> fields = splitCsv(record);
+        if (fields.size() > fieldCount) {
+            throw new IllegalArgumentException("Expected " + fieldCount + " fields, found " + fields.size());
+        }
+        Task task = new Task();
+        String id = field(fields, ID);
+        if (id != null) {
+            try {
+                task.setId(Integer.parseInt(id.trim()));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid id: " + id);
+            }
+        }
+        task.setTitle(field(fields, TITLE));
+        task.setDescription(field(fields, DESCRIPTION));
+        task.setCategory(field(fields, CATEGORY));
+        task.setPriority(field(fields, PRIORITY));
+        String deadline = field(fields, DEADLINE);
+        if (deadline != null) {
+            try {
+                task.setDeadline(LocalDate.parse(deadline.trim()));
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid deadline: " + deadline);
+            }
+        }
+        String status = field(fields, STATUS);
+        if (status != null) {
+            task.setStatus(Status.fromLabel(status.trim()));
+        }
+        String reminders = field(fields, REMINDERS);
+        if (reminders != null) {
+            try {
+                task.setReminders(new ArrayList<>(mapper.readValue(reminders, REMINDER_LIST)));
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("Invalid reminders: " + e.getOriginalMessage());
+            }
+        }
+        return task;
+    }
+
+    /**
+     * Returns a field by column, or null if the column is absent or the field is empty.
+     */
+    private String field(List<String> fields, int column) {
+        int position = positions[column];
+        if (position < 0 || position >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(position);
+        return value.isEmpty() ? null : value;
+    }
+
+    private static Task validate(Task task) {
+        if (task.getTitle() == null || task.getTitle().isBlank()) {
+            throw new IllegalArgumentException("Missing title");
+        }
+        if (task.getCategory() == null || task.getCategory().isBlank()) {
+            task.setCategory("Other");
+        }
+        if (task.getPriority() == null || task.getPriority().isBlank()) {
+            task.setPriority("Default");
+        }
+        if (task.getStatus() == null) {
+            // As for a task created in the application
+            boolean late = task.getDeadline() != null && task.getDeadline().isBefore(LocalDate.now());
+            task.setStatus(late ? Status.DELAYED : Status.OPEN);
+        }
+        if (task.getReminders() == null) {
+            task.setReminders(new ArrayList<>());
+        }
+        for (Reminder reminder : task.getReminders()) {
+            if (reminder == null) {
+                throw new IllegalArgumentException("Empty reminder");
+            }
+        }
+        return task;
+    }
+
+    private static StringBuilder appendCsv(StringBuilder record, String value) {
+        if (value == null) {
+            return record;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            return record.append(value);
+        }
+        record.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                record.append('"');
+            }
+            record.append(c);
+        }
+        return record.append('"');
+    }
+
+    /**
+     * Splits a CSV record into fields, as in RFC 4180: fields may be quoted, and a doubled
+     * quote inside a quoted field is a literal quote.
+     * @throws IllegalArgumentException If a quoted field is not closed.
+     */
+    static List<String> splitCsv(String record) {
+        List<String> fields = new ArrayList<>(COLUMNS.length);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < record.length(); i++) {
+            char c = record.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < record.length() && record.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unclosed quote");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
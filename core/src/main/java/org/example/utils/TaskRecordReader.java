@@ -0,0 +1,104 @@
+package org.example.utils;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Splits a CSV or NDJSON stream into records without decoding them, so decoding can run
+ * on other threads. Only the current record is held in memory. Blank lines are skipped;
+ * a CSV record continues over line breaks inside quoted fields.
+ */
+public class TaskRecordReader implements Closeable {
+    private final BufferedReader in;
+    private final TaskRecordCodec.Format format;
+    private final TaskRecordCodec codec;
+    private long lineNumber;       // Lines read so far
+    private long recordLineNumber; // Line on which the last record started
+
+    /**
+     * Constructs a reader. For CSV the header row is read here.
+     * @param in The stream; it is closed with this reader.
+     * @param format The format of the stream.
+     * @throws IllegalArgumentException If the CSV header has no title column.
+     */
+    public TaskRecordReader(Reader in, TaskRecordCodec.Format format) throws IOException {
+        this.in = in instanceof BufferedReader ? (BufferedReader) in : new BufferedReader(in, 1 << 16);
+        this.format = format;
+        String header = null;
+        if (format == TaskRecordCodec.Format.CSV) {
+            header = next();
+        }
+        this.codec = TaskRecordCodec.forReading(format, header);
+    }
+
+    /**
+     * Returns the codec for the records of this stream.
+     */
+    public TaskRecordCodec getCodec() {
+        return codec;
+    }
+
+    /**
+     * Reads the next record.
+     * @return The record without its line separator, or null at the end of the stream.
+     */
+    public String next() throws IOException {
+        String line;
+        do {
+            line = in.readLine();
+            if (line == null) {
+                return null;
+            }
+            lineNumber++;
+            if (lineNumber == 1 && line.startsWith("\uFEFF")) {
+                line = line.substring(1); // Byte order mark written by some spreadsheets
+            }
+        } while (line.isBlank());
+        recordLineNumber = lineNumber;
+        if (format == TaskRecordCodec.Format.NDJSON) {
+            return line;
+        }
+        if (!hasOpenQuote(line, false)) {
+            return line;
+        }
+        StringBuilder record = new StringBuilder(line);
+        boolean open = true;
+        while (open) {
+            line = in.readLine();
+            if (line == null) {
+                break; // Reported as an unclosed quote when the record is decoded
+            }
+            lineNumber++;
+            record.append('\n').append(line);
+            open = hasOpenQuote(line, true);
+        }
+        return record.toString();
+    }
+
+    /**
+     * Returns the line number (from 1) on which the last record returned by {@link #next()} started.
+     */
+    public long getRecordLineNumber() {
+        return recordLineNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    /**
+     * Returns whether a quoted CSV field is still open at the end of a line.
+     * @param open Whether a quoted field was open at the start of the line.
+     */
+    private static boolean hasOpenQuote(String line, boolean open) {
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) == '"') {
+                open = !open; // A doubled quote toggles twice
+            }
+        }
+        return open;
+    }
+}
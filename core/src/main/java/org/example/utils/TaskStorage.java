@@ -0,0 +1,75 @@
+package org.example.utils;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Where a {@link org.example.controller.TaskManager} keeps its data: a full snapshot of the
+ * store, plus an optional journal of the changes made since it was written.
+ * {@link JSONHandler} is the file-based implementation.
+ *
+ * <p>Snapshots and journal lines are written one write at a time: from the persistence thread
+ * of the TaskManager, or in SYNC mode from the threads that make changes;
+ * {@link #encodeEntry} is also called from the threads that make changes, possibly several
+ * at once, so it must be thread-safe.</p>
+ */
+public interface TaskStorage {
+    /**
+     * Loads the snapshot and applies the journal written since.
+     * @param options The cap, filter and progress listener.
+     * @return The loaded data; empty if nothing was saved yet.
+     * @throws java.io.UncheckedIOException If saved data exists but cannot be read.
+     */
+    JSONHandler.DataWrapper loadData(StreamingTaskLoader.Options options);
+
+    /**
+     * Replaces the snapshot. The journal written before is no longer needed afterwards.
+     * @param data The whole store.
+     */
+    void saveData(JSONHandler.DataWrapper data);
+
+    /**
+     * Returns whether changes should be appended to the journal instead of rewriting the snapshot.
+     */
+    boolean isJournalEnabled();
+
+    /**
+     * Encodes a journal entry for {@link #appendLines}.
+     * @return The encoded line, or null if the entry could not be encoded.
+     */
+    String encodeEntry(TaskJournal.Entry entry);
+
+    /**
+     * Appends encoded entries to the journal in one write.
+     * @param lines The encoded entries.
+     */
+    void appendLines(List<String> lines);
+
+    /**
+     * Maps a read-only view of the snapshot without deserializing its tasks.
+     * @return The reader, or null if this storage has no snapshot that can be mapped.
+     */
+    default MappedSnapshotReader openMappedSnapshot() throws IOException {
+        return null;
+    }
+
+    /**
+     * Loads the last day whose reminders have all been delivered.
+     * @return The day, or null if no reminder was ever delivered.
+     */
+    LocalDate loadReminderWatermark();
+
+    /**
+     * Stores the last day whose reminders have all been delivered.
+     * @param day The day.
+     */
+    void saveReminderWatermark(LocalDate day);
+
+    /**
+     * Waits for background work, such as a journal compaction, to finish.
+     * Called by {@link org.example.controller.TaskManager#close()} after its last write.
+     */
+    default void close() {
+    }
+}
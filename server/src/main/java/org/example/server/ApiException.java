@@ -0,0 +1,25 @@
+package org.example.server;
+
+/**
+ * A request that cannot be served; sent to the client as its status code and a JSON error message.
+ */
+class ApiException extends RuntimeException {
+    private final int status;
+
+    ApiException(int status, String message) {
+        super(message);
+        this.status = status;
+    }
+
+    int getStatus() {
+        return status;
+    }
+
+    static ApiException notFound(String message) {
+        return new ApiException(404, message);
+    }
+
+    static ApiException badRequest(String message) {
+        return new ApiException(400, message);
+    }
+}
@@ -0,0 +1,512 @@
+package org.example.server;
+
+import org.example.controller.TaskManager;
+import org.example.model.Status;
+import org.example.model.Task;
+import org.example.utils.JSONHandler;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Drives a task server with concurrent keep-alive connections and reports the throughput and
+ * latency percentiles of each kind of request.
+ *
+ * <pre>
+ * LoadTest [--url http://host:port] [--tasks 100000] [--concurrency 64]
+ *          [--duration 30] [--warmup 5] [--mix read:60,query:20,stats:10,write:10] [--json file]
+ * </pre>
+ *
+ * <p>Without --url, a server is started in this JVM over a scratch data directory holding
+ * --tasks generated tasks, and deleted afterwards. With --url, the server must already hold
+ * tasks with IDs 1 to --tasks. The kinds of requests are: read (GET /tasks/{id}), query
+ * (GET /tasks with a category, a status and a limit of 50), stats (GET /stats) and write
+ * (PUT /tasks/{id} changing the status). Durations are in seconds; requests made during
+ * the warm-up are not counted. --json also writes the results to a file.</p>
+ */
+public final class LoadTest {
+    private static final String[] CATEGORIES = {"Work", "Personal", "Study", "Health", "Finance", "Home", "Travel", "Other"};
+    private static final String[] PRIORITIES = {"Default", "Low", "Medium", "High"};
+    private static final String[] WORDS = {
+            "report", "meeting", "invoice", "review", "draft", "budget", "design", "release",
+            "groceries", "dentist", "flight", "hotel", "exam", "lecture", "thesis", "garden"
+    };
+    private static final String[] KINDS = {"read", "query", "stats", "write"};
+
+    private String url;
+    private int tasks = 100_000;
+    private int concurrency = 64;
+    private int duration = 30;
+    private int warmup = 5;
+    private final int[] mix = {60, 20, 10, 10};
+    private Path json;
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTest test = new LoadTest();
+        try {
+            test.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Usage: LoadTest [--url http://host:port] [--tasks 100000] [--concurrency 64]"
+                    + " [--duration 30] [--warmup 5] [--mix read:60,query:20,stats:10,write:10] [--json file]");
+            System.exit(2);
+        }
+        test.run();
+    }
+
+    private void parse(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            String option = args[i];
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + option);
+            }
+            String value = args[++i];
+            switch (option) {
+                case "--url": url = value.replaceAll("/+$", ""); break;
+                case "--tasks": tasks = Integer.parseInt(value); break;
+                case "--concurrency": concurrency = Integer.parseInt(value); break;
+                case "--duration": duration = Integer.parseInt(value); break;
+                case "--warmup": warmup = Integer.parseInt(value); break;
+                case "--json": json = Path.of(value); break;
+                case "--mix":
+                    Arrays.fill(mix, 0);
+                    for (String part : value.split(",")) {
+                        String[] kindAndWeight = part.split(":");
+                        int kind = Arrays.asList(KINDS).indexOf(kindAndWeight[0].trim());
+                        if (kind < 0 || kindAndWeight.length != 2) {
+                            throw new IllegalArgumentException("Invalid mix: " + value);
+                        }
+                        mix[kind] = Integer.parseInt(kindAndWeight[1].trim());
+                    }
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option: " + option);
+            }
+        }
+        if (tasks < 1 || concurrency < 1 || duration < 1 || warmup < 0 || Arrays.stream(mix).sum() <= 0) {
+            throw new IllegalArgumentException("Invalid options");
+        }
+    }
+
+    private void run() throws Exception {
+        Path directory = null;
+        TaskManager taskManager = null;
+        TaskServer server = null;
+        String target = url;
+        if (target == null) {
+            directory = Files.createTempDirectory("task-load-test");
+            long start = System.nanoTime();
+            new JSONHandler(directory).saveData(store(tasks));
+            taskManager = new TaskManager(new JSONHandler(directory));
+            server = new TaskServer(taskManager, new InetSocketAddress("127.0.0.1", 0));
+            server.start();
+            target = "http://127.0.0.1:" + server.getPort();
+            System.out.printf("Started a server with %d task(s) in %d ms (%s threads)%n", tasks,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+                    server.usesVirtualThreads() ? "virtual" : "platform");
+        }
+        try {
+            report(drive(URI.create(target)));
+        } finally {
+            if (server != null) {
+                server.stop(0);
+                taskManager.close();
+                delete(directory);
+            }
+        }
+    }
+
+    // --------------------------------
+    // LOAD
+    // --------------------------------
+
+    /**
+     * Runs the workers and merges their measurements.
+     */
+    private Recorder[] drive(URI target) throws InterruptedException {
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(warmup);
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(duration);
+        List<Worker> workers = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            Worker worker = new Worker(target, measureFrom, end);
+            worker.setName("load-" + i);
+            worker.setDaemon(true);
+            workers.add(worker);
+            worker.start();
+        }
+        System.out.printf("%d connection(s) to %s: %d s of warm-up, then %d s measured%n", concurrency, target, warmup, duration);
+        Recorder[] totals = new Recorder[KINDS.length];
+        for (int kind = 0; kind < KINDS.length; kind++) {
+            totals[kind] = new Recorder();
+        }
+        for (Worker worker : workers) {
+            worker.join();
+            for (int kind = 0; kind < KINDS.length; kind++) {
+                totals[kind].addAll(worker.recorders[kind]);
+            }
+            if (worker.failure != null) {
+                System.err.println(worker.getName() + " stopped: " + worker.failure);
+            }
+        }
+        return totals;
+    }
+
+    private final class Worker extends Thread {
+        private final URI target;
+        private final long measureFrom;
+        private final long end;
+        private final Recorder[] recorders = new Recorder[KINDS.length];
+        private Exception failure;
+
+        Worker(URI target, long measureFrom, long end) {
+            this.target = target;
+            this.measureFrom = measureFrom;
+            this.end = end;
+            for (int kind = 0; kind < KINDS.length; kind++) {
+                recorders[kind] = new Recorder();
+            }
+        }
+
+        @Override
+        public void run() {
+            int weights = Arrays.stream(mix).sum();
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            Connection connection = null;
+            try {
+                long now;
+                while ((now = System.nanoTime()) < end) {
+                    if (connection == null) {
+                        connection = new Connection(target);
+                    }
+                    int kind = pick(random.nextInt(weights));
+                    int status;
+                    try {
+                        status = send(connection, kind, random);
+                    } catch (IOException e) {
+                        connection.close(); // The server closed the connection; count it and reconnect
+                        connection = null;
+                        status = -1;
+                    }
+                    long done = System.nanoTime();
+                    if (now >= measureFrom) {
+                        recorders[kind].record(done - now, status >= 200 && status < 300);
+                    }
+                }
+            } catch (IOException e) {
+                failure = e;
+            } finally {
+                if (connection != null) {
+                    connection.close();
+                }
+            }
+        }
+
+        private int pick(int roll) {
+            for (int kind = 0; kind < KINDS.length; kind++) {
+                roll -= mix[kind];
+                if (roll < 0) {
+                    return kind;
+                }
+            }
+            return KINDS.length - 1;
+        }
+
+        private int send(Connection connection, int kind, ThreadLocalRandom random) throws IOException {
+            int id = 1 + random.nextInt(tasks);
+            switch (kind) {
+                case 0:
+                    return connection.request("GET", "/tasks/" + id, null);
+                case 1:
+                    return connection.request("GET", "/tasks?category=" + CATEGORIES[random.nextInt(CATEGORIES.length)]
+                            + "&status=Open&limit=50", null);
+                case 2:
+                    return connection.request("GET", "/stats", null);
+                default:
+                    String status = random.nextBoolean() ? Status.OPEN.getLabel() : Status.IN_PROGRESS.getLabel();
+                    return connection.request("PUT", "/tasks/" + id, "{\"status\":\"" + status + "\"}");
+            }
+        }
+    }
+
+    /**
+     * An HTTP/1.1 keep-alive connection that reads and discards response bodies.
+     */
+    private static final class Connection {
+        private final Socket socket;
+        private final String host;
+        private final InputStream in;
+        private final OutputStream out;
+
+        Connection(URI target) throws IOException {
+            int port = target.getPort() == -1 ? 80 : target.getPort();
+            socket = new Socket(target.getHost(), port);
+            socket.setTcpNoDelay(true);
+            host = target.getHost() + ":" + port;
+            in = new BufferedInputStream(socket.getInputStream(), 1 << 16);
+            out = new BufferedOutputStream(socket.getOutputStream(), 1 << 12);
+        }
+
+        /**
+         * Sends a request and reads the whole response.
+         * @return The status code.
+         */
+        int request(String method, String path, String body) throws IOException {
+            byte[] content = body == null ? null : body.getBytes(StandardCharsets.UTF_8);
+            StringBuilder head = new StringBuilder(128)
+                    .append(method).append(' ').append(path).append(" HTTP/1.1\r\n")
+                    .append("Host: ").append(host).append("\r\n");
+            if (content != null) {
+                head.append("Content-Type: application/json\r\nContent-Length: ").append(content.length).append("\r\n");
+            }
+            head.append("\r\n");
+            out.write(head.toString().getBytes(StandardCharsets.US_ASCII));
+            if (content != null) {
+                out.write(content);
+            }
+            out.flush();
+
+            String statusLine = readLine();
+            String[] parts = statusLine.split(" ", 3);
+            if (parts.length < 2 || !parts[0].startsWith("HTTP/")) {
+                throw new IOException("Invalid status line: " + statusLine);
+            }
+            int status = Integer.parseInt(parts[1]);
+            long length = -1;
+            boolean chunked = false;
+            boolean close = false;
+            for (String line = readLine(); !line.isEmpty(); line = readLine()) {
+                int colon = line.indexOf(':');
+                if (colon < 0) {
+                    continue;
+                }
+                String name = line.substring(0, colon).trim().toLowerCase(Locale.ROOT);
+                String value = line.substring(colon + 1).trim();
+                if (name.equals("content-length")) {
+                    length = Long.parseLong(value);
+                } else if (name.equals("transfer-encoding")) {
+                    chunked = value.equalsIgnoreCase("chunked");
+                } else if (name.equals("connection")) {
+                    close = value.equalsIgnoreCase("close");
+                }
+            }
+            if (chunked) {
+                for (long size = Long.parseLong(readLine().split(";")[0].trim(), 16); size > 0;
+                     size = Long.parseLong(readLine().split(";")[0].trim(), 16)) {
+                    skip(size);
+                    readLine();
+                }
+                while (!readLine().isEmpty()) {
+                    // Trailers
+                }
+            } else if (length > 0) {
+                skip(length);
+            } else if (length < 0 && status != 204 && status != 304) {
+                throw new IOException("Response without a length"); // Would need the connection to close
+            }
+            if (close) {
+                throw new IOException("The server closed the connection");
+            }
+            return status;
+        }
+
+        private String readLine() throws IOException {
+            ByteArrayOutputStream line = new ByteArrayOutputStream(64);
+            int b;
+            while ((b = in.read()) != '\n') {
+                if (b == -1) {
+                    throw new IOException("Connection closed");
+                }
+                if (b != '\r') {
+                    line.write(b);
+                }
+            }
+            return line.toString(StandardCharsets.US_ASCII);
+        }
+
+        private void skip(long count) throws IOException {
+            while (count > 0) {
+                long skipped = in.skip(count);
+                if (skipped <= 0) {
+                    if (in.read() == -1) {
+                        throw new IOException("Connection closed");
+                    }
+                    skipped = 1;
+                }
+                count -= skipped;
+            }
+        }
+
+        void close() {
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // Nothing to do
+            }
+        }
+    }
+
+    // --------------------------------
+    // RESULTS
+    // --------------------------------
+
+    /**
+     * The latencies of one kind of request, in nanoseconds.
+     */
+    private static final class Recorder {
+        private long[] latencies = new long[1024];
+        private int count;
+        private int errors;
+
+        void record(long latency, boolean ok) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latency;
+            if (!ok) {
+                errors++;
+            }
+        }
+
+        void addAll(Recorder other) {
+            if (count + other.count > latencies.length) {
+                latencies = Arrays.copyOf(latencies, Math.max(count + other.count, latencies.length * 2));
+            }
+            System.arraycopy(other.latencies, 0, latencies, count, other.count);
+            count += other.count;
+            errors += other.errors;
+        }
+
+        /**
+         * Returns a percentile in microseconds; the latencies must be sorted.
+         */
+        double percentile(double p) {
+            if (count == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(p / 100 * count) - 1;
+            return latencies[Math.max(0, Math.min(count - 1, index))] / 1000.0;
+        }
+    }
+
+    private void report(Recorder[] recorders) throws IOException {
+        Map<String, Map<String, Object>> results = new LinkedHashMap<>();
+        Recorder all = new Recorder();
+        for (int kind = 0; kind < KINDS.length; kind++) {
+            all.addAll(recorders[kind]);
+        }
+        System.out.printf("%-6s %10s %10s %10s %10s %10s %10s %8s%n", "", "requests", "req/s", "p50 us", "p90 us", "p99 us", "max us", "errors");
+        for (int kind = 0; kind <= KINDS.length; kind++) {
+            Recorder recorder = kind < KINDS.length ? recorders[kind] : all;
+            String name = kind < KINDS.length ? KINDS[kind] : "total";
+            if (recorder.count == 0) {
+                continue;
+            }
+            Arrays.sort(recorder.latencies, 0, recorder.count);
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("requests", recorder.count);
+            result.put("requestsPerSecond", (double) recorder.count / duration);
+            result.put("p50Micros", recorder.percentile(50));
+            result.put("p90Micros", recorder.percentile(90));
+            result.put("p99Micros", recorder.percentile(99));
+            result.put("maxMicros", recorder.percentile(100));
+            result.put("errors", recorder.errors);
+            results.put(name, result);
+            System.out.printf("%-6s %10d %10.0f %10.0f %10.0f %10.0f %10.0f %8d%n", name, recorder.count,
+                    (double) recorder.count / duration, recorder.percentile(50), recorder.percentile(90),
+                    recorder.percentile(99), recorder.percentile(100), recorder.errors);
+        }
+        if (json != null) {
+            try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(json))) {
+                out.println(toJson(results));
+            }
+            System.out.println("Results written to " + json);
+        }
+    }
+
+    private String toJson(Map<String, Map<String, Object>> results) {
+        StringBuilder out = new StringBuilder("{\"concurrency\":").append(concurrency)
+                .append(",\"durationSeconds\":").append(duration)
+                .append(",\"tasks\":").append(tasks)
+                .append(",\"results\":{");
+        String separator = "";
+        for (Map.Entry<String, Map<String, Object>> result : results.entrySet()) {
+            out.append(separator).append('"').append(result.getKey()).append("\":{");
+            String fieldSeparator = "";
+            for (Map.Entry<String, Object> field : result.getValue().entrySet()) {
+                out.append(fieldSeparator).append('"').append(field.getKey()).append("\":").append(field.getValue());
+                fieldSeparator = ",";
+            }
+            out.append('}');
+            separator = ",";
+        }
+        return out.append("}}").toString();
+    }
+
+    // --------------------------------
+    // DATA
+    // --------------------------------
+
+    private static JSONHandler.DataWrapper store(int size) {
+        Random random = new Random(42);
+        LocalDate today = LocalDate.now();
+        List<Task> tasks = new ArrayList<>(size);
+        for (int id = 1; id <= size; id++) {
+            Task task = new Task(id, words(random, 3), words(random, 8), CATEGORIES[random.nextInt(CATEGORIES.length)],
+                    PRIORITIES[random.nextInt(PRIORITIES.length)], today.plusDays(random.nextInt(365) - 30));
+            if (random.nextInt(10) == 0) {
+                task.setStatus(Status.COMPLETED);
+            }
+            tasks.add(task);
+        }
+        return new JSONHandler.DataWrapper(tasks, new ArrayList<>(Arrays.asList(CATEGORIES)),
+                new ArrayList<>(Arrays.asList(PRIORITIES)), new ArrayList<>());
+    }
+
+    private static String words(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+
+    private static void delete(Path directory) {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path path : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(path);
+            }
+        } catch (IOException e) {
+            System.err.println("Could not delete " + directory + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,611 @@
+package org.example.server;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import org.example.controller.TaskExporter;
+import org.example.controller.TaskImporter;
+import org.example.controller.TaskManager;
+import org.example.controller.TaskQuery;
+import org.example.controller.TaskStatistics;
+import org.example.controller.TaskTransaction;
+import org.example.model.Reminder;
+import org.example.model.Status;
+import org.example.model.Task;
+import org.example.utils.TaskRecordCodec;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The routes of the HTTP API. Request and response bodies are JSON in UTF-8 unless noted.
+ *
+ * <pre>
+ * GET    /health          {"status": "ok"}
+ * GET    /stats           the dashboard counters and the number of tasks per status
+ * GET    /categories      the category names
+ * GET    /priorities      the priority level names
+ * GET    /tasks           the tasks that match the query parameters
+ * GET    /tasks/count     {"count": n} for the query parameters
+ * POST   /tasks           adds a task and returns it with its new ID (201)
+ * GET    /tasks/{id}      one task
+ * PUT    /tasks/{id}      changes the fields given in the body; returns the task
+ * DELETE /tasks/{id}      deletes a task (204)
+ * POST   /tasks/bulk      changes or deletes every task that matches a filter, in one write
+ * POST   /tasks/import    imports a CSV or NDJSON body, as {@link TaskImporter} does a file
+ * </pre>
+ *
+ * <p>Query parameters of /tasks and /tasks/count: category, priority, status (labels,
+ * comma-separated), dueFrom and dueTo (ISO dates; dueTo is exclusive), q (search text),
+ * sort (none, deadline, title or relevance) and limit. /tasks also takes format: json (an
+ * array, the default), ndjson or csv. The matching tasks are looked up as one list of the
+ * stored tasks, without copying them; large results are written as they are encoded, so
+ * only the encoded form is streamed and never held in memory as a whole.</p>
+ *
+ * <p>A bulk request has a "filter" object with the same fields as the query parameters
+ * ({} matches every task) and either a "set" object with any of category, priority,
+ * deadline and status, or "delete": true. Categories and priority levels that do not exist
+ * yet are added, as on import.</p>
+ *
+ * <p>Errors are returned as {"error": message}: 400 for invalid input, 404 for unknown tasks
+ * and paths, 405 for unsupported methods and 413 for bodies over 1 MB (imports have no limit).</p>
+ */
+final class TaskApi implements HttpHandler {
+    private static final String JSON = "application/json; charset=utf-8";
+    private static final int STREAMED = 10_000; // Larger results are streamed
+    private static final int MAX_BODY = 1 << 20;
+    private static final int MAX_REPORTED_ERRORS = 100;
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final TaskRecordCodec codec = TaskRecordCodec.forReading(TaskRecordCodec.Format.NDJSON, null);
+
+    static {
+        mapper.registerModule(new JavaTimeModule());
+        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        mapper.disable(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    private final TaskManager taskManager;
+
+    TaskApi(TaskManager taskManager) {
+        this.taskManager = taskManager;
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        try {
+            route(exchange);
+        } catch (ApiException e) {
+            sendError(exchange, e.getStatus(), e.getMessage());
+        } catch (JsonProcessingException e) {
+            sendError(exchange, 400, "Invalid JSON: " + e.getOriginalMessage());
+        } catch (IllegalArgumentException e) {
+            sendError(exchange, 400, e.getMessage());
+        } catch (RuntimeException e) {
+            System.err.println("Error serving " + exchange.getRequestMethod() + " " + exchange.getRequestURI() + ": " + e);
+            sendError(exchange, 500, "Internal error");
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void route(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        String path = exchange.getRequestURI().getPath();
+        String[] segments = path.replaceAll("^/+|/+$", "").split("/+");
+        if (segments.length == 1) {
+            switch (segments[0]) {
+                case "health":
+                    allow(exchange, "GET");
+                    sendJson(exchange, 200, Map.of("status", "ok"));
+                    return;
+                case "stats":
+                    allow(exchange, "GET");
+                    sendJson(exchange, 200, statistics());
+                    return;
+                case "categories":
+                    allow(exchange, "GET");
+                    sendJson(exchange, 200, taskManager.getCategories());
+                    return;
+                case "priorities":
+                    allow(exchange, "GET");
+                    sendJson(exchange, 200, taskManager.getPriorityLevels());
+                    return;
+                case "tasks":
+                    if (method.equals("POST")) {
+                        addTask(exchange);
+                    } else {
+                        allow(exchange, "GET", "POST");
+                        listTasks(exchange);
+                    }
+                    return;
+                default:
+                    break;
+            }
+        } else if (segments.length == 2 && segments[0].equals("tasks")) {
+            switch (segments[1]) {
+                case "count":
+                    allow(exchange, "GET");
+                    sendJson(exchange, 200, Map.of("count", taskManager.countTasks(query(parameters(exchange)))));
+                    return;
+                case "bulk":
+                    allow(exchange, "POST");
+                    bulk(exchange);
+                    return;
+                case "import":
+                    allow(exchange, "POST");
+                    importTasks(exchange);
+                    return;
+                default:
+                    int id = taskId(segments[1]);
+                    if (method.equals("PUT")) {
+                        updateTask(exchange, id);
+                    } else if (method.equals("DELETE")) {
+                        deleteTask(exchange, id);
+                    } else {
+                        allow(exchange, "GET", "PUT", "DELETE");
+                        sendJson(exchange, 200, task(id));
+                    }
+                    return;
+            }
+        }
+        throw ApiException.notFound("No such resource: " + path);
+    }
+
+    // --------------------------------
+    // ROUTES
+    // --------------------------------
+
+    private Map<String, Object> statistics() {
+        TaskStatistics statistics = taskManager.getStatistics();
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("total", statistics.getTotal());
+        body.put("completed", statistics.getCompleted());
+        body.put("delayed", statistics.getDelayed());
+        body.put("upcoming", statistics.getUpcoming(LocalDate.now()));
+        Map<String, Integer> byStatus = new LinkedHashMap<>();
+        for (Status status : Status.values()) {
+            byStatus.put(status.getLabel(), taskManager.countTasksByStatus(status));
+        }
+        body.put("byStatus", byStatus);
+        return body;
+    }
+
+    private void listTasks(HttpExchange exchange) throws IOException {
+        Map<String, String> parameters = parameters(exchange);
+        TaskQuery query = query(parameters);
+        String format = parameters.getOrDefault("format", "json").toLowerCase(Locale.ROOT);
+        switch (format) {
+            case "json":
+                sendTasks(exchange, query);
+                break;
+            case "ndjson":
+                sendRecords(exchange, query, TaskRecordCodec.Format.NDJSON, "application/x-ndjson; charset=utf-8");
+                break;
+            case "csv":
+                sendRecords(exchange, query, TaskRecordCodec.Format.CSV, "text/csv; charset=utf-8");
+                break;
+            default:
+                throw ApiException.badRequest("Unknown format: " + format);
+        }
+    }
+
+    private void addTask(HttpExchange exchange) throws IOException {
+        Task task = codec.decode(new String(readBody(exchange), StandardCharsets.UTF_8));
+        int id = taskManager.generateTaskId();
+        task.setId(id);
+        List<Reminder> reminders = new ArrayList<>(task.getReminders().size());
+        for (Reminder reminder : task.getReminders()) {
+            reminders.add(new Reminder(taskManager.generateReminderId(), id, reminder.getType(), reminder.getReminderDate()));
+        }
+        task.setReminders(reminders);
+        addMissingNames(task.getCategory(), task.getPriority());
+        taskManager.addTask(task);
+        exchange.getResponseHeaders().set("Location", "/tasks/" + id);
+        sendJson(exchange, 201, task(id));
+    }
+
+    /**
+     * Changes the fields that are present in the body; reminders are left as they are.
+     * The fields are merged into the task while the TaskManager holds it, so concurrent
+     * requests that change different fields of one task do not undo each other.
+     */
+    private void updateTask(HttpExchange exchange, int id) throws IOException {
+        JsonNode body = readObject(exchange);
+        task(id); // Answer 404 before adding any new category or priority
+        String title = body.has("title") ? string(body, "title", null, false) : null;
+        if (title != null && title.isBlank()) {
+            throw ApiException.badRequest("Missing title");
+        }
+        boolean setDescription = body.has("description");
+        String description = setDescription ? string(body, "description", null, true) : null;
+        String category = string(body, "category", null, false);
+        String priority = string(body, "priority", null, false);
+        boolean setDeadline = body.has("deadline");
+        LocalDate deadline = setDeadline ? date("deadline", body.get("deadline")) : null;
+        Status status = body.has("status") ? status(string(body, "status", null, false)) : null;
+        addMissingNames(category, priority);
+        Task updated = taskManager.updateTask(id, task -> {
+            if (title != null) {
+                task.setTitle(title);
+            }
+            if (setDescription) {
+                task.setDescription(description);
+            }
+            if (category != null) {
+                task.setCategory(category);
+            }
+            if (priority != null) {
+                task.setPriority(priority);
+            }
+            if (setDeadline) {
+                task.setDeadline(deadline);
+            }
+            if (status != null) {
+                task.setStatus(status);
+            }
+        });
+        if (updated == null) {
+            throw ApiException.notFound("No task with ID " + id);
+        }
+        sendJson(exchange, 200, updated);
+    }
+
+    private void deleteTask(HttpExchange exchange, int id) throws IOException {
+        if (taskManager.findTask(id) == null) {
+            throw ApiException.notFound("No task with ID " + id);
+        }
+        taskManager.deleteTask(id);
+        exchange.sendResponseHeaders(204, -1);
+    }
+
+    private void bulk(HttpExchange exchange) throws IOException {
+        JsonNode body = readObject(exchange);
+        JsonNode filter = body.get("filter");
+        if (filter == null || !filter.isObject()) {
+            throw ApiException.badRequest("A bulk request needs a filter object; {} matches every task");
+        }
+        TaskQuery query = query(parameters(filter));
+        if (body.path("delete").asBoolean(false)) {
+            int[] ids = taskIds(taskManager.findTasks(query));
+            try (TaskTransaction transaction = taskManager.beginTransaction()) {
+                for (int id : ids) {
+                    transaction.deleteTask(id);
+                }
+                transaction.commit();
+            }
+            sendJson(exchange, 200, Map.of("deleted", ids.length));
+            return;
+        }
+        JsonNode set = body.get("set");
+        if (set == null || !set.isObject() || set.isEmpty()) {
+            throw ApiException.badRequest("A bulk request needs a \"set\" object or \"delete\": true");
+        }
+        String category = string(set, "category", null, false);
+        String priority = string(set, "priority", null, false);
+        boolean setDeadline = set.has("deadline");
+        LocalDate deadline = setDeadline ? date("deadline", set.get("deadline")) : null;
+        Status status = set.has("status") ? status(string(set, "status", null, false)) : null;
+        addMissingNames(category, priority);
+        int updated = taskManager.applyToMatching(query, task -> {
+            if (category != null) {
+                task.setCategory(category);
+            }
+            if (priority != null) {
+                task.setPriority(priority);
+            }
+            if (setDeadline) {
+                task.setDeadline(deadline);
+            }
+            if (status != null) {
+                task.setStatus(status);
+            }
+        });
+        sendJson(exchange, 200, Map.of("updated", updated));
+    }
+
+    private void importTasks(HttpExchange exchange) throws IOException {
+        String format = parameters(exchange).get("format");
+        if (format == null) {
+            String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+            format = contentType != null && contentType.toLowerCase(Locale.ROOT).contains("csv") ? "csv" : "ndjson";
+        }
+        TaskRecordCodec.Format recordFormat;
+        try {
+            recordFormat = TaskRecordCodec.Format.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw ApiException.badRequest("Unknown format: " + format);
+        }
+        TaskImporter.Options options = new TaskImporter.Options();
+        options.setMaxReportedErrors(MAX_REPORTED_ERRORS);
+        TaskImporter.Result result;
+        try (Reader in = new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8)) {
+            result = new TaskImporter(taskManager).importFrom(in, recordFormat, options);
+        }
+        sendJson(exchange, 200, result);
+    }
+
+    // --------------------------------
+    // RESPONSES
+    // --------------------------------
+
+    private static void sendJson(HttpExchange exchange, int status, Object value) throws IOException {
+        byte[] body = mapper.writeValueAsBytes(value);
+        exchange.getResponseHeaders().set("Content-Type", JSON);
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        if (exchange.getResponseCode() != -1) {
+            return; // The response has started; closing the exchange cuts it short
+        }
+        sendJson(exchange, status, Map.of("error", message == null ? "" : message));
+    }
+
+    /**
+     * Sends the tasks as a JSON array. Small results are sent in one piece; larger ones are
+     * streamed as they are written.
+     */
+    private void sendTasks(HttpExchange exchange, TaskQuery query) throws IOException {
+        List<Task> tasks = taskManager.findTasks(query);
+        if (tasks.size() <= STREAMED) {
+            sendJson(exchange, 200, tasks);
+            return;
+        }
+        exchange.getResponseHeaders().set("Content-Type", JSON);
+        exchange.sendResponseHeaders(200, 0);
+        try (JsonGenerator generator = mapper.getFactory()
+                .createGenerator(new BufferedOutputStream(exchange.getResponseBody(), 1 << 16))) {
+            generator.writeStartArray();
+            for (Task task : tasks) {
+                mapper.writeValue(generator, task);
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    private void sendRecords(HttpExchange exchange, TaskQuery query, TaskRecordCodec.Format format,
+                             String contentType) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(200, 0);
+        try (Writer out = new OutputStreamWriter(new BufferedOutputStream(exchange.getResponseBody(), 1 << 16),
+                StandardCharsets.UTF_8)) {
+            new TaskExporter(taskManager).exportTo(out, format, query);
+        }
+    }
+
+    // --------------------------------
+    // REQUESTS
+    // --------------------------------
+
+    /**
+     * Rejects the request with 405 unless its method is one of the allowed ones.
+     */
+    private static void allow(HttpExchange exchange, String... methods) {
+        for (String method : methods) {
+            if (method.equals(exchange.getRequestMethod())) {
+                return;
+            }
+        }
+        exchange.getResponseHeaders().set("Allow", String.join(", ", methods));
+        throw new ApiException(405, "Method " + exchange.getRequestMethod() + " is not allowed");
+    }
+
+    private static byte[] readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                body.write(buffer, 0, read);
+                if (body.size() > MAX_BODY) {
+                    throw new ApiException(413, "The request body is larger than " + MAX_BODY + " bytes");
+                }
+            }
+            return body.toByteArray();
+        }
+    }
+
+    private static JsonNode readObject(HttpExchange exchange) throws IOException {
+        byte[] body = readBody(exchange);
+        JsonNode node = body.length == 0 ? null : mapper.readTree(body);
+        if (node == null || !node.isObject()) {
+            throw ApiException.badRequest("Expected a JSON object");
+        }
+        return node;
+    }
+
+    private static Map<String, String> parameters(HttpExchange exchange) {
+        Map<String, String> parameters = new HashMap<>();
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null || query.isEmpty()) {
+            return parameters;
+        }
+        for (String pair : query.split("&")) {
+            int equals = pair.indexOf('=');
+            String name = URLDecoder.decode(equals < 0 ? pair : pair.substring(0, equals), StandardCharsets.UTF_8);
+            String value = equals < 0 ? "" : URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8);
+            parameters.put(name, value);
+        }
+        return parameters;
+    }
+
+    /**
+     * Reads a bulk filter as query parameters; an array of statuses becomes a comma-separated list.
+     */
+    private static Map<String, String> parameters(JsonNode filter) {
+        Map<String, String> parameters = new HashMap<>();
+        Iterator<Map.Entry<String, JsonNode>> fields = filter.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            JsonNode value = field.getValue();
+            if (value.isArray()) {
+                List<String> values = new ArrayList<>();
+                value.forEach(element -> values.add(element.asText()));
+                parameters.put(field.getKey(), String.join(",", values));
+            } else if (!value.isNull()) {
+                parameters.put(field.getKey(), value.asText());
+            }
+        }
+        return parameters;
+    }
+
+    private static TaskQuery query(Map<String, String> parameters) {
+        TaskQuery.Builder builder = TaskQuery.builder()
+                .category(blankToNull(parameters.get("category")))
+                .priority(blankToNull(parameters.get("priority")))
+                .text(parameters.get("q"));
+        String statuses = blankToNull(parameters.get("status"));
+        if (statuses != null) {
+            Set<Status> set = EnumSet.noneOf(Status.class);
+            for (String status : statuses.split(",")) {
+                set.add(status(status.trim()));
+            }
+            builder.statuses(set);
+        }
+        String dueFrom = blankToNull(parameters.get("dueFrom"));
+        String dueTo = blankToNull(parameters.get("dueTo"));
+        if (dueFrom != null || dueTo != null) {
+            builder.dueBetween(dueFrom == null ? null : date("dueFrom", dueFrom), dueTo == null ? null : date("dueTo", dueTo));
+        }
+        String sort = blankToNull(parameters.get("sort"));
+        if (sort != null) {
+            try {
+                builder.sortBy(TaskQuery.Sort.valueOf(sort.toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                throw ApiException.badRequest("Unknown sort: " + sort);
+            }
+        }
+        String limit = blankToNull(parameters.get("limit"));
+        if (limit != null) {
+            try {
+                builder.limit(Integer.parseInt(limit));
+            } catch (NumberFormatException e) {
+                throw ApiException.badRequest("Invalid limit: " + limit);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Returns a status by label ("In Progress") or by name ("IN_PROGRESS").
+     */
+    private static Status status(String value) {
+        try {
+            return Status.fromLabel(value);
+        } catch (IllegalArgumentException e) {
+            try {
+                return Status.valueOf(value.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ignored) {
+                throw ApiException.badRequest("Unknown status: " + value);
+            }
+        }
+    }
+
+    /**
+     * Returns a text field of a JSON object, or the fallback if the field is absent.
+     * @param nullable Whether the field may be null.
+     */
+    private static String string(JsonNode object, String name, String fallback, boolean nullable) {
+        JsonNode value = object.get(name);
+        if (value == null) {
+            return fallback;
+        }
+        if (value.isNull() && nullable) {
+            return null;
+        }
+        if (!value.isTextual()) {
+            throw ApiException.badRequest("Expected a string for " + name);
+        }
+        return value.asText();
+    }
+
+    private static LocalDate date(String name, JsonNode value) {
+        if (value.isNull()) {
+            return null;
+        }
+        if (!value.isTextual()) {
+            throw ApiException.badRequest("Expected an ISO date (yyyy-mm-dd) for " + name);
+        }
+        return date(name, value.asText());
+    }
+
+    private static LocalDate date(String name, String value) {
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw ApiException.badRequest("Expected an ISO date (yyyy-mm-dd) for " + name + ": " + value);
+        }
+    }
+
+    private static int taskId(String segment) {
+        try {
+            return Integer.parseInt(segment);
+        } catch (NumberFormatException e) {
+            throw ApiException.notFound("No such resource: /tasks/" + segment);
+        }
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+
+    // --------------------------------
+    // TASKS
+    // --------------------------------
+
+    /**
+     * Returns a stored task. Stored tasks never change, so it can be serialized without locking.
+     */
+    private Task task(int id) {
+        Task task = taskManager.findTask(id);
+        if (task == null) {
+            throw ApiException.notFound("No task with ID " + id);
+        }
+        return task;
+    }
+
+    private static int[] taskIds(List<Task> tasks) {
+        int[] ids = new int[tasks.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = tasks.get(i).getId();
+        }
+        return ids;
+    }
+
+    private void addMissingNames(String category, String priority) {
+        if (category != null && !taskManager.getCategories().contains(category)) {
+            taskManager.addCategory(category);
+        }
+        if (priority != null && !taskManager.getPriorityLevels().contains(priority)) {
+            taskManager.addPriorityLevel(priority);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package org.example.server;
+
+import com.sun.net.httpserver.HttpServer;
+import org.example.controller.TaskManager;
+import org.example.utils.JSONHandler;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Serves a TaskManager over HTTP with the JDK's built-in server; the routes are listed in
+ * {@link TaskApi}.
+ *
+ * <p>Each request runs on a virtual thread of its own when the JDK has them (21 and later),
+ * so requests that wait on a TaskManager lock or on a slow client hold no platform thread.
+ * On older JDKs requests run on a fixed pool of platform threads instead.</p>
+ */
+public class TaskServer {
+    private static final int BACKLOG = 1024;
+
+    static {
+        // The server writes the headers and the body of a response separately; without
+        // TCP_NODELAY the body waits for the client's delayed ACK, about 40 ms per request.
+        // Read once, when the first server is created.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final boolean virtualThreads;
+
+    /**
+     * Binds the server; call {@link #start()} to accept requests.
+     * @param taskManager The store to serve.
+     * @param address The address to bind; port 0 picks a free port.
+     */
+    public TaskServer(TaskManager taskManager, InetSocketAddress address) throws IOException {
+        server = HttpServer.create(address, BACKLOG);
+        server.createContext("/", new TaskApi(taskManager));
+        ExecutorService virtual = newVirtualThreadPerTaskExecutor();
+        virtualThreads = virtual != null;
+        executor = virtualThreads ? virtual : newPlatformThreadPool();
+        server.setExecutor(executor);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Returns the bound port, which is useful when the server was created on port 0.
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public boolean usesVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Stops accepting connections and waits for the requests being served.
+     * @param delaySeconds How long to wait for the requests being served before closing their connections.
+     */
+    public void stop(int delaySeconds) {
+        server.stop(delaySeconds);
+        executor.shutdown();
+        try {
+            executor.awaitTermination(delaySeconds + 1L, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Looked up by reflection so the server still compiles and runs on Java 17.
+     * @return The executor, or null if the JDK has no virtual threads.
+     */
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            return null;
+        }
+    }
+
+    private static ExecutorService newPlatformThreadPool() {
+        AtomicInteger count = new AtomicInteger();
+        int threads = Math.max(16, 4 * Runtime.getRuntime().availableProcessors());
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "task-server-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts a server over the data directory given by -Dmedialab.dataDir.
+     * The API has no authentication, so the server only listens on the loopback address
+     * unless another address is given with --host (0.0.0.0 for every interface).
+     * Usage: TaskServer [--host 127.0.0.1] [--port 8080]
+     */
+    public static void main(String[] args) throws IOException {
+        String host = InetAddress.getLoopbackAddress().getHostAddress();
+        int port = 8080;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--port") && i + 1 < args.length) {
+                port = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("--host") && i + 1 < args.length) {
+                host = args[++i];
+            } else {
+                System.err.println("Usage: TaskServer [--host 127.0.0.1] [--port 8080]");
+                System.exit(2);
+            }
+        }
+        long start = System.nanoTime();
+        TaskManager taskManager = new TaskManager(new JSONHandler());
+        TaskServer server = new TaskServer(taskManager, new InetSocketAddress(host, port));
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop(1);
+            taskManager.close();
+        }, "task-server-shutdown"));
+        server.start();
+        System.out.printf("Serving %d task(s) from %s on %s port %d (%s threads), started in %d ms%n",
+                taskManager.getTaskCount(), ((JSONHandler) taskManager.getStorage()).getDataDirectory(),
+                host, server.getPort(), server.usesVirtualThreads() ? "virtual" : "platform",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+}